@@ -8,6 +8,7 @@ from sklearn.preprocessing import StandardScaler, RobustScaler, MinMaxScaler, Qu
 from sklearn.model_selection import StratifiedKFold
 from sklearn.metrics import roc_auc_score
 import glob
+import json
 import os
 import joblib
 import random
@@ -56,6 +57,17 @@ GLOBAL_FEATURES = [
     "delta_mean_xp",
 ]
 GLOBAL_SCALER_TYPE = SCALER_TYPE
+# Table des agrégats par équipe précalculés par traitement_donnees (une ligne par battle_id),
+# toujours écrite avec un point décimal (FeatureTableSink.DECIMAL_SEPARATOR)
+BATTLE_FEATURES_FILE = "battle_features.csv"
+# Vocabulaires persistés par traitement_donnees ; les colonnes <col>Idx sont déjà encodées avec
+VOCABULARIES_FILE = "vocabularies.json"
+# Manifeste de traitement_donnees : contient le séparateur décimal des CSV (-Ddataset.decimalSeparator)
+MANIFEST_FILE = "manifest.json"
+DEFAULT_DECIMAL_SEPARATOR = ','
+ENCODED_SUFFIX = "Idx"
+# Tenseurs .npy exportés par traitement_donnees (-Ddataset.tensors=true), lus à la place des CSV avec --tensors
+TENSORS_PATH = None
 
 # Model selection
 MODEL_TYPE = "attention"  # cnn|deepset|attention
@@ -193,11 +205,16 @@ def get_padded_team_data(team_df: pd.DataFrame):
     numeric = numeric.apply(pd.to_numeric, errors='coerce').fillna(0.0)
     stats = numeric.to_numpy(dtype=np.float32, copy=False)
 
-    # Categories (string/object) -> indices
-    roles = [_cat_to_index(v, role_to_idx) for v in sorted_team['tankRole'].tolist()]
-    vclasses = [_cat_to_index(v, vehicle_class_to_idx) for v in sorted_team['tankVehicleClass'].tolist()]
-    nations = [_cat_to_index(v, nation_to_idx) for v in sorted_team['tankNation'].tolist()]
-    cats = np.stack([roles, vclasses, nations], axis=1).astype(np.int64, copy=False)
+    encoded_cols = [c + ENCODED_SUFFIX for c in PLAYER_CATEGORICAL_COLS]
+    if set(encoded_cols).issubset(sorted_team.columns):
+        # Index déjà calculés par traitement_donnees (vocabularies.json)
+        cats = sorted_team[encoded_cols].apply(pd.to_numeric, errors='coerce').fillna(0).to_numpy(dtype=np.int64)
+    else:
+        # Categories (string/object) -> indices
+        roles = [_cat_to_index(v, role_to_idx) for v in sorted_team['tankRole'].tolist()]
+        vclasses = [_cat_to_index(v, vehicle_class_to_idx) for v in sorted_team['tankVehicleClass'].tolist()]
+        nations = [_cat_to_index(v, nation_to_idx) for v in sorted_team['tankNation'].tolist()]
+        cats = np.stack([roles, vclasses, nations], axis=1).astype(np.int64, copy=False)
 
     num_players = stats.shape[0]
     if num_players < MAX_PLAYERS:
@@ -215,9 +232,51 @@ def get_padded_team_data(team_df: pd.DataFrame):
     return stats_full, cats_full
 
 
+def load_battle_features(path) -> dict:
+    """Lit la table battle_features.csv (si présente) : battle_id -> GLOBAL_FEATURES."""
+    features_path = os.path.join(path, BATTLE_FEATURES_FILE)
+    if not os.path.exists(features_path):
+        return {}
+    features_df = pd.read_csv(features_path, sep=';', decimal='.')
+    if not set(GLOBAL_FEATURES).issubset(features_df.columns):
+        return {}
+    values = features_df[GLOBAL_FEATURES].to_numpy(dtype=np.float32)
+    return dict(zip(features_df['battle_id'].astype(str), values))
+
+
+def load_vocabularies(path) -> None:
+    """Initialise les vocabulaires depuis vocabularies.json (si présent), pour garder les index Java."""
+    global map_to_idx, role_to_idx, vehicle_class_to_idx, nation_to_idx
+    vocab_path = os.path.join(path, VOCABULARIES_FILE)
+    if not os.path.exists(vocab_path):
+        return
+    with open(vocab_path, encoding='utf-8') as fh:
+        vocabularies = json.load(fh)
+    map_to_idx = {int(k): int(v) for k, v in vocabularies.get('map', {}).items()}
+    role_to_idx = {k: int(v) for k, v in vocabularies.get('tankRole', {}).items()}
+    vehicle_class_to_idx = {k: int(v) for k, v in vocabularies.get('tankVehicleClass', {}).items()}
+    nation_to_idx = {k: int(v) for k, v in vocabularies.get('tankNation', {}).items()}
+
+
+def load_decimal_separator(path) -> str:
+    """Séparateur décimal des CSV d'après manifest.json (anciens datasets sans manifeste : virgule)."""
+    manifest_path = os.path.join(path, MANIFEST_FILE)
+    if not os.path.exists(manifest_path):
+        return DEFAULT_DECIMAL_SEPARATOR
+    with open(manifest_path, encoding='utf-8') as fh:
+        manifest = json.load(fh)
+    return manifest.get('decimalSeparator') or DEFAULT_DECIMAL_SEPARATOR
+
+
 def load_data(path):
     global map_to_idx, role_to_idx, vehicle_class_to_idx, nation_to_idx
-    files = sorted(glob.glob(os.path.join(path, "*.csv")))
+    files = sorted(
+        f for f in glob.glob(os.path.join(path, "*.csv"))
+        if os.path.basename(f) != BATTLE_FEATURES_FILE
+    )
+    battle_features = load_battle_features(path)
+    load_vocabularies(path)
+    decimal = load_decimal_separator(path)
     print(f"Lecture de {len(files)} fichiers...")
 
     X_stats_list = []
@@ -225,65 +284,98 @@ def load_data(path):
     X_global_list = []
     X_cats_list = []
     y_list = []
+    # Build incrémental : les anciennes lignes d'une bataille reconstruite sont retirées par traitement_donnees,
+    # mais des datasets plus anciens peuvent encore en contenir : seule sa dernière occurrence est gardée
+    battle_positions = {}
 
-    # Pour construire l'index des maps
-    current_map_idx = 0
+    # Pour construire l'index des maps (à la suite des index déjà persistés)
+    current_map_idx = max(map_to_idx.values(), default=-1) + 1
 
     for f in files:
         try:
-            df = pd.read_csv(
+            file_df = pd.read_csv(
                 f,
                 sep=';',
-                decimal=',',
+                decimal=decimal,
                 na_values=['null', 'NULL', 'None', 'none', 'nan', 'NaN', ''],
                 keep_default_na=True,
             )
-
-            # Robust typing for key columns
-            if 'spawn' in df.columns:
-                df['spawn'] = pd.to_numeric(df['spawn'], errors='coerce')
-            if 'target' in df.columns:
-                df['target'] = pd.to_numeric(df['target'], errors='coerce')
-
-            t1 = df[df['spawn'] == 1]
-            t2 = df[df['spawn'] == 2]
-
-            if len(t1) == 0 or len(t2) == 0: continue
-
-            # --- TRAITEMENT DE LA MAP ---
-            # On récupère l'ID de la map (colonne 'map', première ligne)
-            raw_map_id = df['map'].iloc[0]
-
-            # Si on ne connaît pas cette map, on l'ajoute au dictionnaire
-            if raw_map_id not in map_to_idx:
-                map_to_idx[raw_map_id] = current_map_idx
-                current_map_idx += 1
-
-            # On stocke l'index converti (ex: map 19 devient index 3)
-            map_index = map_to_idx[raw_map_id]
-
-            # --- TRAITEMENT DES JOUEURS ---
-            mat1, cat1 = get_padded_team_data(t1)
-            mat2, cat2 = get_padded_team_data(t2)
-
-            # Shape: (2*MAX_PLAYERS, num_features) = (30, 13)
-            match_stats = np.vstack([mat1, mat2]).astype(np.float32, copy=False)
-            match_cats = np.vstack([cat1, cat2]).astype(np.int64, copy=False)
-
-            target = int(t1['target'].iloc[0])
-
-            global_feats = compute_global_features(t1, t2)
-
-            X_stats_list.append(match_stats)
-            X_maps_list.append(map_index)
-            X_global_list.append(global_feats)
-            X_cats_list.append(match_cats)
-            y_list.append(target)
-
         except Exception as e:
             # print(f"Erreur fichier {f}: {e}")
             continue
 
+        # Shards consolidés : une colonne battle_id, plusieurs batailles par fichier.
+        # Ancien format : un fichier = une bataille.
+        if 'battle_id' in file_df.columns:
+            battles = ((str(battle_id), battle_df) for battle_id, battle_df in file_df.groupby('battle_id', sort=False))
+        else:
+            # dataset_battle_<id>.csv
+            battles = ((os.path.basename(f)[len("dataset_battle_"):-len(".csv")], file_df),)
+
+        for battle_id, df in battles:
+            try:
+                # Robust typing for key columns
+                if 'spawn' in df.columns:
+                    df['spawn'] = pd.to_numeric(df['spawn'], errors='coerce')
+                if 'target' in df.columns:
+                    df['target'] = pd.to_numeric(df['target'], errors='coerce')
+
+                t1 = df[df['spawn'] == 1]
+                t2 = df[df['spawn'] == 2]
+
+                if len(t1) == 0 or len(t2) == 0: continue
+
+                # --- TRAITEMENT DE LA MAP ---
+                if 'map' + ENCODED_SUFFIX in df.columns:
+                    # Index déjà calculé par traitement_donnees
+                    map_index = int(df['map' + ENCODED_SUFFIX].iloc[0])
+                else:
+                    # On récupère l'ID de la map (colonne 'map', première ligne)
+                    raw_map_id = df['map'].iloc[0]
+
+                    # Si on ne connaît pas cette map, on l'ajoute au dictionnaire
+                    if raw_map_id not in map_to_idx:
+                        map_to_idx[raw_map_id] = current_map_idx
+                        current_map_idx += 1
+
+                    # On stocke l'index converti (ex: map 19 devient index 3)
+                    map_index = map_to_idx[raw_map_id]
+
+                # --- TRAITEMENT DES JOUEURS ---
+                mat1, cat1 = get_padded_team_data(t1)
+                mat2, cat2 = get_padded_team_data(t2)
+
+                # Shape: (2*MAX_PLAYERS, num_features) = (30, 13)
+                match_stats = np.vstack([mat1, mat2]).astype(np.float32, copy=False)
+                match_cats = np.vstack([cat1, cat2]).astype(np.int64, copy=False)
+
+                target = int(t1['target'].iloc[0])
+
+                # Agrégats déjà calculés côté Java si disponibles, sinon calcul pandas
+                global_feats = battle_features.get(battle_id)
+                if global_feats is None:
+                    global_feats = compute_global_features(t1, t2)
+
+                if battle_id in battle_positions:
+                    pos = battle_positions[battle_id]
+                    X_stats_list[pos] = match_stats
+                    X_maps_list[pos] = map_index
+                    X_global_list[pos] = global_feats
+                    X_cats_list[pos] = match_cats
+                    y_list[pos] = target
+                    continue
+
+                battle_positions[battle_id] = len(y_list)
+                X_stats_list.append(match_stats)
+                X_maps_list.append(map_index)
+                X_global_list.append(global_feats)
+                X_cats_list.append(match_cats)
+                y_list.append(target)
+
+            except Exception as e:
+                # print(f"Erreur bataille {f}: {e}")
+                continue
+
     print(f"Nombre de maps uniques trouvées : {len(map_to_idx)}")
     print(
         "Vocabulaires catégories | "
@@ -298,6 +390,80 @@ def load_data(path):
     )
 
 
+
+def compute_global_features_from_tensors(X_stats, mask) -> np.ndarray:
+    """Même calcul que compute_global_features, vectorisé sur les tenseurs paddés (joueurs déjà triés par WN8)."""
+    col = {c: i for i, c in enumerate(PLAYER_NUMERIC_COLS)}
+    teams = []
+    for t in range(2):
+        stats = np.asarray(X_stats[:, t * MAX_PLAYERS:(t + 1) * MAX_PLAYERS, :], dtype=np.float32)
+        m = np.asarray(mask[:, t * MAX_PLAYERS:(t + 1) * MAX_PLAYERS], dtype=np.float32)
+        count = np.maximum(m.sum(axis=1), 1.0)
+        top3 = np.maximum(m[:, :3].sum(axis=1), 1.0)
+
+        def total(c):
+            return (stats[:, :, col[c]] * m).sum(axis=1)
+
+        teams.append({
+            'mean_wn8': total('overallWN8') / count,
+            'mean_wr': total('winrate') / count,
+            'top3_wn8': (stats[:, :3, col['overallWN8']] * m[:, :3]).sum(axis=1) / top3,
+            'sum_battles': total('battles'),
+            'mean_dpg': total('dpg') / count,
+            'mean_xp': total('xp') / count,
+        })
+    t1, t2 = teams
+    return np.stack(
+        [
+            t1['mean_wn8'] - t2['mean_wn8'],
+            t1['mean_wr'] - t2['mean_wr'],
+            t1['top3_wn8'] - t2['top3_wn8'],
+            t1['sum_battles'] - t2['sum_battles'],
+            t1['mean_dpg'] - t2['mean_dpg'],
+            t1['mean_xp'] - t2['mean_xp'],
+        ],
+        axis=1,
+    ).astype(np.float32, copy=False)
+
+
+def load_tensors(path):
+    """Charge les tenseurs .npy de traitement_donnees (datasets/tensors) au lieu de relire les CSV.
+
+    Les fichiers sont ouverts en mmap (np.load(mmap_mode='r')) : pas de parsing, et seules les pages
+    lues par le scaler / torch sont chargées. Mêmes sorties que load_data.
+    Un build incrémental ne réécrit que les batailles reconstruites : utiliser les tenseurs d'un build complet.
+    """
+    with open(os.path.join(path, "metadata.json"), encoding='utf-8') as fh:
+        metadata = json.load(fh)
+    if metadata.get('numericColumns') != PLAYER_NUMERIC_COLS or metadata.get('maxPlayers') != MAX_PLAYERS:
+        raise ValueError(
+            f"Tenseurs incompatibles : colonnes={metadata.get('numericColumns')}, maxPlayers={metadata.get('maxPlayers')}"
+        )
+    # Copie figée avec les tenseurs : mêmes index que cats.npy / map.npy
+    load_vocabularies(path)
+
+    X_stats = np.load(os.path.join(path, "stats.npy"), mmap_mode='r')
+    X_cats = np.load(os.path.join(path, "cats.npy"), mmap_mode='r')
+    X_maps = np.load(os.path.join(path, "map.npy"), mmap_mode='r')
+    mask = np.load(os.path.join(path, "mask.npy"), mmap_mode='r')
+    y = np.load(os.path.join(path, "target.npy"), mmap_mode='r')
+    print(f"Tenseurs chargés : {len(y)} batailles ({path})")
+
+    # Agrégats précalculés (table à côté des CSV, dans le dossier parent) sinon calcul vectorisé
+    X_global = compute_global_features_from_tensors(X_stats, mask)
+    battle_features = load_battle_features(os.path.dirname(os.path.normpath(path)))
+    if battle_features:
+        with open(os.path.join(path, "battle_ids.txt"), encoding='utf-8') as fh:
+            battle_ids = [line.strip() for line in fh]
+        for i, battle_id in enumerate(battle_ids):
+            feats = battle_features.get(battle_id)
+            if feats is not None:
+                X_global[i] = feats
+
+    print(f"Nombre de maps uniques trouvées : {len(map_to_idx)}")
+    return X_stats, X_maps, X_global, X_cats, y
+
+
 # --- 2. DATASET MODIFIÉ ---
 
 class WotDataset(Dataset):
@@ -896,7 +1062,7 @@ def train_process():
 
     # A. Chargement
     # X_stats: (N, 2*MAX_PLAYERS, num_features), X_maps: (N,), X_global: (N, G), X_cats: (N, 2*MAX_PLAYERS, 3), y: (N,)
-    X_stats, X_maps, X_global, X_cats, y = load_data(DATA_PATH)
+    X_stats, X_maps, X_global, X_cats, y = load_tensors(TENSORS_PATH) if TENSORS_PATH else load_data(DATA_PATH)
 
     if len(X_stats) == 0:
         print("Erreur: Pas de données.")
@@ -1037,6 +1203,8 @@ if __name__ == "__main__":
     parser.add_argument("--scaler", type=str, default=SCALER_TYPE, choices=["standard", "robust", "minmax", "quantile", "power"])
     parser.add_argument("--global-scaler", type=str, default=GLOBAL_SCALER_TYPE, choices=["standard", "robust", "minmax", "quantile", "power"])
     parser.add_argument("--model", type=str, default=MODEL_TYPE, choices=["cnn", "deepset", "attention"])
+    parser.add_argument("--tensors", type=str, default=TENSORS_PATH,
+                        help="Dossier des .npy de traitement_donnees (ex: ./data/tensors) à lire à la place des CSV")
     args = parser.parse_args()
 
     # Override globals (simple + explicit)
@@ -1048,5 +1216,6 @@ if __name__ == "__main__":
     SCALER_TYPE = str(args.scaler)
     GLOBAL_SCALER_TYPE = str(args.global_scaler)
     MODEL_TYPE = str(args.model)
+    TENSORS_PATH = args.tensors
 
     train_process()
\ No newline at end of file
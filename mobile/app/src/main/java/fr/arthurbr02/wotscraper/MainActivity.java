@@ -17,11 +17,13 @@ import androidx.fragment.app.FragmentManager;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.appbar.MaterialToolbar;
 
+import fr.arthurbr02.wotscraper.ui.LogManager;
 import fr.arthurbr02.wotscraper.ui.LogsFragment;
 import fr.arthurbr02.wotscraper.ui.MainFragment;
 import fr.arthurbr02.wotscraper.ui.SettingsFragment;
 import fr.arthurbr02.wotscraper.ui.exports.ExportDetailFragment;
 import fr.arthurbr02.wotscraper.ui.exports.ExportsFragment;
+import fr.arthurbr02.wotscraper.util.PreferencesManager;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -42,6 +44,8 @@ public class MainActivity extends AppCompatActivity {
 
         requestNotificationsPermissionIfNeeded();
 
+        LogManager.getInstance().setPersistentLog(this, new PreferencesManager(this).isPersistentLogEnabled());
+
         BottomNavigationView bottomNav = findViewById(R.id.bottom_nav);
         bottomNav.setOnItemSelectedListener(item -> {
             int id = item.getItemId();
@@ -9,6 +9,8 @@ import androidx.core.content.FileProvider;
 
 import java.io.File;
 
+import fr.arthurbr02.wotscraper.util.SmileFormat;
+
 public class ExportIntentUtils {
 
     private ExportIntentUtils() {
@@ -24,7 +26,7 @@ public class ExportIntentUtils {
     public static Intent buildShareIntent(@NonNull Context context, @NonNull File file) {
         Uri uri = toContentUri(context, file);
         Intent intent = new Intent(Intent.ACTION_SEND);
-        intent.setType("application/json");
+        intent.setType(mimeType(file));
         intent.putExtra(Intent.EXTRA_STREAM, uri);
         intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
         return Intent.createChooser(intent, "Partager l'export");
@@ -34,8 +36,16 @@ public class ExportIntentUtils {
     public static Intent buildOpenIntent(@NonNull Context context, @NonNull File file) {
         Uri uri = toContentUri(context, file);
         Intent intent = new Intent(Intent.ACTION_VIEW);
-        intent.setDataAndType(uri, "application/json");
+        intent.setDataAndType(uri, mimeType(file));
         intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
         return intent;
     }
+
+    @NonNull
+    private static String mimeType(@NonNull File file) {
+        if (file.getName().endsWith(".txt")) {
+            return "text/plain";
+        }
+        return SmileFormat.isSmile(file) ? "application/x-jackson-smile" : "application/json";
+    }
 }
@@ -4,10 +4,12 @@ import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -22,40 +24,61 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattleDetail;
+import fr.arthurbr02.wotscraper.scraper.model.combinedbattles.CombinedBattles;
+import fr.arthurbr02.wotscraper.scraper.model.player.Player;
+import fr.arthurbr02.wotscraper.scraper.progress.ScrapedDataStore;
+import fr.arthurbr02.wotscraper.util.PreferencesManager;
+import fr.arthurbr02.wotscraper.util.SmileFormat;
+import fr.arthurbr02.wotscraper.util.SmileJsonWriter;
+
+/**
+ * Writes exports ({"combinedBattles", "battleDetails", "players"}) by streaming the records from
+ * ScrapedDataStore, so an export never needs every record in memory.
+ */
 public class ExportManager {
 
     private static final String TAG = "ExportManager";
 
     private static final String EXPORT_DIR_NAME = "exports";
-    private static final String LATEST_EXPORT_FILE = "export_latest.json";
+    private static final String LATEST_EXPORT_NAME = "export_latest";
 
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson gson = ModelJson.GSON;
 
     private static final ExecutorService ASYNC_EXECUTOR = Executors.newSingleThreadExecutor();
     private static final Object ASYNC_LOCK = new Object();
-    private static ExportData pendingLatest;
+    private static boolean latestRequested;
+    private static CombinedBattles pendingCombinedBattles;
     private static boolean asyncWorkerRunning = false;
 
     private ExportManager() {
     }
 
     @NonNull
-    public static File exportLatest(@NonNull Context context, @NonNull ExportData data) throws IOException {
+    public static File exportLatest(@NonNull Context context, @Nullable CombinedBattles combinedBattles) throws IOException {
         File dir = ensureExportDir(context);
-        File target = new File(dir, LATEST_EXPORT_FILE);
-        writeAtomicJson(target, data);
+        String extension = exportExtension(context);
+        File target = new File(dir, LATEST_EXPORT_NAME + extension);
+        writeAtomic(context, target, combinedBattles);
+
+        // The format may have been switched in the settings: drop the stale copy in the other format.
+        String otherExtension = SmileFormat.EXTENSION.equals(extension) ? SmileFormat.JSON_EXTENSION : SmileFormat.EXTENSION;
+        //noinspection ResultOfMethodCallIgnored
+        new File(dir, LATEST_EXPORT_NAME + otherExtension).delete();
         return target;
     }
 
     /**
      * Non-blocking variant used during scraping loops.
-     * Coalesces multiple calls and only writes the latest snapshot.
+     * Coalesces multiple calls: the records stored by then are all written once.
      */
-    public static void exportLatestAsync(@NonNull Context context, @NonNull ExportData snapshot) {
+    public static void exportLatestAsync(@NonNull Context context, @Nullable CombinedBattles combinedBattles) {
         final Context appContext = context.getApplicationContext();
 
         synchronized (ASYNC_LOCK) {
-            pendingLatest = snapshot;
+            latestRequested = true;
+            pendingCombinedBattles = combinedBattles;
             if (asyncWorkerRunning) {
                 return;
             }
@@ -64,14 +87,15 @@ public class ExportManager {
 
         ASYNC_EXECUTOR.execute(() -> {
             while (true) {
-                ExportData next;
+                CombinedBattles next;
                 synchronized (ASYNC_LOCK) {
-                    next = pendingLatest;
-                    pendingLatest = null;
-                    if (next == null) {
+                    if (!latestRequested) {
                         asyncWorkerRunning = false;
                         return;
                     }
+                    next = pendingCombinedBattles;
+                    latestRequested = false;
+                    pendingCombinedBattles = null;
                 }
 
                 try {
@@ -86,7 +110,8 @@ public class ExportManager {
     @NonNull
     public static List<ExportFileItem> listExports(@NonNull Context context) {
         File dir = getExportsDir(context);
-        File[] files = dir.listFiles((d, name) -> name != null && name.toLowerCase().endsWith(".json"));
+        File[] files = dir.listFiles((d, name) -> name != null
+                && (name.toLowerCase().endsWith(SmileFormat.JSON_EXTENSION) || SmileFormat.isSmile(name)));
         if (files == null || files.length == 0) {
             return Collections.emptyList();
         }
@@ -107,11 +132,11 @@ public class ExportManager {
     }
 
     @NonNull
-    public static File exportSnapshot(@NonNull Context context, @NonNull ExportData data) throws IOException {
+    public static File exportSnapshot(@NonNull Context context, @Nullable CombinedBattles combinedBattles) throws IOException {
         File dir = ensureExportDir(context);
-        String filename = "export_data_" + System.currentTimeMillis() + ".json";
+        String filename = "export_data_" + System.currentTimeMillis() + exportExtension(context);
         File target = new File(dir, filename);
-        writeAtomicJson(target, data);
+        writeAtomic(context, target, combinedBattles);
         return target;
     }
 
@@ -141,7 +166,34 @@ public class ExportManager {
         return dir;
     }
 
-    private static void writeAtomicJson(@NonNull File target, @NonNull Object data) throws IOException {
+    @NonNull
+    private static String exportExtension(@NonNull Context context) {
+        return new PreferencesManager(context).isBinaryExportEnabled() ? SmileFormat.EXTENSION : SmileFormat.JSON_EXTENSION;
+    }
+
+    private static void writeExport(@NonNull JsonWriter writer, @NonNull ScrapedDataStore store, @Nullable CombinedBattles combinedBattles) throws IOException {
+        writer.beginObject();
+        if (combinedBattles != null) {
+            writer.name("combinedBattles");
+            gson.toJson(combinedBattles, CombinedBattles.class, writer);
+        }
+
+        writer.name("battleDetails");
+        writer.beginArray();
+        store.forEachBattleDetail(detail -> gson.toJson(detail, BattleDetail.class, writer));
+        writer.endArray();
+
+        writer.name("players");
+        writer.beginArray();
+        store.forEachPlayer(player -> gson.toJson(player, Player.class, writer));
+        writer.endArray();
+        writer.endObject();
+    }
+
+    /**
+     * Writes the export to target through a temporary file, as pretty JSON or as Smile depending on the extension.
+     */
+    private static void writeAtomic(@NonNull Context context, @NonNull File target, @Nullable CombinedBattles combinedBattles) throws IOException {
         File dir = target.getParentFile();
         if (dir == null) {
             throw new IOException("Invalid export target: " + target.getAbsolutePath());
@@ -149,9 +201,20 @@ public class ExportManager {
 
         File tmp = new File(dir, target.getName() + ".tmp");
         try (FileOutputStream fos = new FileOutputStream(tmp, false)) {
-            try (OutputStreamWriter osw = new OutputStreamWriter(fos, StandardCharsets.UTF_8)) {
-                gson.toJson(data, osw);
-                osw.flush();
+            ScrapedDataStore store = ScrapedDataStore.getInstance(context);
+            if (SmileFormat.isSmile(target)) {
+                try (SmileJsonWriter writer = new SmileJsonWriter(new BufferedOutputStream(fos))) {
+                    writeExport(writer, store, combinedBattles);
+                    writer.flush();
+                }
+            } else {
+                try (OutputStreamWriter osw = new OutputStreamWriter(new BufferedOutputStream(fos), StandardCharsets.UTF_8);
+                     JsonWriter writer = gson.newJsonWriter(osw)) {
+                    // Same layout as GsonBuilder.setPrettyPrinting()
+                    writer.setIndent("  ");
+                    writeExport(writer, store, combinedBattles);
+                    writer.flush();
+                }
             }
             fos.flush();
             try {
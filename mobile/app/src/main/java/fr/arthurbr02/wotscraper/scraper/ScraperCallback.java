@@ -2,18 +2,27 @@ package fr.arthurbr02.wotscraper.scraper;
 
 import androidx.annotation.NonNull;
 
-import fr.arthurbr02.wotscraper.export.ExportData;
-
 public interface ScraperCallback {
     void onPhaseChanged(@NonNull ScrapingPhase phase);
 
-    void onProgressUpdate(int current, int total, @NonNull String message);
+    /**
+     * Progress of one step; the steps overlap, so the phase of the update is given explicitly.
+     */
+    void onProgressUpdate(@NonNull ScrapingPhase phase, int current, int total, @NonNull String message);
 
     void onLog(@NonNull LogLevel level, @NonNull String message);
 
     void onError(@NonNull Exception e, boolean fatal);
 
-    void onDataCollected(@NonNull ExportData partialData);
+    /**
+     * Called after each save with the number of records in the store.
+     */
+    void onDataCollected(int battleDetailsCount, int playersCount);
+
+    /**
+     * Current rate allowed by the shared rate limiter, in requests per second (0 when unlimited).
+     */
+    void onRequestRateChanged(double requestsPerSecond);
 
-    void onComplete(@NonNull ExportData finalData);
+    void onComplete();
 }
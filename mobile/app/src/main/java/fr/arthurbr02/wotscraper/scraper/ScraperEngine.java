@@ -1,18 +1,30 @@
 package fr.arthurbr02.wotscraper.scraper;
 
 import android.content.Context;
+import android.os.SystemClock;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
-import fr.arthurbr02.wotscraper.export.ExportData;
 import fr.arthurbr02.wotscraper.export.ExportManager;
 import fr.arthurbr02.wotscraper.scraper.api.ApiClient;
 import fr.arthurbr02.wotscraper.scraper.api.BattleDetailService;
@@ -23,6 +35,7 @@ import fr.arthurbr02.wotscraper.scraper.model.combinedbattles.CombinedBattles;
 import fr.arthurbr02.wotscraper.scraper.model.player.Player;
 import fr.arthurbr02.wotscraper.scraper.progress.ProgressManager;
 import fr.arthurbr02.wotscraper.scraper.progress.ProgressState;
+import fr.arthurbr02.wotscraper.scraper.progress.ScrapedDataStore;
 import fr.arthurbr02.wotscraper.util.PreferencesManager;
 
 public class ScraperEngine {
@@ -31,18 +44,167 @@ public class ScraperEngine {
     private final PreferencesManager preferences;
     private final ScraperCallback callback;
 
+    // Fetched records go straight to the store; the state only keeps their ids
+    private final ScrapedDataStore store;
+
+    private final ApiClient apiClient;
     private final CombinedBattlesService combinedBattlesService;
     private final BattleDetailService battleDetailService;
     private final PlayerService playerService;
 
     private volatile boolean stopRequested = false;
 
+    // Last rate sent to the UI, in tenths of requests per second
+    private long reportedRateTenths = -1L;
+
+    // The latest export is a full rewrite: refreshed every few saves or seconds, whichever comes first
+    private static final int LATEST_EXPORT_EVERY_SAVES = 100;
+    private static final long LATEST_EXPORT_INTERVAL_MS = 30_000L;
+    private int savesSinceLatestExport;
+    private long lastLatestExportMs = SystemClock.elapsedRealtime();
+
+    // Workers shared by every fetch queue; requests still go through the single ApiClient,
+    // so they share its rate limiter.
+    private ExecutorService fetchExecutor;
+    private int fetchWorkers = 1;
+    // Requests submitted and not yet committed, across all queues (scraping thread only)
+    private int inFlight;
+    // Released by each finished request, wakes the scraping thread up
+    private final Semaphore completions = new Semaphore(0);
+
+    private interface IdFetcher<T> {
+        @Nullable
+        T fetch(long id) throws IOException;
+    }
+
+    private interface FetchHandler<T> {
+        void onFetched(int index, long id, @Nullable T result) throws Exception;
+    }
+
+    private static final class PendingFetch<T> {
+        final int index;
+        final Long id;
+        @Nullable final Future<T> future;
+
+        PendingFetch(int index, Long id, @Nullable Future<T> future) {
+            this.index = index;
+            this.id = id;
+            this.future = future;
+        }
+    }
+
+    /**
+     * One resumable list of ids (arenas, player pool, player details) fetched by the shared workers.
+     *
+     * Requests may complete in any order, but results are handed to the handler strictly in list order
+     * on the scraping thread: the queue's resume index in ProgressState therefore still means
+     * "everything before is done", and the state is only ever mutated by the scraping thread.
+     * Null or already processed ids are not fetched: skipped is called with the index to resume from.
+     * The list may grow while fetching.
+     */
+    private final class FetchQueue<T> {
+        private final List<Long> ids;
+        private final Set<Long> processed;
+        private final IdFetcher<T> fetcher;
+        private final IntConsumer skipped;
+        private final FetchHandler<T> handler;
+
+        private final Deque<PendingFetch<T>> window = new ArrayDeque<>();
+        private int next;
+
+        FetchQueue(@NonNull List<Long> ids,
+                   int start,
+                   @NonNull Set<Long> processed,
+                   @NonNull IdFetcher<T> fetcher,
+                   @NonNull IntConsumer skipped,
+                   @NonNull FetchHandler<T> handler) {
+            this.ids = ids;
+            this.next = start;
+            this.processed = processed;
+            this.fetcher = fetcher;
+            this.skipped = skipped;
+            this.handler = handler;
+        }
+
+        boolean hasWork() {
+            return !window.isEmpty() || next < ids.size();
+        }
+
+        /**
+         * Moves the cursor to the next id to fetch and submits it. Returns false if the list is exhausted.
+         */
+        boolean submitNext() {
+            boolean added = false;
+            while (next < ids.size()) {
+                int index = next++;
+                Long id = ids.get(index);
+                added = true;
+                if (id == null || processed.contains(id)) {
+                    window.add(new PendingFetch<>(index, id, null));
+                    continue;
+                }
+
+                long fetchId = id;
+                FutureTask<T> future = new FutureTask<T>(() -> fetcher.fetch(fetchId)) {
+                    @Override
+                    protected void done() {
+                        // Called once the result is visible through isDone()
+                        completions.release();
+                    }
+                };
+                fetchExecutor.execute(future);
+                inFlight++;
+                window.add(new PendingFetch<>(index, id, future));
+                break;
+            }
+            return added;
+        }
+
+        /**
+         * Commits the finished requests at the head of the window, in order. Returns true if anything was committed.
+         */
+        boolean commitReady() throws Exception {
+            boolean progressed = false;
+            PendingFetch<T> head;
+            while ((head = window.peek()) != null) {
+                if (head.future == null) {
+                    window.poll();
+                    skipped.accept(head.index + 1);
+                    progressed = true;
+                    continue;
+                }
+                if (!head.future.isDone()) {
+                    break;
+                }
+
+                window.poll();
+                inFlight--;
+                T result = await(head.future);
+                reportRequestRate();
+                handler.onFetched(head.index, head.id, result);
+                progressed = true;
+            }
+            return progressed;
+        }
+
+        void cancel() {
+            for (PendingFetch<T> pending : window) {
+                if (pending.future != null) {
+                    pending.future.cancel(true);
+                    inFlight--;
+                }
+            }
+            window.clear();
+        }
+    }
+
     public ScraperEngine(@NonNull Context context, @NonNull ScraperCallback callback) {
         this.context = context.getApplicationContext();
         this.preferences = new PreferencesManager(this.context);
         this.callback = callback;
+        this.store = ScrapedDataStore.getInstance(this.context);
 
-        ApiClient apiClient = ApiClient.createDefault(
+        this.apiClient = ApiClient.createDefault(
                 () -> preferences.getRequestDelayMs(),
                 () -> preferences.getTimeoutSeconds()
         );
@@ -84,32 +246,35 @@ public class ScraperEngine {
                             + ", battleDetailsIndex=" + state.getCurrentArenaIndex() + "/" + arenaTotal
                             + ", playerPoolIndex=" + state.getCurrentPlayerIndex() + "/" + playerPoolTotal
                             + ", playerDetailsIndex=" + state.getCurrentPlayerDetailIndex() + "/" + playerDetailTotal
-                            + ", battleDetailsCount=" + (state.getBattleDetails() != null ? state.getBattleDetails().size() : 0)
-                            + ", playersCount=" + (state.getPlayers() != null ? state.getPlayers().size() : 0)
+                            + ", battleDetailsCount=" + state.getBattleDetailsCount()
+                            + ", playersCount=" + state.getPlayersCount()
             );
         } catch (Exception ignored) {
         }
 
+        fetchWorkers = preferences.getFetchWorkers();
+        fetchExecutor = Executors.newFixedThreadPool(fetchWorkers);
+        callback.onLog(LogLevel.INFO, "Fetch workers: " + fetchWorkers);
+
         try {
             executeScraping(state);
 
             state.setCurrentPhase(ScrapingPhase.COMPLETED);
             ProgressManager.saveProgress(context, state);
 
-            ExportData finalData = new ExportData(state.getCombinedBattles(), state.getBattleDetails(), state.getPlayers());
             if (preferences.isAutoExportEnabled()) {
                 try {
-                    ExportManager.exportSnapshot(context, finalData);
+                    ExportManager.exportSnapshot(context, state.getCombinedBattles());
                 } catch (IOException ignored) {
                 }
             }
-            callback.onComplete(finalData);
+            callback.onComplete();
         } catch (InterruptedException | InterruptedIOException e) {
             state.setCurrentPhase(ScrapingPhase.PAUSED);
             try {
                 ProgressManager.saveProgress(context, state);
                 if (preferences.isAutoExportEnabled()) {
-                    ExportManager.exportLatest(context, new ExportData(state.getCombinedBattles(), state.getBattleDetails(), state.getPlayers()));
+                    ExportManager.exportLatest(context, state.getCombinedBattles());
                 }
             } catch (IOException ignored) {
             }
@@ -120,7 +285,7 @@ public class ScraperEngine {
                 try {
                     ProgressManager.saveProgress(context, state);
                     if (preferences.isAutoExportEnabled()) {
-                        ExportManager.exportLatest(context, new ExportData(state.getCombinedBattles(), state.getBattleDetails(), state.getPlayers()));
+                        ExportManager.exportLatest(context, state.getCombinedBattles());
                     }
                 } catch (IOException ignored) {
                 }
@@ -132,12 +297,14 @@ public class ScraperEngine {
             try {
                 ProgressManager.saveProgress(context, state);
                 if (preferences.isAutoExportEnabled()) {
-                    ExportManager.exportLatest(context, new ExportData(state.getCombinedBattles(), state.getBattleDetails(), state.getPlayers()));
+                    ExportManager.exportLatest(context, state.getCombinedBattles());
                 }
             } catch (IOException ignored) {
             }
             callback.onError(e, true);
             throw e;
+        } finally {
+            fetchExecutor.shutdownNow();
         }
     }
 
@@ -148,7 +315,7 @@ public class ScraperEngine {
         if (state.getCombinedBattles() == null) {
             state.setCurrentPhase(ScrapingPhase.COMBINED_BATTLES);
             callback.onPhaseChanged(ScrapingPhase.COMBINED_BATTLES);
-            callback.onProgressUpdate(0, 1, "Fetching CombinedBattles…");
+            callback.onProgressUpdate(ScrapingPhase.COMBINED_BATTLES, 0, 1, "Fetching CombinedBattles…");
             callback.onLog(LogLevel.INFO, "Fetching initial CombinedBattles for player " + state.getInitialPlayerId());
 
             int pageSize = preferences.getCombinedBattlesPageSize();
@@ -157,238 +324,255 @@ public class ScraperEngine {
                 throw new IOException("Failed to fetch initial CombinedBattles");
             }
             state.setCombinedBattles(combinedBattles);
-            callback.onProgressUpdate(1, 1, "CombinedBattles récupérées");
+            callback.onProgressUpdate(ScrapingPhase.COMBINED_BATTLES, 1, 1, "CombinedBattles récupérées");
 
             List<Long> arenaIds = combinedBattles.getArenaIds();
-            state.getPendingArenaIds().clear();
-            state.getQueuedArenaIds().clear();
-            state.getQueuedArenaIds().addAll(state.getProcessedArenaIds());
+            state.resetArenaQueue();
             for (Long arenaId : arenaIds) {
-                if (arenaId == null) {
-                    continue;
-                }
-                if (state.getQueuedArenaIds().add(arenaId)) {
-                    state.getPendingArenaIds().add(arenaId);
+                if (arenaId != null) {
+                    state.queueArena(arenaId);
                 }
             }
-            state.setCurrentArenaIndex(0);
 
             persist(state);
         }
 
-        // Step 2: BattleDetails (resumable)
-        processPendingArenaIds(state, saveEvery);
+        // The phases overlap: players of every fetched battle go straight to the player details queue,
+        // which is served by the same workers while arenas are still being discovered and fetched.
+        Set<Long> queuedPlayerDetailIds = new HashSet<>(state.getPendingPlayerDetailIds());
+        store.forEachBattleDetail(detail -> queuePlayerDetails(state, queuedPlayerDetailIds, detail));
 
-        // Build initial player pool if needed
-        if (state.getPendingPlayerIds().isEmpty()) {
-            Set<Long> playerIds = new HashSet<>();
-            for (BattleDetail detail : state.getBattleDetails()) {
-                if (detail == null) {
-                    continue;
-                }
-                playerIds.addAll(detail.getPlayerIds());
-            }
+        FetchQueue<BattleDetail> arenas = battleDetailsQueue(state, saveEvery, queuedPlayerDetailIds);
+        FetchQueue<Player> playerDetails = playerDetailsQueue(state, saveEvery);
+        FetchQueue<CombinedBattles> playerPool = null;
 
-            List<Long> playerIdList = new ArrayList<>(playerIds);
-            Collections.shuffle(playerIdList);
-            int playersToProcess = Math.min(state.getTotalPlayersToFetch(), playerIdList.size());
-            state.setPendingPlayerIds(new ArrayList<>(playerIdList.subList(0, playersToProcess)));
-            state.setCurrentPlayerIndex(0);
+        try {
+            // Step 2: BattleDetails of the initial CombinedBattles (resumable)
+            state.setCurrentPhase(ScrapingPhase.BATTLE_DETAILS);
+            callback.onPhaseChanged(ScrapingPhase.BATTLE_DETAILS);
+            callback.onLog(LogLevel.INFO, "Fetching battle details from index " + state.getCurrentArenaIndex() + " to " + state.getPendingArenaIds().size()
+                    + ", player details from index " + state.getCurrentPlayerDetailIndex() + " to " + state.getPendingPlayerDetailIds().size());
+            pump(Arrays.asList(arenas, playerDetails), () -> !arenas.hasWork());
             persist(state);
-        }
 
-        // Step 2 (continued): discover more arenaIds by walking players
-        state.setCurrentPhase(ScrapingPhase.BATTLE_DETAILS);
-        callback.onPhaseChanged(ScrapingPhase.BATTLE_DETAILS);
+            // Build initial player pool if needed
+            if (state.getPendingPlayerIds().isEmpty()) {
+                Set<Long> playerIds = new HashSet<>();
+                store.forEachBattleDetail(detail -> playerIds.addAll(detail.getPlayerIds()));
 
-        List<Long> pendingPlayerIds = state.getPendingPlayerIds();
-        int startIndex = state.getCurrentPlayerIndex();
+                List<Long> playerIdList = new ArrayList<>(playerIds);
+                Collections.shuffle(playerIdList);
+                int playersToProcess = Math.min(state.getTotalPlayersToFetch(), playerIdList.size());
+                state.setPendingPlayerIds(new ArrayList<>(playerIdList.subList(0, playersToProcess)));
+                state.setCurrentPlayerIndex(0);
+                persist(state);
+            }
 
-        callback.onLog(LogLevel.INFO, "Processing players from index " + startIndex + " to " + pendingPlayerIds.size());
+            // Step 2 (continued): discover more arenaIds by walking players; their battles are fetched as they are found
+            callback.onLog(LogLevel.INFO, "Processing players from index " + state.getCurrentPlayerIndex() + " to " + state.getPendingPlayerIds().size());
+            FetchQueue<CombinedBattles> pool = playerPoolQueue(state, saveEvery);
+            playerPool = pool;
+            pump(Arrays.asList(pool, arenas, playerDetails), () -> !pool.hasWork() && !arenas.hasWork());
+            persist(state);
 
-        for (int i = startIndex; i < pendingPlayerIds.size(); i++) {
-            if (shouldStop()) {
-                throw new InterruptedException("Stop requested");
+            // Step 3: remaining player details (resumable)
+            state.setCurrentPhase(ScrapingPhase.PLAYERS);
+            callback.onPhaseChanged(ScrapingPhase.PLAYERS);
+            callback.onLog(LogLevel.INFO, "Fetching detailed players from index " + state.getCurrentPlayerDetailIndex() + " to " + state.getPendingPlayerDetailIds().size());
+            pump(Collections.singletonList(playerDetails), () -> !playerDetails.hasWork());
+        } finally {
+            arenas.cancel();
+            playerDetails.cancel();
+            if (playerPool != null) {
+                playerPool.cancel();
             }
+        }
 
-            Long playerId = pendingPlayerIds.get(i);
-            if (playerId == null) {
-                state.setCurrentPlayerIndex(i + 1);
-                continue;
-            }
+        persist(state);
+    }
 
-            if (state.getProcessedPlayerIds().contains(playerId)) {
-                state.setCurrentPlayerIndex(i + 1);
-                continue;
+    private void queuePlayerDetails(@NonNull ProgressState state, @NonNull Set<Long> queued, @Nullable BattleDetail detail) {
+        if (detail == null) {
+            return;
+        }
+        for (Long playerId : detail.getPlayerIds()) {
+            if (playerId != null && queued.add(playerId)) {
+                state.queuePlayerDetail(playerId);
             }
+        }
+    }
 
-                callback.onProgressUpdate(
-                    i + 1,
-                    pendingPlayerIds.size(),
-                    "PlayerPool [" + (i + 1) + "/" + pendingPlayerIds.size() + "] playerId=" + playerId
-                );
-
-            try {
-                int pageSize = preferences.getCombinedBattlesPageSize();
-                CombinedBattles playerCombinedBattles = combinedBattlesService.fetchCombinedBattles(String.valueOf(playerId), pageSize);
-                if (playerCombinedBattles != null) {
-                    List<Long> playerArenaIds = playerCombinedBattles.getArenaIds();
-                    for (Long arenaId : playerArenaIds) {
-                        if (arenaId == null) {
-                            continue;
-                        }
-                        if (state.getProcessedArenaIds().contains(arenaId)) {
-                            continue;
-                        }
-                        if (state.getQueuedArenaIds().add(arenaId)) {
-                            state.getPendingArenaIds().add(arenaId);
-                        }
+    @NonNull
+    private FetchQueue<BattleDetail> battleDetailsQueue(@NonNull ProgressState state, int saveEvery, @NonNull Set<Long> queuedPlayerDetailIds) {
+        List<Long> arenaIds = state.getPendingArenaIds();
+        return new FetchQueue<>(arenaIds, state.getCurrentArenaIndex(), state.getProcessedArenaIds(),
+                battleDetailService::fetchBattleDetail,
+                state::setCurrentArenaIndex,
+                (i, arenaId, detail) -> {
+                    callback.onProgressUpdate(
+                            ScrapingPhase.BATTLE_DETAILS,
+                            i + 1,
+                            arenaIds.size(),
+                            "BattleDetails [" + (i + 1) + "/" + arenaIds.size() + "] arenaId=" + arenaId
+                    );
+
+                    if (detail == null) {
+                        throw new IOException("Empty battle detail for arena " + arenaId);
                     }
-                }
 
-                state.getProcessedPlayerIds().add(playerId);
-                state.setCurrentPlayerIndex(i + 1);
+                    store.putBattleDetail(arenaId, detail);
+                    state.markArenaProcessed(arenaId);
+                    state.setCurrentArenaIndex(i + 1);
+                    queuePlayerDetails(state, queuedPlayerDetailIds, detail);
 
-                if ((i + 1) % saveEvery == 0) {
-                    persist(state);
-                    processPendingArenaIds(state, saveEvery);
-                }
-            } catch (Exception e) {
-                state.setCurrentPlayerIndex(i);
-                persist(state);
-                throw e;
-            }
-        }
+                    if ((i + 1) % saveEvery == 0) {
+                        persist(state);
+                    }
+                });
+    }
 
-        // Final pass to flush any remaining arenaIds
-        persist(state);
-        processPendingArenaIds(state, saveEvery);
-        persist(state);
+    @NonNull
+    private FetchQueue<CombinedBattles> playerPoolQueue(@NonNull ProgressState state, int saveEvery) {
+        List<Long> pendingPlayerIds = state.getPendingPlayerIds();
+        int pageSize = preferences.getCombinedBattlesPageSize();
+        return new FetchQueue<>(pendingPlayerIds, state.getCurrentPlayerIndex(), state.getProcessedPlayerIds(),
+                playerId -> combinedBattlesService.fetchCombinedBattles(String.valueOf(playerId), pageSize),
+                state::setCurrentPlayerIndex,
+                (i, playerId, playerCombinedBattles) -> {
+                    callback.onProgressUpdate(
+                            ScrapingPhase.BATTLE_DETAILS,
+                            i + 1,
+                            pendingPlayerIds.size(),
+                            "PlayerPool [" + (i + 1) + "/" + pendingPlayerIds.size() + "] playerId=" + playerId
+                    );
+
+                    if (playerCombinedBattles != null) {
+                        for (Long arenaId : playerCombinedBattles.getArenaIds()) {
+                            if (arenaId != null) {
+                                state.queueArena(arenaId);
+                            }
+                        }
+                    }
 
-        // Step 3: Players (resumable)
-        state.setCurrentPhase(ScrapingPhase.PLAYERS);
-        callback.onPhaseChanged(ScrapingPhase.PLAYERS);
+                    state.markPlayerPoolProcessed(playerId);
+                    state.setCurrentPlayerIndex(i + 1);
 
-        if (state.getPendingPlayerDetailIds().isEmpty()) {
-            Set<Long> allPlayerIds = new HashSet<>();
-            for (BattleDetail detail : state.getBattleDetails()) {
-                if (detail == null) {
-                    continue;
-                }
-                allPlayerIds.addAll(detail.getPlayerIds());
-            }
-            state.setPendingPlayerDetailIds(new ArrayList<>(allPlayerIds));
-            state.setCurrentPlayerDetailIndex(0);
-            persist(state);
-        }
+                    if ((i + 1) % saveEvery == 0) {
+                        persist(state);
+                    }
+                });
+    }
 
+    @NonNull
+    private FetchQueue<Player> playerDetailsQueue(@NonNull ProgressState state, int saveEvery) {
         List<Long> playerIds = state.getPendingPlayerDetailIds();
-        int playerStart = state.getCurrentPlayerDetailIndex();
-        callback.onLog(LogLevel.INFO, "Fetching detailed players from index " + playerStart + " to " + playerIds.size());
+        return new FetchQueue<>(playerIds, state.getCurrentPlayerDetailIndex(), state.getProcessedPlayerDetailIds(),
+                playerService::fetchPlayer,
+                state::setCurrentPlayerDetailIndex,
+                (i, playerId, player) -> {
+                    callback.onProgressUpdate(
+                            ScrapingPhase.PLAYERS,
+                            i + 1,
+                            playerIds.size(),
+                            "PlayerDetails [" + (i + 1) + "/" + playerIds.size() + "] playerId=" + playerId
+                    );
+
+                    if (player != null) {
+                        store.putPlayer(playerId, player);
+                        state.markPlayerDetailProcessed(playerId);
+                    }
+                    state.setCurrentPlayerDetailIndex(i + 1);
 
-        for (int i = playerStart; i < playerIds.size(); i++) {
+                    if ((i + 1) % saveEvery == 0) {
+                        persist(state);
+                    }
+                });
+    }
+
+    /**
+     * Serves the queues with the shared workers until done returns true or every queue is drained.
+     * Free workers are handed out round-robin, so no queue starves while another one keeps growing.
+     * Requests still in flight when done becomes true stay in their queue for the next pump.
+     */
+    private void pump(@NonNull List<FetchQueue<?>> queues, @NonNull BooleanSupplier done) throws Exception {
+        while (true) {
             if (shouldStop()) {
                 throw new InterruptedException("Stop requested");
             }
 
-            Long playerId = playerIds.get(i);
-            if (playerId == null) {
-                state.setCurrentPlayerDetailIndex(i + 1);
-                continue;
-            }
+            // Drained before looking at the queues: a request finishing after this point is not missed
+            completions.drainPermits();
 
-            if (state.getProcessedPlayerDetailIds().contains(playerId)) {
-                state.setCurrentPlayerDetailIndex(i + 1);
-                continue;
+            boolean progressed = false;
+            for (FetchQueue<?> queue : queues) {
+                progressed |= queue.commitReady();
             }
-
-                callback.onProgressUpdate(
-                    i + 1,
-                    playerIds.size(),
-                    "PlayerDetails [" + (i + 1) + "/" + playerIds.size() + "] playerId=" + playerId
-                );
-
-            Player player = playerService.fetchPlayer(playerId);
-            if (player != null) {
-                state.getPlayers().add(player);
-                state.getProcessedPlayerDetailIds().add(playerId);
-            }
-            state.setCurrentPlayerDetailIndex(i + 1);
-
-            if ((i + 1) % saveEvery == 0) {
-                persist(state);
+            if (done.getAsBoolean()) {
+                return;
             }
-        }
-
-        persist(state);
-    }
-
-    private void processPendingArenaIds(@NonNull ProgressState state, int saveEvery) throws Exception {
-        state.setCurrentPhase(ScrapingPhase.BATTLE_DETAILS);
-        callback.onPhaseChanged(ScrapingPhase.BATTLE_DETAILS);
 
-        List<Long> arenaIds = state.getPendingArenaIds();
-        int start = state.getCurrentArenaIndex();
-        if (arenaIds.isEmpty() || start >= arenaIds.size()) {
-            return;
-        }
-
-        int initialIndex = start;
-        callback.onLog(LogLevel.INFO, "Fetching battle details from index " + start + " to " + arenaIds.size());
-
-        for (int i = start; i < arenaIds.size(); i++) {
-            if (shouldStop()) {
-                throw new InterruptedException("Stop requested");
+            boolean submitted = false;
+            boolean added = true;
+            while (added && inFlight < fetchWorkers) {
+                added = false;
+                for (FetchQueue<?> queue : queues) {
+                    if (inFlight >= fetchWorkers) {
+                        break;
+                    }
+                    added |= queue.submitNext();
+                }
+                submitted |= added;
             }
 
-            Long arenaId = arenaIds.get(i);
-            if (arenaId == null) {
-                state.setCurrentArenaIndex(i + 1);
+            if (progressed || submitted) {
                 continue;
             }
-
-            if (state.getProcessedArenaIds().contains(arenaId)) {
-                state.setCurrentArenaIndex(i + 1);
-                continue;
+            if (inFlight == 0) {
+                return;
             }
+            completions.acquire();
+        }
+    }
 
-                callback.onProgressUpdate(
-                    i + 1,
-                    arenaIds.size(),
-                    "BattleDetails [" + (i + 1) + "/" + arenaIds.size() + "] arenaId=" + arenaId
-                );
-
-            BattleDetail detail = battleDetailService.fetchBattleDetail(arenaId);
-            if (detail == null) {
-                throw new IOException("Empty battle detail for arena " + arenaId);
+    @Nullable
+    private static <T> T await(@NonNull Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
             }
-
-            state.getBattleDetails().add(detail);
-            state.getProcessedArenaIds().add(arenaId);
-            state.setCurrentArenaIndex(i + 1);
-
-            if ((i + 1) % saveEvery == 0) {
-                persist(state);
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw e;
         }
+    }
 
-        if (state.getCurrentArenaIndex() > initialIndex) {
-            persist(state);
+    private void reportRequestRate() {
+        long tenths = Math.round(apiClient.getRateLimiter().getRequestsPerSecond() * 10d);
+        if (tenths != reportedRateTenths) {
+            reportedRateTenths = tenths;
+            callback.onRequestRateChanged(tenths / 10d);
         }
     }
 
     private void persist(@NonNull ProgressState state) {
-        ProgressState snapshot = state.snapshot();
-
-        // Non-blocking persistence so scraping keeps progressing.
-        ProgressManager.saveProgressAsync(context, snapshot);
-
-        ExportData partial = new ExportData(snapshot.getCombinedBattles(), snapshot.getBattleDetails(), snapshot.getPlayers());
-        if (preferences.isAutoExportEnabled()) {
-            ExportManager.exportLatestAsync(context, partial);
+        // Non-blocking persistence so scraping keeps progressing: usually only the delta since the last save is written.
+        ProgressManager.saveProgressAsync(context, state);
+
+        // Independent of the checkpoints, which may be far apart on a long session where only deltas are journaled
+        savesSinceLatestExport++;
+        long now = SystemClock.elapsedRealtime();
+        if (preferences.isAutoExportEnabled()
+                && (savesSinceLatestExport >= LATEST_EXPORT_EVERY_SAVES || now - lastLatestExportMs >= LATEST_EXPORT_INTERVAL_MS)) {
+            savesSinceLatestExport = 0;
+            lastLatestExportMs = now;
+            ExportManager.exportLatestAsync(context, state.getCombinedBattles());
         }
 
-        callback.onDataCollected(partial);
+        callback.onDataCollected(state.getBattleDetailsCount(), state.getPlayersCount());
     }
 
     private boolean shouldStop() {
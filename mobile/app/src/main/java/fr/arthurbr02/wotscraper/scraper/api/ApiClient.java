@@ -15,6 +15,8 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class ApiClient {
 
     public interface DelayProvider {
@@ -25,12 +27,21 @@ public class ApiClient {
         int getTimeoutSeconds();
     }
 
+    // Requests that may start back to back after an idle period (matches the default fetch workers).
+    private static final int RATE_LIMIT_BURST = 4;
+
     private final OkHttpClient httpClient;
     private final Gson gson;
+    @NonNull private final RateLimiter rateLimiter;
 
     public ApiClient(@NonNull OkHttpClient httpClient, @NonNull Gson gson) {
+        this(httpClient, gson, new RateLimiter(0L, 1));
+    }
+
+    public ApiClient(@NonNull OkHttpClient httpClient, @NonNull Gson gson, @NonNull RateLimiter rateLimiter) {
         this.httpClient = httpClient;
         this.gson = gson;
+        this.rateLimiter = rateLimiter;
     }
 
     @NonNull
@@ -46,15 +57,23 @@ public class ApiClient {
     @NonNull
     public static ApiClient createDefault(@NonNull DelayProvider delayProvider, @NonNull TimeoutProvider timeoutProvider) {
         int timeoutSeconds = Math.max(5, timeoutProvider.getTimeoutSeconds());
+        // The configured delay is only the starting point: the limiter then follows the server's 429s.
+        RateLimiter rateLimiter = new RateLimiter(Math.max(0L, delayProvider.getDelayMs()), RATE_LIMIT_BURST);
         OkHttpClient client = new OkHttpClient.Builder()
                 .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
                 .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
                 .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
                 .retryOnConnectionFailure(true)
-                .addInterceptor(new ThrottlingInterceptor(delayProvider))
+                // Retry wraps the limiter so that every attempt, retries included, takes a token.
                 .addInterceptor(new RetryInterceptor())
+                .addInterceptor(new RateLimitInterceptor(rateLimiter))
                 .build();
-        return new ApiClient(client, new Gson());
+        return new ApiClient(client, ModelJson.GSON, rateLimiter);
+    }
+
+    @NonNull
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
     }
 
     @NonNull
@@ -84,32 +103,36 @@ public class ApiClient {
         }
     }
 
-    private static final class ThrottlingInterceptor implements Interceptor {
-        private final DelayProvider delayProvider;
-
-        private final Object lock = new Object();
-        private long lastRequestStartMs = 0L;
+    private static final class RateLimitInterceptor implements Interceptor {
+        private final RateLimiter rateLimiter;
 
-        private ThrottlingInterceptor(@NonNull DelayProvider delayProvider) {
-            this.delayProvider = delayProvider;
+        private RateLimitInterceptor(@NonNull RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
         }
 
         @NonNull
         @Override
         public Response intercept(@NonNull Chain chain) throws IOException {
-            long delayMs = Math.max(0L, delayProvider.getDelayMs());
-            if (delayMs > 0L) {
-                synchronized (lock) {
-                    long now = System.currentTimeMillis();
-                    long elapsed = now - lastRequestStartMs;
-                    long wait = delayMs - elapsed;
-                    if (wait > 0L) {
-                        sleepInterruptibly(wait);
-                    }
-                    lastRequestStartMs = System.currentTimeMillis();
-                }
+            rateLimiter.acquire();
+            Response response = chain.proceed(chain.request());
+            if (response.code() == 429) {
+                rateLimiter.onThrottled(parseRetryAfterMs(response.header("Retry-After")));
+            } else if (response.isSuccessful()) {
+                rateLimiter.onSuccess();
+            }
+            return response;
+        }
+
+        private static long parseRetryAfterMs(String retryAfter) {
+            if (retryAfter == null) {
+                return 0L;
+            }
+            try {
+                return Math.max(0L, Long.parseLong(retryAfter.trim())) * 1000L;
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form: fall back to the rate decrease alone
+                return 0L;
             }
-            return chain.proceed(chain.request());
         }
     }
 
@@ -161,17 +184,9 @@ public class ApiClient {
         }
 
         private static long computeWaitMs(int attempt, Response response) {
-            // Respect Retry-After when present for 429.
+            // 429: the shared rate limiter already slowed down and honours Retry-After for every caller.
             if (response != null && response.code() == 429) {
-                String retryAfter = response.header("Retry-After");
-                if (retryAfter != null) {
-                    try {
-                        long seconds = Long.parseLong(retryAfter.trim());
-                        return clamp(seconds * 1000L);
-                    } catch (NumberFormatException ignored) {
-                        // ignore
-                    }
-                }
+                return 0L;
             }
 
             // Exponential backoff with simple jitter.
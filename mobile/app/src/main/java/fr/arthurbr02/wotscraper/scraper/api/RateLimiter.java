@@ -0,0 +1,110 @@
+package fr.arthurbr02.wotscraper.scraper.api;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket shared by every request of an ApiClient.
+ *
+ * The bucket is tracked as a single "theoretical arrival time" (GCRA): a caller reserves the next
+ * slot with a CAS and then sleeps outside of any lock, so concurrent callers never queue behind a
+ * sleeping thread. Up to {@code burst} requests may start back to back after an idle period.
+ *
+ * The interval between requests adapts to the server: every success shortens it slightly, every
+ * 429 doubles it, and a Retry-After pauses all callers until the given time.
+ */
+public class RateLimiter {
+
+    private static final long MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MAX_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // Each success shortens the interval by 1/32 (about 70 successes to speed up 10x).
+    private static final int SPEED_UP_DIVISOR = 32;
+
+    private final int burst;
+    private final AtomicLong intervalNanos;
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE / 2);
+
+    public RateLimiter(long initialIntervalMs, int burst) {
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, initialIntervalMs)));
+    }
+
+    /**
+     * Blocks until the caller may start a request.
+     */
+    public void acquire() throws InterruptedIOException {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos.get();
+            long tolerance = (burst - 1) * interval;
+            long tat = theoreticalArrivalNanos.get();
+            long start = Math.max(tat, now);
+
+            if (theoreticalArrivalNanos.compareAndSet(tat, start + interval)) {
+                sleepNanos(start - tolerance - now);
+                return;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        while (true) {
+            long interval = intervalNanos.get();
+            if (interval <= MIN_INTERVAL_NANOS) {
+                return;
+            }
+            long next = Math.max(MIN_INTERVAL_NANOS, interval - interval / SPEED_UP_DIVISOR);
+            if (intervalNanos.compareAndSet(interval, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The server answered 429: halve the rate and, when Retry-After is known, hold every caller until then.
+     */
+    public void onThrottled(long retryAfterMs) {
+        while (true) {
+            long interval = intervalNanos.get();
+            long next = Math.min(MAX_INTERVAL_NANOS, Math.max(MIN_INTERVAL_NANOS, interval * 2));
+            if (intervalNanos.compareAndSet(interval, next)) {
+                break;
+            }
+        }
+
+        if (retryAfterMs <= 0L) {
+            return;
+        }
+        long interval = intervalNanos.get();
+        long resumeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMs) + (burst - 1) * interval;
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            if (tat >= resumeAt || theoreticalArrivalNanos.compareAndSet(tat, resumeAt)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Current sustained rate, in requests per second (0 when unlimited).
+     */
+    public double getRequestsPerSecond() {
+        long interval = intervalNanos.get();
+        return interval > 0L ? TimeUnit.SECONDS.toNanos(1) / (double) interval : 0d;
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedIOException {
+        if (nanos <= 0L) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException ioe = new InterruptedIOException("Interrupted while waiting");
+            ioe.initCause(e);
+            throw ioe;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package fr.arthurbr02.wotscraper.scraper.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattleDetail;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattlePlayer;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.General;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.Players;
+import fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Battle;
+import fr.arthurbr02.wotscraper.scraper.model.combinedbattles.CombinedBattles;
+import fr.arthurbr02.wotscraper.scraper.model.player.Player;
+import fr.arthurbr02.wotscraper.util.StringDictionary;
+
+/**
+ * Shared Gson instance for the API, the progress, the store and the exports.
+ *
+ * Every class under scraper/model has a hand-written streaming Adapter (nested in the class): fields are
+ * read and written directly, without reflection, repeated strings are interned in their StringDictionary
+ * while reading, and unused fields (icon URLs) are skipped without being parsed. Fields are written in
+ * declaration order, so the output is the same as Gson's reflective one.
+ */
+public final class ModelJson {
+
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new Factory())
+            .create();
+
+    private ModelJson() {
+    }
+
+    private static final class Factory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> raw = type.getRawType();
+            TypeAdapter<?> adapter;
+            if (raw == CombinedBattles.class) {
+                adapter = new CombinedBattles.Adapter(
+                        gson.getAdapter(fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Meta.class),
+                        gson.getAdapter(fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Data.class));
+            } else if (raw == fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Meta.class) {
+                adapter = new fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Meta.Adapter();
+            } else if (raw == fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Data.class) {
+                adapter = new fr.arthurbr02.wotscraper.scraper.model.combinedbattles.Data.Adapter(gson.getAdapter(Battle.class));
+            } else if (raw == Battle.class) {
+                adapter = new Battle.Adapter(gson.getAdapter(new TypeToken<List<Object>>() {
+                }));
+            } else if (raw == BattleDetail.class) {
+                adapter = new BattleDetail.Adapter(
+                        gson.getAdapter(fr.arthurbr02.wotscraper.scraper.model.battledetail.Meta.class),
+                        gson.getAdapter(General.class),
+                        gson.getAdapter(Players.class));
+            } else if (raw == fr.arthurbr02.wotscraper.scraper.model.battledetail.Meta.class) {
+                adapter = new fr.arthurbr02.wotscraper.scraper.model.battledetail.Meta.Adapter();
+            } else if (raw == General.class) {
+                adapter = new General.Adapter();
+            } else if (raw == Players.class) {
+                adapter = new Players.Adapter(gson.getAdapter(BattlePlayer.class));
+            } else if (raw == BattlePlayer.class) {
+                adapter = new BattlePlayer.Adapter();
+            } else if (raw == Player.class) {
+                adapter = new Player.Adapter(
+                        gson.getAdapter(fr.arthurbr02.wotscraper.scraper.model.player.Meta.class),
+                        gson.getAdapter(fr.arthurbr02.wotscraper.scraper.model.player.Data.class));
+            } else if (raw == fr.arthurbr02.wotscraper.scraper.model.player.Meta.class) {
+                adapter = new fr.arthurbr02.wotscraper.scraper.model.player.Meta.Adapter();
+            } else if (raw == fr.arthurbr02.wotscraper.scraper.model.player.Data.class) {
+                adapter = new fr.arthurbr02.wotscraper.scraper.model.player.Data.Adapter();
+            } else {
+                return null;
+            }
+            // Nulls are handled once here rather than in every adapter
+            return (TypeAdapter<T>) adapter.nullSafe();
+        }
+    }
+
+    // Same leniency as Gson's built-in adapters: numbers may be quoted, strings may be numbers or booleans
+
+    @Nullable
+    public static String readString(@NonNull JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    @Nullable
+    public static String readString(@NonNull JsonReader in, @NonNull StringDictionary dictionary) throws IOException {
+        return dictionary.intern(readString(in));
+    }
+
+    @Nullable
+    public static Integer readInteger(@NonNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    @Nullable
+    public static Long readLong(@NonNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    @Nullable
+    public static Double readDouble(@NonNull JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+
+    @Nullable
+    public static Boolean readBoolean(@NonNull JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+}
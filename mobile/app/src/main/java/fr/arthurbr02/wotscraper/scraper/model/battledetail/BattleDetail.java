@@ -1,9 +1,18 @@
 package fr.arthurbr02.wotscraper.scraper.model.battledetail;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class BattleDetail {
     private Meta meta;
     private General general;
@@ -45,4 +54,55 @@ public class BattleDetail {
         }
         return ids;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<BattleDetail> {
+        private final TypeAdapter<Meta> meta;
+        private final TypeAdapter<General> general;
+        private final TypeAdapter<Players> players;
+
+        public Adapter(@NonNull TypeAdapter<Meta> meta, @NonNull TypeAdapter<General> general, @NonNull TypeAdapter<Players> players) {
+            this.meta = meta;
+            this.general = general;
+            this.players = players;
+        }
+
+        @Override
+        public void write(JsonWriter out, BattleDetail value) throws IOException {
+            out.beginObject();
+            out.name("meta");
+            meta.write(out, value.meta);
+            out.name("general");
+            general.write(out, value.general);
+            out.name("players");
+            players.write(out, value.players);
+            out.endObject();
+        }
+
+        @Override
+        public BattleDetail read(JsonReader in) throws IOException {
+            BattleDetail value = new BattleDetail();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "meta":
+                        value.meta = meta.read(in);
+                        break;
+                    case "general":
+                        value.general = general.read(in);
+                        break;
+                    case "players":
+                        value.players = players.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -1,6 +1,14 @@
 package fr.arthurbr02.wotscraper.scraper.model.battledetail;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.util.StringDictionary;
 
 public class General {
 
@@ -88,4 +96,62 @@ public class General {
     public void setFinishReason(Integer finishReason) {
         this.finishReason = finishReason;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<General> {
+        @Override
+        public void write(JsonWriter out, General value) throws IOException {
+            out.beginObject();
+            out.name("duration").value(value.duration);
+            out.name("map").value(value.map);
+            out.name("map_id").value(value.mapId);
+            out.name("geometry_name").value(value.geometryName);
+            out.name("battle_time").value(value.battleTime);
+            out.name("arena_gui").value(value.arenaGui);
+            out.name("battle_type").value(value.battleType);
+            out.name("finish_reason").value(value.finishReason);
+            out.endObject();
+        }
+
+        @Override
+        public General read(JsonReader in) throws IOException {
+            General value = new General();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "duration":
+                        value.duration = ModelJson.readInteger(in);
+                        break;
+                    case "map":
+                        value.map = ModelJson.readString(in, StringDictionary.MAP_NAMES);
+                        break;
+                    case "map_id":
+                        value.mapId = ModelJson.readLong(in);
+                        break;
+                    case "geometry_name":
+                        value.geometryName = ModelJson.readString(in, StringDictionary.MAP_NAMES);
+                        break;
+                    case "battle_time":
+                        value.battleTime = ModelJson.readString(in);
+                        break;
+                    case "arena_gui":
+                        value.arenaGui = ModelJson.readInteger(in);
+                        break;
+                    case "battle_type":
+                        value.battleType = ModelJson.readString(in, StringDictionary.BATTLE_TYPES);
+                        break;
+                    case "finish_reason":
+                        value.finishReason = ModelJson.readInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -1,5 +1,13 @@
 package fr.arthurbr02.wotscraper.scraper.model.battledetail;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class Meta {
     private String status;
 
@@ -10,4 +18,34 @@ public class Meta {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Meta> {
+        @Override
+        public void write(JsonWriter out, Meta value) throws IOException {
+            out.beginObject();
+            out.name("status").value(value.status);
+            out.endObject();
+        }
+
+        @Override
+        public Meta read(JsonReader in) throws IOException {
+            Meta value = new Meta();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        value.status = ModelJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -1,6 +1,44 @@
 package fr.arthurbr02.wotscraper.scraper.model.battledetail;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Players extends ArrayList<BattlePlayer> {
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Players> {
+        private final TypeAdapter<BattlePlayer> element;
+
+        public Adapter(@NonNull TypeAdapter<BattlePlayer> element) {
+            this.element = element;
+        }
+
+        @Override
+        public void write(JsonWriter out, Players value) throws IOException {
+            out.beginArray();
+            for (BattlePlayer item : value) {
+                element.write(out, item);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public Players read(JsonReader in) throws IOException {
+            Players value = new Players();
+            in.beginArray();
+            while (in.hasNext()) {
+                value.add(element.read(in));
+            }
+            in.endArray();
+            return value;
+        }
+    }
 }
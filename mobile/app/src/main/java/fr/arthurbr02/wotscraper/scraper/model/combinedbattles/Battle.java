@@ -1,9 +1,18 @@
 package fr.arthurbr02.wotscraper.scraper.model.combinedbattles;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.List;
 
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.util.StringDictionary;
+
 public class Battle {
 
     // Map and battle information
@@ -130,19 +139,8 @@ public class Battle {
 
     private String name;
 
-    @SerializedName("small_icon")
-    private String smallIcon;
-
-    @SerializedName("contour_icon")
-    private String contourIcon;
-
-    @SerializedName("big_icon")
-    private String bigIcon;
-
     private String role;
 
-    private String image;
-
     private Boolean isAdvanced;
 
     // Additional battle statistics
@@ -193,4 +191,289 @@ public class Battle {
     public void setPlayerId(Long playerId) {
         this.playerId = playerId;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Battle> {
+        private final TypeAdapter<List<Object>> objects;
+
+        public Adapter(@NonNull TypeAdapter<List<Object>> objects) {
+            this.objects = objects;
+        }
+
+        @Override
+        public void write(JsonWriter out, Battle value) throws IOException {
+            out.beginObject();
+            out.name("map").value(value.map);
+            out.name("geometry_name").value(value.geometryName);
+            out.name("map_id").value(value.mapId);
+            out.name("tank_id").value(value.tankId);
+            out.name("arena_gui").value(value.arenaGui);
+            out.name("battle_type").value(value.battleType);
+            out.name("spawn").value(value.spawn);
+            out.name("game_version").value(value.gameVersion);
+            out.name("won").value(value.won);
+            out.name("finish_reason").value(value.finishReason);
+            out.name("damage").value(value.damage);
+            out.name("shots_fired").value(value.shotsFired);
+            out.name("direct_hits").value(value.directHits);
+            out.name("penetrations").value(value.penetrations);
+            out.name("hits_with_splash_damage").value(value.hitsWithSplashDamage);
+            out.name("sniper_damage").value(value.sniperDamage);
+            out.name("hits_received").value(value.hitsReceived);
+            out.name("penetrations_received").value(value.penetrationsReceived);
+            out.name("splash_hits_received").value(value.splashHitsReceived);
+            out.name("damage_blocked").value(value.damageBlocked);
+            out.name("spots").value(value.spots);
+            out.name("enemies_damaged").value(value.enemiesDamaged);
+            out.name("enemies_stunned").value(value.enemiesStunned);
+            out.name("frags").value(value.frags);
+            out.name("tracking_assist").value(value.trackingAssist);
+            out.name("spotting_assist").value(value.spottingAssist);
+            out.name("stun_assist").value(value.stunAssist);
+            out.name("base_capture_points").value(value.baseCapturePoints);
+            out.name("base_defense_points").value(value.baseDefensePoints);
+            out.name("battle_time").value(value.battleTime);
+            out.name("username").value(value.username);
+            out.name("clan").value(value.clan);
+            out.name("damage_received_from_invisible").value(value.damageReceivedFromInvisible);
+            out.name("potential_damage_received").value(value.potentialDamageReceived);
+            out.name("periphery_id").value(value.peripheryId);
+            out.name("base_xp").value(value.baseXp);
+            out.name("platoon").value(value.platoon);
+            out.name("id").value(value.id);
+            out.name("tier").value(value.tier);
+            out.name("type").value(value.type);
+            out.name("nation").value(value.nation);
+            out.name("is_gift").value(value.isGift);
+            out.name("is_premium").value(value.isPremium);
+            out.name("short_name").value(value.shortName);
+            out.name("name").value(value.name);
+            out.name("role").value(value.role);
+            out.name("isAdvanced").value(value.isAdvanced);
+            out.name("life_time").value(value.lifeTime);
+            out.name("duration").value(value.duration);
+            out.name("arena_id").value(value.arenaId);
+            out.name("player_id").value(value.playerId);
+            out.name("distance_traveled").value(value.distanceTraveled);
+            out.name("survived").value(value.survived);
+            out.name("max_health").value(value.maxHealth);
+            out.name("damage_received").value(value.damageReceived);
+            out.name("wn8").value(value.wn8);
+            out.name("wnx").value(value.wnx);
+            out.name("equipment");
+            objects.write(out, value.equipment);
+            out.name("consumables");
+            objects.write(out, value.consumables);
+            out.name("fieldMods");
+            objects.write(out, value.fieldMods);
+            out.name("shells");
+            objects.write(out, value.shells);
+            out.endObject();
+        }
+
+        @Override
+        public Battle read(JsonReader in) throws IOException {
+            Battle value = new Battle();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "map":
+                        value.map = ModelJson.readString(in, StringDictionary.MAP_NAMES);
+                        break;
+                    case "geometry_name":
+                        value.geometryName = ModelJson.readString(in, StringDictionary.MAP_NAMES);
+                        break;
+                    case "map_id":
+                        value.mapId = ModelJson.readLong(in);
+                        break;
+                    case "tank_id":
+                        value.tankId = ModelJson.readLong(in);
+                        break;
+                    case "arena_gui":
+                        value.arenaGui = ModelJson.readInteger(in);
+                        break;
+                    case "battle_type":
+                        value.battleType = ModelJson.readInteger(in);
+                        break;
+                    case "spawn":
+                        value.spawn = ModelJson.readInteger(in);
+                        break;
+                    case "game_version":
+                        value.gameVersion = ModelJson.readString(in, StringDictionary.GAME_VERSIONS);
+                        break;
+                    case "won":
+                        value.won = ModelJson.readBoolean(in);
+                        break;
+                    case "finish_reason":
+                        value.finishReason = ModelJson.readInteger(in);
+                        break;
+                    case "damage":
+                        value.damage = ModelJson.readInteger(in);
+                        break;
+                    case "shots_fired":
+                        value.shotsFired = ModelJson.readInteger(in);
+                        break;
+                    case "direct_hits":
+                        value.directHits = ModelJson.readInteger(in);
+                        break;
+                    case "penetrations":
+                        value.penetrations = ModelJson.readInteger(in);
+                        break;
+                    case "hits_with_splash_damage":
+                        value.hitsWithSplashDamage = ModelJson.readInteger(in);
+                        break;
+                    case "sniper_damage":
+                        value.sniperDamage = ModelJson.readInteger(in);
+                        break;
+                    case "hits_received":
+                        value.hitsReceived = ModelJson.readInteger(in);
+                        break;
+                    case "penetrations_received":
+                        value.penetrationsReceived = ModelJson.readInteger(in);
+                        break;
+                    case "splash_hits_received":
+                        value.splashHitsReceived = ModelJson.readInteger(in);
+                        break;
+                    case "damage_blocked":
+                        value.damageBlocked = ModelJson.readInteger(in);
+                        break;
+                    case "spots":
+                        value.spots = ModelJson.readInteger(in);
+                        break;
+                    case "enemies_damaged":
+                        value.enemiesDamaged = ModelJson.readInteger(in);
+                        break;
+                    case "enemies_stunned":
+                        value.enemiesStunned = ModelJson.readInteger(in);
+                        break;
+                    case "frags":
+                        value.frags = ModelJson.readInteger(in);
+                        break;
+                    case "tracking_assist":
+                        value.trackingAssist = ModelJson.readInteger(in);
+                        break;
+                    case "spotting_assist":
+                        value.spottingAssist = ModelJson.readInteger(in);
+                        break;
+                    case "stun_assist":
+                        value.stunAssist = ModelJson.readInteger(in);
+                        break;
+                    case "base_capture_points":
+                        value.baseCapturePoints = ModelJson.readInteger(in);
+                        break;
+                    case "base_defense_points":
+                        value.baseDefensePoints = ModelJson.readInteger(in);
+                        break;
+                    case "battle_time":
+                        value.battleTime = ModelJson.readString(in);
+                        break;
+                    case "username":
+                        value.username = ModelJson.readString(in);
+                        break;
+                    case "clan":
+                        value.clan = ModelJson.readString(in, StringDictionary.CLANS);
+                        break;
+                    case "damage_received_from_invisible":
+                        value.damageReceivedFromInvisible = ModelJson.readInteger(in);
+                        break;
+                    case "potential_damage_received":
+                        value.potentialDamageReceived = ModelJson.readInteger(in);
+                        break;
+                    case "periphery_id":
+                        value.peripheryId = ModelJson.readInteger(in);
+                        break;
+                    case "base_xp":
+                        value.baseXp = ModelJson.readInteger(in);
+                        break;
+                    case "platoon":
+                        value.platoon = ModelJson.readInteger(in);
+                        break;
+                    case "id":
+                        value.id = ModelJson.readLong(in);
+                        break;
+                    case "tier":
+                        value.tier = ModelJson.readInteger(in);
+                        break;
+                    case "type":
+                        value.type = ModelJson.readString(in, StringDictionary.VEHICLE_TYPES);
+                        break;
+                    case "nation":
+                        value.nation = ModelJson.readString(in, StringDictionary.NATIONS);
+                        break;
+                    case "is_gift":
+                        value.isGift = ModelJson.readBoolean(in);
+                        break;
+                    case "is_premium":
+                        value.isPremium = ModelJson.readBoolean(in);
+                        break;
+                    case "short_name":
+                        value.shortName = ModelJson.readString(in, StringDictionary.TANK_NAMES);
+                        break;
+                    case "name":
+                        value.name = ModelJson.readString(in, StringDictionary.TANK_NAMES);
+                        break;
+                    case "role":
+                        value.role = ModelJson.readString(in, StringDictionary.ROLES);
+                        break;
+                    case "isAdvanced":
+                        value.isAdvanced = ModelJson.readBoolean(in);
+                        break;
+                    case "life_time":
+                        value.lifeTime = ModelJson.readInteger(in);
+                        break;
+                    case "duration":
+                        value.duration = ModelJson.readInteger(in);
+                        break;
+                    case "arena_id":
+                        value.arenaId = ModelJson.readString(in);
+                        break;
+                    case "player_id":
+                        value.playerId = ModelJson.readLong(in);
+                        break;
+                    case "distance_traveled":
+                        value.distanceTraveled = ModelJson.readInteger(in);
+                        break;
+                    case "survived":
+                        value.survived = ModelJson.readBoolean(in);
+                        break;
+                    case "max_health":
+                        value.maxHealth = ModelJson.readInteger(in);
+                        break;
+                    case "damage_received":
+                        value.damageReceived = ModelJson.readInteger(in);
+                        break;
+                    case "wn8":
+                        value.wn8 = ModelJson.readInteger(in);
+                        break;
+                    case "wnx":
+                        value.wnx = ModelJson.readInteger(in);
+                        break;
+                    case "equipment":
+                        value.equipment = objects.read(in);
+                        break;
+                    case "consumables":
+                        value.consumables = objects.read(in);
+                        break;
+                    case "fieldMods":
+                        value.fieldMods = objects.read(in);
+                        break;
+                    case "shells":
+                        value.shells = objects.read(in);
+                        break;
+                    case "small_icon":
+                    case "contour_icon":
+                    case "big_icon":
+                    case "image":
+                        // Icon URLs are not used anywhere: skipped without being read
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -1,9 +1,18 @@
 package fr.arthurbr02.wotscraper.scraper.model.combinedbattles;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class CombinedBattles {
     private Meta meta;
     private Data data;
@@ -41,4 +50,48 @@ public class CombinedBattles {
         }
         return ids;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<CombinedBattles> {
+        private final TypeAdapter<Meta> meta;
+        private final TypeAdapter<Data> data;
+
+        public Adapter(@NonNull TypeAdapter<Meta> meta, @NonNull TypeAdapter<Data> data) {
+            this.meta = meta;
+            this.data = data;
+        }
+
+        @Override
+        public void write(JsonWriter out, CombinedBattles value) throws IOException {
+            out.beginObject();
+            out.name("meta");
+            meta.write(out, value.meta);
+            out.name("data");
+            data.write(out, value.data);
+            out.endObject();
+        }
+
+        @Override
+        public CombinedBattles read(JsonReader in) throws IOException {
+            CombinedBattles value = new CombinedBattles();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "meta":
+                        value.meta = meta.read(in);
+                        break;
+                    case "data":
+                        value.data = data.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
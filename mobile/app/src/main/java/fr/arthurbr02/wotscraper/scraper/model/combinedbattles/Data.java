@@ -1,6 +1,44 @@
 package fr.arthurbr02.wotscraper.scraper.model.combinedbattles;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Data extends ArrayList<Battle> {
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Data> {
+        private final TypeAdapter<Battle> element;
+
+        public Adapter(@NonNull TypeAdapter<Battle> element) {
+            this.element = element;
+        }
+
+        @Override
+        public void write(JsonWriter out, Data value) throws IOException {
+            out.beginArray();
+            for (Battle item : value) {
+                element.write(out, item);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public Data read(JsonReader in) throws IOException {
+            Data value = new Data();
+            in.beginArray();
+            while (in.hasNext()) {
+                value.add(element.read(in));
+            }
+            in.endArray();
+            return value;
+        }
+    }
 }
@@ -1,6 +1,13 @@
 package fr.arthurbr02.wotscraper.scraper.model.combinedbattles;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
 
 public class Meta {
     private String status;
@@ -33,4 +40,46 @@ public class Meta {
     public void setPage(int page) {
         this.page = page;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Meta> {
+        @Override
+        public void write(JsonWriter out, Meta value) throws IOException {
+            out.beginObject();
+            out.name("status").value(value.status);
+            out.name("player_id").value(value.playerId);
+            out.name("page").value(value.page);
+            out.endObject();
+        }
+
+        @Override
+        public Meta read(JsonReader in) throws IOException {
+            Meta value = new Meta();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        value.status = ModelJson.readString(in);
+                        break;
+                    case "player_id":
+                        value.playerId = ModelJson.readLong(in);
+                        break;
+                    case "page": {
+                        Integer read = ModelJson.readInteger(in);
+                        if (read != null) {
+                            value.page = read;
+                        }
+                        break;
+                    }
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -1,6 +1,14 @@
 package fr.arthurbr02.wotscraper.scraper.model.player;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.util.StringDictionary;
 
 public class Data {
 
@@ -292,4 +300,154 @@ public class Data {
     public void setKd(Double kd) {
         this.kd = kd;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Data> {
+        @Override
+        public void write(JsonWriter out, Data value) throws IOException {
+            out.beginObject();
+            out.name("server").value(value.server);
+            out.name("id").value(value.id);
+            out.name("battles").value(value.battles);
+            out.name("overallWN8").value(value.overallWn8);
+            out.name("overallWNX").value(value.overallWnx);
+            out.name("avgTier").value(value.avgTier);
+            out.name("wins").value(value.wins);
+            out.name("losses").value(value.losses);
+            out.name("draws").value(value.draws);
+            out.name("totalDamage").value(value.totalDamage);
+            out.name("totalDamageReceived").value(value.totalDamageReceived);
+            out.name("totalAssist").value(value.totalAssist);
+            out.name("totalFrags").value(value.totalFrags);
+            out.name("totalDestroyed").value(value.totalDestroyed);
+            out.name("totalSurvived").value(value.totalSurvived);
+            out.name("totalSpotted").value(value.totalSpotted);
+            out.name("totalCap").value(value.totalCap);
+            out.name("totalDef").value(value.totalDef);
+            out.name("totalXp").value(value.totalXp);
+            out.name("winrate").value(value.winrate);
+            out.name("lossrate").value(value.lossrate);
+            out.name("drawrate").value(value.drawrate);
+            out.name("dpg").value(value.dpg);
+            out.name("assist").value(value.assist);
+            out.name("frags").value(value.frags);
+            out.name("survival").value(value.survival);
+            out.name("spots").value(value.spots);
+            out.name("cap").value(value.cap);
+            out.name("def").value(value.def);
+            out.name("xp").value(value.xp);
+            out.name("kd").value(value.kd);
+            out.endObject();
+        }
+
+        @Override
+        public Data read(JsonReader in) throws IOException {
+            Data value = new Data();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "server":
+                        value.server = ModelJson.readString(in, StringDictionary.SERVERS);
+                        break;
+                    case "id":
+                        value.id = ModelJson.readLong(in);
+                        break;
+                    case "battles":
+                        value.battles = ModelJson.readInteger(in);
+                        break;
+                    case "overallWN8":
+                        value.overallWn8 = ModelJson.readInteger(in);
+                        break;
+                    case "overallWNX":
+                        value.overallWnx = ModelJson.readInteger(in);
+                        break;
+                    case "avgTier":
+                        value.avgTier = ModelJson.readDouble(in);
+                        break;
+                    case "wins":
+                        value.wins = ModelJson.readInteger(in);
+                        break;
+                    case "losses":
+                        value.losses = ModelJson.readInteger(in);
+                        break;
+                    case "draws":
+                        value.draws = ModelJson.readInteger(in);
+                        break;
+                    case "totalDamage":
+                        value.totalDamage = ModelJson.readLong(in);
+                        break;
+                    case "totalDamageReceived":
+                        value.totalDamageReceived = ModelJson.readLong(in);
+                        break;
+                    case "totalAssist":
+                        value.totalAssist = ModelJson.readLong(in);
+                        break;
+                    case "totalFrags":
+                        value.totalFrags = ModelJson.readInteger(in);
+                        break;
+                    case "totalDestroyed":
+                        value.totalDestroyed = ModelJson.readInteger(in);
+                        break;
+                    case "totalSurvived":
+                        value.totalSurvived = ModelJson.readInteger(in);
+                        break;
+                    case "totalSpotted":
+                        value.totalSpotted = ModelJson.readInteger(in);
+                        break;
+                    case "totalCap":
+                        value.totalCap = ModelJson.readInteger(in);
+                        break;
+                    case "totalDef":
+                        value.totalDef = ModelJson.readInteger(in);
+                        break;
+                    case "totalXp":
+                        value.totalXp = ModelJson.readLong(in);
+                        break;
+                    case "winrate":
+                        value.winrate = ModelJson.readDouble(in);
+                        break;
+                    case "lossrate":
+                        value.lossrate = ModelJson.readDouble(in);
+                        break;
+                    case "drawrate":
+                        value.drawrate = ModelJson.readDouble(in);
+                        break;
+                    case "dpg":
+                        value.dpg = ModelJson.readInteger(in);
+                        break;
+                    case "assist":
+                        value.assist = ModelJson.readInteger(in);
+                        break;
+                    case "frags":
+                        value.frags = ModelJson.readDouble(in);
+                        break;
+                    case "survival":
+                        value.survival = ModelJson.readDouble(in);
+                        break;
+                    case "spots":
+                        value.spots = ModelJson.readDouble(in);
+                        break;
+                    case "cap":
+                        value.cap = ModelJson.readDouble(in);
+                        break;
+                    case "def":
+                        value.def = ModelJson.readDouble(in);
+                        break;
+                    case "xp":
+                        value.xp = ModelJson.readInteger(in);
+                        break;
+                    case "kd":
+                        value.kd = ModelJson.readDouble(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
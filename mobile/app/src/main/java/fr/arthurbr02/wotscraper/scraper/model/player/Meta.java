@@ -1,5 +1,13 @@
 package fr.arthurbr02.wotscraper.scraper.model.player;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class Meta {
     private String status;
     private String id;
@@ -28,4 +36,46 @@ public class Meta {
     public void setCached(boolean cached) {
         this.cached = cached;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Meta> {
+        @Override
+        public void write(JsonWriter out, Meta value) throws IOException {
+            out.beginObject();
+            out.name("status").value(value.status);
+            out.name("id").value(value.id);
+            out.name("cached").value(value.cached);
+            out.endObject();
+        }
+
+        @Override
+        public Meta read(JsonReader in) throws IOException {
+            Meta value = new Meta();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        value.status = ModelJson.readString(in);
+                        break;
+                    case "id":
+                        value.id = ModelJson.readString(in);
+                        break;
+                    case "cached": {
+                        Boolean read = ModelJson.readBoolean(in);
+                        if (read != null) {
+                            value.cached = read;
+                        }
+                        break;
+                    }
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
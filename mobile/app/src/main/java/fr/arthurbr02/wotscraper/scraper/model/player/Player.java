@@ -1,5 +1,15 @@
 package fr.arthurbr02.wotscraper.scraper.model.player;
 
+import androidx.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+
 public class Player {
     private Meta meta;
     private Data data;
@@ -19,4 +29,48 @@ public class Player {
     public void setData(Data data) {
         this.data = data;
     }
+
+    /**
+     * Streaming adapter registered in ModelJson, used instead of reflection.
+     */
+    public static final class Adapter extends TypeAdapter<Player> {
+        private final TypeAdapter<Meta> meta;
+        private final TypeAdapter<Data> data;
+
+        public Adapter(@NonNull TypeAdapter<Meta> meta, @NonNull TypeAdapter<Data> data) {
+            this.meta = meta;
+            this.data = data;
+        }
+
+        @Override
+        public void write(JsonWriter out, Player value) throws IOException {
+            out.beginObject();
+            out.name("meta");
+            meta.write(out, value.meta);
+            out.name("data");
+            data.write(out, value.data);
+            out.endObject();
+        }
+
+        @Override
+        public Player read(JsonReader in) throws IOException {
+            Player value = new Player();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "meta":
+                        value.meta = meta.read(in);
+                        break;
+                    case "data":
+                        value.data = data.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
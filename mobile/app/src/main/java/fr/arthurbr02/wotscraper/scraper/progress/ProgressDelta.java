@@ -0,0 +1,33 @@
+package fr.arthurbr02.wotscraper.scraper.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.scraper.ScrapingPhase;
+
+/**
+ * Changes made to a ProgressState between two saves, appended to the progress journal instead of
+ * rewriting the whole state. The lists only hold what was appended since the previous save, in order;
+ * the cursors and phase are the values at the time of the save. The records themselves are in ScrapedDataStore.
+ */
+public class ProgressDelta {
+
+    // Checkpoint this delta applies on top of (kept in the journal header, not in each record)
+    transient long checkpointId;
+
+    ScrapingPhase currentPhase;
+    long lastUpdateTimeMs;
+    int currentArenaIndex;
+    int currentPlayerIndex;
+    int currentPlayerDetailIndex;
+
+    List<Long> queuedArenaIds = new ArrayList<>();
+
+    List<Long> processedArenaIds = new ArrayList<>();
+
+    List<Long> processedPlayerIds = new ArrayList<>();
+
+    List<Long> queuedPlayerDetailIds = new ArrayList<>();
+
+    List<Long> processedPlayerDetailIds = new ArrayList<>();
+}
@@ -7,35 +7,66 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
 
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.SyncFailedException;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.util.SmileFormat;
+import fr.arthurbr02.wotscraper.util.SmileJsonReader;
+import fr.arthurbr02.wotscraper.util.SmileJsonWriter;
 
 public class ProgressManager {
 
     private static final String TAG = "ProgressManager";
 
-    private static final String PROGRESS_FILE = "scraper_progress.json";
-    private static final String PROGRESS_BACKUP_FILE = "scraper_progress.backup.json";
-    private static final String PROGRESS_TMP_FILE = "scraper_progress.tmp.json";
+    // Progress is rewritten very often and holds every battle: it is stored as Smile (binary JSON).
+    private static final String PROGRESS_FILE = "scraper_progress.smile";
+    private static final String PROGRESS_BACKUP_FILE = "scraper_progress.backup.smile";
+    private static final String PROGRESS_TMP_FILE = "scraper_progress.tmp.smile";
+
+    // Written by previous versions, only read when no Smile progress exists.
+    private static final String LEGACY_PROGRESS_FILE = "scraper_progress.json";
+    private static final String LEGACY_PROGRESS_BACKUP_FILE = "scraper_progress.backup.json";
+    private static final String LEGACY_PROGRESS_TMP_FILE = "scraper_progress.tmp.json";
+
+    // Deltas appended between two checkpoints (see ProgressDelta), replayed on load.
+    // Header: id of the checkpoint it extends; then records [length][crc32][Smile-encoded ProgressDelta].
+    private static final String JOURNAL_FILE = "scraper_progress.journal";
+    private static final String JOURNAL_TMP_FILE = "scraper_progress.tmp.journal";
 
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    // The journal is compacted into a new checkpoint once it outgrows the checkpoint itself,
+    // which keeps the total amount written linear in the amount of data scraped.
+    private static final long MIN_COMPACTION_BYTES = 512L * 1024L;
 
+    private static final Gson gson = ModelJson.GSON;
+
+    // Single thread: checkpoints and journal appends are written in the order they were requested
     private static final ExecutorService ASYNC_EXECUTOR = Executors.newSingleThreadExecutor();
-    private static final Object ASYNC_LOCK = new Object();
-    private static ProgressState pendingAsyncState;
-    private static boolean asyncWorkerRunning = false;
+
+    // Checkpoint the journal on disk currently extends (0: none written by this process yet,
+    // -1: an append failed, nothing more is appended until the next checkpoint)
+    private static long journalCheckpointId;
+    private static volatile long journalBytes;
+    private static volatile long checkpointBytes;
+    private static volatile boolean compactionRequested;
 
     private ProgressManager() {
     }
@@ -45,9 +76,56 @@ public class ProgressManager {
         return new File(context.getFilesDir(), name);
     }
 
-    public static synchronized void saveProgress(@NonNull Context context, @NonNull ProgressState state) throws IOException {
+    /**
+     * Writes a full checkpoint of state and starts an empty journal.
+     */
+    public static void saveProgress(@NonNull Context context, @NonNull ProgressState state) throws IOException {
+        state.setLastUpdateTimeMs(System.currentTimeMillis());
+        writeCheckpoint(context, state.checkpoint());
+    }
+
+    /**
+     * Non-blocking variant used during scraping loops. Only the changes since the previous save are
+     * appended to the journal; a full checkpoint is written when the state changed in a way a delta can't
+     * express, or when the journal has grown larger than the last checkpoint.
+     */
+    public static void saveProgressAsync(@NonNull Context context, @NonNull ProgressState state) {
+        final Context appContext = context.getApplicationContext();
         state.setLastUpdateTimeMs(System.currentTimeMillis());
 
+        if (state.isCheckpointRequired() || compactionRequested
+                || journalBytes > Math.max(MIN_COMPACTION_BYTES, checkpointBytes)) {
+            ProgressState snapshot = state.checkpoint();
+            ASYNC_EXECUTOR.execute(() -> {
+                try {
+                    writeCheckpoint(appContext, snapshot);
+                } catch (Exception e) {
+                    // Best-effort: never crash the scraper for a background persistence issue.
+                    compactionRequested = true;
+                    Log.w(TAG, "Async saveProgress failed", e);
+                }
+            });
+            return;
+        }
+
+        ProgressDelta delta = state.takeDelta();
+        ASYNC_EXECUTOR.execute(() -> {
+            try {
+                appendJournal(appContext, delta);
+            } catch (Exception e) {
+                // The delta is lost: the next save rewrites everything
+                compactionRequested = true;
+                Log.w(TAG, "Async journal append failed", e);
+            }
+        });
+    }
+
+    private static synchronized void writeCheckpoint(@NonNull Context context, @NonNull ProgressState snapshot) throws IOException {
+        if (snapshot.getCheckpointId() < journalCheckpointId) {
+            // A newer checkpoint was written synchronously meanwhile
+            return;
+        }
+
         File progressFile = file(context, PROGRESS_FILE);
         File backupFile = file(context, PROGRESS_BACKUP_FILE);
         File tmpFile = file(context, PROGRESS_TMP_FILE);
@@ -59,72 +137,87 @@ public class ProgressManager {
 
         // write tmp then rename
         try (FileOutputStream fos = new FileOutputStream(tmpFile, false)) {
-            try (OutputStreamWriter osw = new OutputStreamWriter(fos, StandardCharsets.UTF_8);
-                 BufferedWriter bw = new BufferedWriter(osw)) {
-                gson.toJson(state, bw);
-                bw.flush();
+            try (SmileJsonWriter writer = new SmileJsonWriter(new BufferedOutputStream(fos))) {
+                gson.toJson(snapshot, ProgressState.class, writer);
+                writer.flush();
             }
             fos.flush();
-            try {
-                fos.getFD().sync();
-            } catch (SyncFailedException ignored) {
-                // Best-effort: some Android devices/FS can fail fsync even if the write succeeded.
-                // We prefer keeping the scraper running rather than treating this as fatal.
-            }
+            sync(fos);
         }
+        replace(tmpFile, progressFile);
+        checkpointBytes = progressFile.length();
 
-        if (!tmpFile.renameTo(progressFile)) {
-            // fallback: copy then delete
-            copyFile(tmpFile, progressFile);
-            //noinspection ResultOfMethodCallIgnored
-            tmpFile.delete();
+        // A stale journal is ignored on load (its header names the previous checkpoint)
+        File journalTmpFile = file(context, JOURNAL_TMP_FILE);
+        try (FileOutputStream fos = new FileOutputStream(journalTmpFile, false);
+             DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeLong(snapshot.getCheckpointId());
+            out.flush();
+            sync(fos);
         }
-    }
+        replace(journalTmpFile, file(context, JOURNAL_FILE));
 
-    /**
-     * Non-blocking variant used during scraping loops.
-     * Coalesces multiple calls and only writes the latest snapshot.
-     */
-    public static void saveProgressAsync(@NonNull Context context, @NonNull ProgressState snapshot) {
-        final Context appContext = context.getApplicationContext();
+        journalCheckpointId = snapshot.getCheckpointId();
+        journalBytes = 0;
+        compactionRequested = false;
+    }
 
-        synchronized (ASYNC_LOCK) {
-            pendingAsyncState = snapshot;
-            if (asyncWorkerRunning) {
-                return;
-            }
-            asyncWorkerRunning = true;
+    private static synchronized void appendJournal(@NonNull Context context, @NonNull ProgressDelta delta) throws IOException {
+        if (delta.checkpointId != journalCheckpointId) {
+            // Recorded against a checkpoint that was replaced since: the newer checkpoint contains it
+            return;
         }
 
-        ASYNC_EXECUTOR.execute(() -> {
-            while (true) {
-                ProgressState next;
-                synchronized (ASYNC_LOCK) {
-                    next = pendingAsyncState;
-                    pendingAsyncState = null;
-                    if (next == null) {
-                        asyncWorkerRunning = false;
-                        return;
-                    }
-                }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (SmileJsonWriter writer = new SmileJsonWriter(bytes)) {
+                gson.toJson(delta, ProgressDelta.class, writer);
+                writer.flush();
+            }
+            byte[] record = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(record, 0, record.length);
 
-                try {
-                    saveProgress(appContext, next);
-                } catch (Exception e) {
-                    // Best-effort: never crash the scraper for a background persistence issue.
-                    Log.w(TAG, "Async saveProgress failed", e);
-                }
+            try (FileOutputStream fos = new FileOutputStream(file(context, JOURNAL_FILE), true);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+                out.writeInt(record.length);
+                out.writeInt((int) crc.getValue());
+                out.write(record);
+                out.flush();
+                sync(fos);
             }
-        });
+            journalBytes += 8 + record.length;
+        } catch (IOException | RuntimeException e) {
+            // Later deltas would be replayed without this one: drop them until the forced checkpoint
+            journalCheckpointId = -1;
+            throw e;
+        }
     }
 
     @Nullable
     public static synchronized ProgressState loadProgress(@NonNull Context context) {
+        ProgressState state = loadSavedState(context);
+        if (state != null && state.hasLegacyData()) {
+            // Saved before the records moved to ScrapedDataStore: move them once and rewrite the progress without them
+            try {
+                ScrapedDataStore.getInstance(context).importLegacy(state);
+                state.clearLegacyData();
+                saveProgress(context, state);
+            } catch (Exception e) {
+                Log.w(TAG, "Moving saved records to the store failed", e);
+            }
+        }
+        return state;
+    }
+
+    @Nullable
+    private static ProgressState loadSavedState(@NonNull Context context) {
         File progressFile = file(context, PROGRESS_FILE);
         File backupFile = file(context, PROGRESS_BACKUP_FILE);
 
         ProgressState state = tryLoadFile(progressFile);
         if (state != null) {
+            replayJournal(file(context, JOURNAL_FILE), state);
             return state;
         }
 
@@ -135,12 +228,19 @@ public class ProgressManager {
                 copyFile(backupFile, progressFile);
             } catch (IOException ignored) {
             }
+            return state;
+        }
+
+        // Progress saved by a previous version; rewritten as Smile on the next save.
+        state = tryLoadFile(file(context, LEGACY_PROGRESS_FILE));
+        if (state == null) {
+            state = tryLoadFile(file(context, LEGACY_PROGRESS_BACKUP_FILE));
         }
         return state;
     }
 
     public static synchronized boolean hasProgress(@NonNull Context context) {
-        return file(context, PROGRESS_FILE).exists();
+        return file(context, PROGRESS_FILE).exists() || file(context, LEGACY_PROGRESS_FILE).exists();
     }
 
     public static synchronized void clearProgress(@NonNull Context context) {
@@ -150,6 +250,18 @@ public class ProgressManager {
         file(context, PROGRESS_BACKUP_FILE).delete();
         //noinspection ResultOfMethodCallIgnored
         file(context, PROGRESS_TMP_FILE).delete();
+        //noinspection ResultOfMethodCallIgnored
+        file(context, JOURNAL_FILE).delete();
+        //noinspection ResultOfMethodCallIgnored
+        file(context, JOURNAL_TMP_FILE).delete();
+        //noinspection ResultOfMethodCallIgnored
+        file(context, LEGACY_PROGRESS_FILE).delete();
+        //noinspection ResultOfMethodCallIgnored
+        file(context, LEGACY_PROGRESS_BACKUP_FILE).delete();
+        //noinspection ResultOfMethodCallIgnored
+        file(context, LEGACY_PROGRESS_TMP_FILE).delete();
+
+        ScrapedDataStore.getInstance(context).clear();
     }
 
     @Nullable
@@ -158,9 +270,10 @@ public class ProgressManager {
             return null;
         }
         try (FileInputStream fis = new FileInputStream(file);
-             InputStreamReader isr = new InputStreamReader(fis, StandardCharsets.UTF_8);
-             BufferedReader br = new BufferedReader(isr)) {
-            ProgressState state = gson.fromJson(br, ProgressState.class);
+             JsonReader reader = SmileFormat.isSmile(file)
+                     ? new SmileJsonReader(new BufferedInputStream(fis))
+                     : new JsonReader(new BufferedReader(new InputStreamReader(fis, StandardCharsets.UTF_8)))) {
+            ProgressState state = gson.fromJson(reader, ProgressState.class);
             if (state != null) {
                 state.ensureInitialized();
             }
@@ -170,6 +283,73 @@ public class ProgressManager {
         }
     }
 
+    /**
+     * Applies the journaled deltas to the checkpoint they were recorded against. A torn or corrupted
+     * record (the app died while appending) ends the replay: everything before it is kept.
+     */
+    private static void replayJournal(@NonNull File journal, @NonNull ProgressState state) {
+        if (!journal.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+            if (in.readLong() != state.getCheckpointId()) {
+                return;
+            }
+            int replayed = 0;
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int expectedCrc = in.readInt();
+                if (length <= 0 || length > journal.length()) {
+                    Log.w(TAG, "Corrupted journal record after " + replayed + " deltas");
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                CRC32 crc = new CRC32();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    Log.w(TAG, "Corrupted journal record after " + replayed + " deltas");
+                    break;
+                }
+
+                try (SmileJsonReader reader = new SmileJsonReader(new ByteArrayInputStream(record))) {
+                    ProgressDelta delta = gson.fromJson(reader, ProgressDelta.class);
+                    if (delta != null) {
+                        state.apply(delta);
+                        replayed++;
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            Log.w(TAG, "Truncated journal record ignored");
+        } catch (Exception e) {
+            Log.w(TAG, "Journal replay stopped", e);
+        }
+    }
+
+    private static void sync(@NonNull FileOutputStream fos) throws IOException {
+        try {
+            fos.getFD().sync();
+        } catch (SyncFailedException ignored) {
+            // Best-effort: some Android devices/FS can fail fsync even if the write succeeded.
+            // We prefer keeping the scraper running rather than treating this as fatal.
+        }
+    }
+
+    private static void replace(@NonNull File src, @NonNull File dst) throws IOException {
+        if (!src.renameTo(dst)) {
+            // fallback: copy then delete
+            copyFile(src, dst);
+            //noinspection ResultOfMethodCallIgnored
+            src.delete();
+        }
+    }
+
     private static void copyFile(@NonNull File src, @NonNull File dst) throws IOException {
         try (FileInputStream in = new FileInputStream(src);
              FileOutputStream out = new FileOutputStream(dst, false)) {
@@ -12,6 +12,14 @@ import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattleDetail;
 import fr.arthurbr02.wotscraper.scraper.model.combinedbattles.CombinedBattles;
 import fr.arthurbr02.wotscraper.scraper.model.player.Player;
 
+/**
+ * Resumable scraping state. The three queues (battle details, player pool, player details) are
+ * fetched concurrently: each has its own list and cursor, and everything before a cursor is done.
+ *
+ * The fetched battle details and players themselves are in ScrapedDataStore: only ids are kept here.
+ * The scraping loops go through the queue / mark methods, which also record the change in a
+ * ProgressDelta: ProgressManager journals that delta instead of rewriting the whole state on every save.
+ */
 public class ProgressState {
 
     private String sessionId;
@@ -29,15 +37,13 @@ public class ProgressState {
     private int currentArenaIndex;
     private Set<Long> queuedArenaIds;
 
-    private List<BattleDetail> battleDetails;
     private Set<Long> processedArenaIds;
 
+    // Player pool walked to discover more arenas (cursor: currentPlayerIndex)
     private Set<Long> processedPlayerIds;
     private List<Long> pendingPlayerIds;
 
-    private List<Player> players;
-
-    // Player details fetching can be resumed mid-stream
+    // Player details fetching can be resumed mid-stream; players are appended as their battles are fetched
     private List<Long> pendingPlayerDetailIds;
     private Set<Long> processedPlayerDetailIds;
     private int currentPlayerDetailIndex;
@@ -45,6 +51,17 @@ public class ProgressState {
     private int currentPlayerIndex;
     private int totalPlayersToFetch;
 
+    // Only filled in progress saved before ScrapedDataStore existed, moved to the store on load
+    private List<BattleDetail> battleDetails;
+    private List<Player> players;
+
+    // Checkpoint the journal is appended to (see ProgressManager)
+    private long checkpointId;
+
+    // Changes since the last save; a checkpoint is required after changes a delta can't express
+    private transient ProgressDelta delta = new ProgressDelta();
+    private transient boolean checkpointRequired = true;
+
     public ProgressState() {
         this.pendingArenaIds = new ArrayList<>();
         this.battleDetails = new ArrayList<>();
@@ -107,6 +124,138 @@ public class ProgressState {
         if (totalPlayersToFetch < 0) {
             totalPlayersToFetch = 0;
         }
+        if (delta == null) {
+            delta = new ProgressDelta();
+            checkpointRequired = true;
+        }
+    }
+
+    /**
+     * Records that the battle detail of arenaId is in ScrapedDataStore.
+     */
+    public void markArenaProcessed(long arenaId) {
+        if (processedArenaIds.add(arenaId)) {
+            delta.processedArenaIds.add(arenaId);
+        }
+    }
+
+    /**
+     * Appends arenaId to the battle details queue unless it was already queued or fetched.
+     */
+    public boolean queueArena(long arenaId) {
+        if (processedArenaIds.contains(arenaId) || !queuedArenaIds.add(arenaId)) {
+            return false;
+        }
+        pendingArenaIds.add(arenaId);
+        delta.queuedArenaIds.add(arenaId);
+        return true;
+    }
+
+    /**
+     * Empties the battle details queue (fetched arenas stay known). Forces the next save to be a checkpoint.
+     */
+    public void resetArenaQueue() {
+        pendingArenaIds.clear();
+        queuedArenaIds.clear();
+        queuedArenaIds.addAll(processedArenaIds);
+        currentArenaIndex = 0;
+        checkpointRequired = true;
+    }
+
+    public void markPlayerPoolProcessed(long playerId) {
+        if (processedPlayerIds.add(playerId)) {
+            delta.processedPlayerIds.add(playerId);
+        }
+    }
+
+    public void queuePlayerDetail(long playerId) {
+        pendingPlayerDetailIds.add(playerId);
+        delta.queuedPlayerDetailIds.add(playerId);
+    }
+
+    /**
+     * Records that the player details of playerId are in ScrapedDataStore.
+     */
+    public void markPlayerDetailProcessed(long playerId) {
+        if (processedPlayerDetailIds.add(playerId)) {
+            delta.processedPlayerDetailIds.add(playerId);
+        }
+    }
+
+    public int getBattleDetailsCount() {
+        return processedArenaIds.size();
+    }
+
+    public int getPlayersCount() {
+        return processedPlayerDetailIds.size();
+    }
+
+    boolean hasLegacyData() {
+        return !battleDetails.isEmpty() || !players.isEmpty();
+    }
+
+    void clearLegacyData() {
+        battleDetails = new ArrayList<>();
+        players = new ArrayList<>();
+    }
+
+    public boolean isCheckpointRequired() {
+        return checkpointRequired;
+    }
+
+    public long getCheckpointId() {
+        return checkpointId;
+    }
+
+    /**
+     * Returns the changes since the last save and starts recording a new delta.
+     */
+    @NonNull
+    ProgressDelta takeDelta() {
+        ProgressDelta taken = delta;
+        taken.checkpointId = checkpointId;
+        taken.currentPhase = currentPhase;
+        taken.lastUpdateTimeMs = lastUpdateTimeMs;
+        taken.currentArenaIndex = currentArenaIndex;
+        taken.currentPlayerIndex = currentPlayerIndex;
+        taken.currentPlayerDetailIndex = currentPlayerDetailIndex;
+        delta = new ProgressDelta();
+        return taken;
+    }
+
+    /**
+     * Starts a new checkpoint: the pending delta is dropped since the returned snapshot contains it.
+     */
+    @NonNull
+    ProgressState checkpoint() {
+        checkpointId = Math.max(checkpointId + 1, System.currentTimeMillis());
+        delta = new ProgressDelta();
+        checkpointRequired = false;
+        return snapshot();
+    }
+
+    /**
+     * Replays a journaled delta on top of the checkpoint it was recorded against.
+     */
+    void apply(@NonNull ProgressDelta change) {
+        if (change.currentPhase != null) {
+            currentPhase = change.currentPhase;
+        }
+        lastUpdateTimeMs = change.lastUpdateTimeMs;
+
+        for (Long arenaId : change.queuedArenaIds) {
+            if (arenaId != null && queuedArenaIds.add(arenaId)) {
+                pendingArenaIds.add(arenaId);
+            }
+        }
+        processedArenaIds.addAll(change.processedArenaIds);
+        processedPlayerIds.addAll(change.processedPlayerIds);
+        pendingPlayerDetailIds.addAll(change.queuedPlayerDetailIds);
+        processedPlayerDetailIds.addAll(change.processedPlayerDetailIds);
+
+        currentArenaIndex = change.currentArenaIndex;
+        currentPlayerIndex = change.currentPlayerIndex;
+        currentPlayerDetailIndex = change.currentPlayerDetailIndex;
     }
 
     /**
@@ -142,6 +291,7 @@ public class ProgressState {
 
         copy.currentPlayerIndex = this.currentPlayerIndex;
         copy.totalPlayersToFetch = this.totalPlayersToFetch;
+        copy.checkpointId = this.checkpointId;
 
         copy.ensureInitialized();
         return copy;
@@ -193,6 +343,7 @@ public class ProgressState {
 
     public void setCombinedBattles(CombinedBattles combinedBattles) {
         this.combinedBattles = combinedBattles;
+        this.checkpointRequired = true;
     }
 
     public List<Long> getPendingArenaIds() {
@@ -201,6 +352,7 @@ public class ProgressState {
 
     public void setPendingArenaIds(List<Long> pendingArenaIds) {
         this.pendingArenaIds = pendingArenaIds;
+        this.checkpointRequired = true;
     }
 
     public int getCurrentArenaIndex() {
@@ -217,22 +369,21 @@ public class ProgressState {
 
     public void setQueuedArenaIds(Set<Long> queuedArenaIds) {
         this.queuedArenaIds = queuedArenaIds;
+        this.checkpointRequired = true;
     }
 
-    public List<BattleDetail> getBattleDetails() {
+    @NonNull
+    List<BattleDetail> getBattleDetails() {
         return battleDetails;
     }
 
-    public void setBattleDetails(List<BattleDetail> battleDetails) {
-        this.battleDetails = battleDetails;
-    }
-
     public Set<Long> getProcessedArenaIds() {
         return processedArenaIds;
     }
 
     public void setProcessedArenaIds(Set<Long> processedArenaIds) {
         this.processedArenaIds = processedArenaIds;
+        this.checkpointRequired = true;
     }
 
     public Set<Long> getProcessedPlayerIds() {
@@ -241,6 +392,7 @@ public class ProgressState {
 
     public void setProcessedPlayerIds(Set<Long> processedPlayerIds) {
         this.processedPlayerIds = processedPlayerIds;
+        this.checkpointRequired = true;
     }
 
     public List<Long> getPendingPlayerIds() {
@@ -249,22 +401,21 @@ public class ProgressState {
 
     public void setPendingPlayerIds(List<Long> pendingPlayerIds) {
         this.pendingPlayerIds = pendingPlayerIds;
+        this.checkpointRequired = true;
     }
 
-    public List<Player> getPlayers() {
+    @NonNull
+    List<Player> getPlayers() {
         return players;
     }
 
-    public void setPlayers(List<Player> players) {
-        this.players = players;
-    }
-
     public List<Long> getPendingPlayerDetailIds() {
         return pendingPlayerDetailIds;
     }
 
     public void setPendingPlayerDetailIds(List<Long> pendingPlayerDetailIds) {
         this.pendingPlayerDetailIds = pendingPlayerDetailIds;
+        this.checkpointRequired = true;
     }
 
     public Set<Long> getProcessedPlayerDetailIds() {
@@ -273,6 +424,7 @@ public class ProgressState {
 
     public void setProcessedPlayerDetailIds(Set<Long> processedPlayerDetailIds) {
         this.processedPlayerDetailIds = processedPlayerDetailIds;
+        this.checkpointRequired = true;
     }
 
     public int getCurrentPlayerDetailIndex() {
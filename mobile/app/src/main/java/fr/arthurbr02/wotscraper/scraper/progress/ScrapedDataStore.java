@@ -0,0 +1,229 @@
+package fr.arthurbr02.wotscraper.scraper.progress;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.google.gson.Gson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.scraper.model.ModelJson;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattleDetail;
+import fr.arthurbr02.wotscraper.scraper.model.player.Player;
+import fr.arthurbr02.wotscraper.util.SmileJsonReader;
+import fr.arthurbr02.wotscraper.util.SmileJsonWriter;
+
+/**
+ * On-device store of the scraped battle details and players, so they don't have to stay in memory.
+ * ProgressState only keeps the ids and cursors; exports stream the records back from here.
+ *
+ * Records are Smile-encoded and kept in insertion order; the arena / player id is unique,
+ * so storing a record fetched twice (resumed after a crash) keeps the first copy.
+ */
+public final class ScrapedDataStore extends SQLiteOpenHelper {
+
+    private static final String DB_NAME = "scraped_data.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE_BATTLE_DETAILS = "battle_details";
+    private static final String TABLE_PLAYERS = "players";
+    private static final String COL_SEQ = "seq";
+    private static final String COL_ARENA_ID = "arena_id";
+    private static final String COL_PLAYER_ID = "player_id";
+    private static final String COL_DATA = "data";
+
+    // Records read per query when streaming, keeps every cursor window small
+    private static final int PAGE_SIZE = 256;
+
+    private static final Gson gson = ModelJson.GSON;
+
+    private static volatile ScrapedDataStore instance;
+
+    public interface RecordConsumer<T> {
+        void accept(@NonNull T record) throws IOException;
+    }
+
+    @NonNull
+    public static ScrapedDataStore getInstance(@NonNull Context context) {
+        ScrapedDataStore store = instance;
+        if (store == null) {
+            synchronized (ScrapedDataStore.class) {
+                store = instance;
+                if (store == null) {
+                    store = new ScrapedDataStore(context.getApplicationContext());
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    // Tests open their own store rather than the process-wide instance
+    @VisibleForTesting
+    ScrapedDataStore(@NonNull Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+        // The scraping thread writes while exports read
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_BATTLE_DETAILS + " ("
+                + COL_SEQ + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COL_ARENA_ID + " INTEGER NOT NULL UNIQUE, "
+                + COL_DATA + " BLOB NOT NULL)");
+        db.execSQL("CREATE TABLE " + TABLE_PLAYERS + " ("
+                + COL_SEQ + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COL_PLAYER_ID + " INTEGER NOT NULL UNIQUE, "
+                + COL_DATA + " BLOB NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Single version so far
+    }
+
+    public void putBattleDetail(long arenaId, @NonNull BattleDetail detail) throws IOException {
+        insert(TABLE_BATTLE_DETAILS, COL_ARENA_ID, arenaId, encode(detail, BattleDetail.class));
+    }
+
+    public void putPlayer(long playerId, @NonNull Player player) throws IOException {
+        insert(TABLE_PLAYERS, COL_PLAYER_ID, playerId, encode(player, Player.class));
+    }
+
+    public long countBattleDetails() {
+        return DatabaseUtils.queryNumEntries(getReadableDatabase(), TABLE_BATTLE_DETAILS);
+    }
+
+    public long countPlayers() {
+        return DatabaseUtils.queryNumEntries(getReadableDatabase(), TABLE_PLAYERS);
+    }
+
+    /**
+     * Streams the battle details in the order they were stored, one page at a time.
+     */
+    public void forEachBattleDetail(@NonNull RecordConsumer<BattleDetail> consumer) throws IOException {
+        forEach(TABLE_BATTLE_DETAILS, BattleDetail.class, consumer);
+    }
+
+    /**
+     * Streams the players in the order they were stored, one page at a time.
+     */
+    public void forEachPlayer(@NonNull RecordConsumer<Player> consumer) throws IOException {
+        forEach(TABLE_PLAYERS, Player.class, consumer);
+    }
+
+    public void clear() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_BATTLE_DETAILS, null, null);
+            db.delete(TABLE_PLAYERS, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Moves the battle details and players kept in progress saved by previous versions into the store.
+     * Battle details were appended in queue order, so they are matched with the processed arenas of
+     * that queue; any left over (older sessions) get negative placeholder ids.
+     */
+    void importLegacy(@NonNull ProgressState state) throws IOException {
+        List<BattleDetail> battleDetails = state.getBattleDetails();
+        List<Player> players = state.getPlayers();
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Iterator<Long> arenaIds = state.getPendingArenaIds().iterator();
+            for (int i = 0; i < battleDetails.size(); i++) {
+                BattleDetail detail = battleDetails.get(i);
+                if (detail == null) {
+                    continue;
+                }
+                long arenaId = -(i + 1L);
+                while (arenaIds.hasNext()) {
+                    Long candidate = arenaIds.next();
+                    if (candidate != null && state.getProcessedArenaIds().contains(candidate)) {
+                        arenaId = candidate;
+                        break;
+                    }
+                }
+                putBattleDetail(arenaId, detail);
+            }
+
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                if (player == null) {
+                    continue;
+                }
+                Long playerId = player.getData() != null ? player.getData().getId() : null;
+                putPlayer(playerId != null ? playerId : -(i + 1L), player);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void insert(@NonNull String table, @NonNull String keyColumn, long key, @NonNull byte[] data) {
+        ContentValues values = new ContentValues();
+        values.put(keyColumn, key);
+        values.put(COL_DATA, data);
+        getWritableDatabase().insertWithOnConflict(table, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+    }
+
+    private <T> void forEach(@NonNull String table, @NonNull Class<T> type, @NonNull RecordConsumer<T> consumer) throws IOException {
+        SQLiteDatabase db = getReadableDatabase();
+        String[] columns = {COL_SEQ, COL_DATA};
+        long after = 0L;
+
+        // Keyset pagination: records stored while streaming are picked up by the following pages
+        while (true) {
+            int read = 0;
+            try (Cursor cursor = db.query(table, columns, COL_SEQ + " > ?", new String[]{String.valueOf(after)},
+                    null, null, COL_SEQ, String.valueOf(PAGE_SIZE))) {
+                while (cursor.moveToNext()) {
+                    after = cursor.getLong(0);
+                    T record = decode(cursor.getBlob(1), type);
+                    if (record != null) {
+                        consumer.accept(record);
+                    }
+                    read++;
+                }
+            }
+            if (read < PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    @NonNull
+    private static <T> byte[] encode(@NonNull T record, @NonNull Class<T> type) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SmileJsonWriter writer = new SmileJsonWriter(bytes)) {
+            gson.toJson(record, type, writer);
+            writer.flush();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T decode(@NonNull byte[] data, @NonNull Class<T> type) throws IOException {
+        try (SmileJsonReader reader = new SmileJsonReader(new ByteArrayInputStream(data))) {
+            return gson.fromJson(reader, type);
+        }
+    }
+}
@@ -15,7 +15,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
-import fr.arthurbr02.wotscraper.export.ExportData;
 import fr.arthurbr02.wotscraper.scraper.LogLevel;
 import fr.arthurbr02.wotscraper.scraper.ScraperCallback;
 import fr.arthurbr02.wotscraper.scraper.ScraperEngine;
@@ -45,8 +44,6 @@ public class ScraperService extends Service {
 
     private volatile boolean isRunning = false;
 
-    private volatile ScrapingPhase lastPhase = ScrapingPhase.NOT_STARTED;
-
     public class LocalBinder extends Binder {
         public ScraperService getService() {
             return ScraperService.this;
@@ -58,6 +55,7 @@ public class ScraperService extends Service {
         super.onCreate();
         notificationManager = new ScraperNotificationManager(this);
         preferencesManager = new PreferencesManager(this);
+        LogManager.getInstance().setPersistentLog(this, preferencesManager.isPersistentLogEnabled());
         executor = Executors.newSingleThreadExecutor();
     }
 
@@ -122,7 +120,6 @@ public class ScraperService extends Service {
             @Override
             public void onPhaseChanged(@NonNull ScrapingPhase phase) {
                 Log.i(TAG, "Phase changed: " + phase);
-                lastPhase = phase;
                 ScraperStateRepository.getInstance().setPhase(phase);
                 if (preferencesManager.isPhaseNotificationEnabled()) {
                     notificationManager.notifyAlert(ScraperNotificationManager.NOTIFICATION_ID + 1,
@@ -131,7 +128,7 @@ public class ScraperService extends Service {
             }
 
             @Override
-            public void onProgressUpdate(int current, int total, @NonNull String message) {
+            public void onProgressUpdate(@NonNull ScrapingPhase phase, int current, int total, @NonNull String message) {
                 Notification updated = notificationManager.buildOngoing(
                         "WoT Scraper",
                         message,
@@ -142,19 +139,13 @@ public class ScraperService extends Service {
                 );
                 notificationManager.notify(updated);
 
-                if (lastPhase == ScrapingPhase.COMBINED_BATTLES) {
+                if (phase == ScrapingPhase.COMBINED_BATTLES) {
                     ScraperStateRepository.getInstance().setStep1(current, Math.max(1, total), message);
-                } else if (lastPhase == ScrapingPhase.PLAYERS) {
+                } else if (phase == ScrapingPhase.PLAYERS) {
                     ScraperStateRepository.getInstance().setStep3(current, Math.max(0, total), message);
                 } else {
                     ScraperStateRepository.getInstance().setStep2(current, Math.max(0, total), message);
                 }
-
-                ProgressState ps = ProgressManager.loadProgress(ScraperService.this);
-                if (ps != null) {
-                    ps.ensureInitialized();
-                    ScraperStateRepository.getInstance().setCounts(ps.getBattleDetails().size(), ps.getPlayers().size());
-                }
             }
 
             @Override
@@ -188,12 +179,18 @@ public class ScraperService extends Service {
             }
 
             @Override
-            public void onDataCollected(@NonNull ExportData partialData) {
-                // Phase 2: data is persisted via ProgressManager; UI export comes later.
+            public void onDataCollected(int battleDetailsCount, int playersCount) {
+                // Data is persisted via ProgressManager and ScrapedDataStore; only the counts are shown.
+                ScraperStateRepository.getInstance().setCounts(battleDetailsCount, playersCount);
+            }
+
+            @Override
+            public void onRequestRateChanged(double requestsPerSecond) {
+                ScraperStateRepository.getInstance().setRequestRate(requestsPerSecond);
             }
 
             @Override
-            public void onComplete(@NonNull ExportData finalData) {
+            public void onComplete() {
                 Log.i(TAG, "Scraper completed");
                 ScraperStateRepository.getInstance().setPhase(ScrapingPhase.COMPLETED);
                 if (preferencesManager.isCompleteNotificationEnabled()) {
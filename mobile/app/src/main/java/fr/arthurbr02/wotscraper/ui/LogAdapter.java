@@ -25,10 +25,27 @@ public class LogAdapter extends RecyclerView.Adapter<LogAdapter.VH> {
     private final List<LogEntry> items = new ArrayList<>();
     private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss", Locale.getDefault());
 
+    /**
+     * newItems is the current window of the log ring: entries older than its first one are removed,
+     * entries newer than the last shown one are appended, the rest is left bound.
+     */
     public void submit(@NonNull List<LogEntry> newItems) {
-        items.clear();
-        items.addAll(newItems);
-        notifyDataSetChanged();
+        long first = newItems.isEmpty() ? Long.MAX_VALUE : newItems.get(0).sequence;
+        int removed = 0;
+        while (removed < items.size() && items.get(removed).sequence < first) {
+            removed++;
+        }
+        if (removed > 0) {
+            items.subList(0, removed).clear();
+            notifyItemRangeRemoved(0, removed);
+        }
+
+        // Entries still shown are the start of newItems (sequences are consecutive)
+        int kept = items.size();
+        if (kept < newItems.size()) {
+            items.addAll(newItems.subList(kept, newItems.size()));
+            notifyItemRangeInserted(kept, newItems.size() - kept);
+        }
     }
 
     @NonNull
@@ -41,7 +58,7 @@ public class LogAdapter extends RecyclerView.Adapter<LogAdapter.VH> {
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
         LogEntry entry = items.get(position);
-        holder.bind(entry);
+        holder.bind(entry, timeFormat);
     }
 
     @Override
@@ -57,10 +74,10 @@ public class LogAdapter extends RecyclerView.Adapter<LogAdapter.VH> {
             text = itemView.findViewById(R.id.tv_log);
         }
 
-        void bind(@NonNull LogEntry entry) {
+        void bind(@NonNull LogEntry entry, @NonNull SimpleDateFormat timeFormat) {
             Context context = itemView.getContext();
 
-            String time = new SimpleDateFormat("HH:mm:ss", Locale.getDefault()).format(new Date(entry.timestampMs));
+            String time = timeFormat.format(new Date(entry.timestampMs));
             String line = time + " [" + entry.level.name() + "] " + entry.message;
             text.setText(line);
 
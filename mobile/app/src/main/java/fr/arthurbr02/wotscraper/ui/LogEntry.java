@@ -5,11 +5,14 @@ import androidx.annotation.NonNull;
 import fr.arthurbr02.wotscraper.scraper.LogLevel;
 
 public class LogEntry {
+    // Increasing for each added entry, lets LogAdapter tell which entries are new
+    public final long sequence;
     public final long timestampMs;
     @NonNull public final LogLevel level;
     @NonNull public final String message;
 
-    public LogEntry(long timestampMs, @NonNull LogLevel level, @NonNull String message) {
+    public LogEntry(long sequence, long timestampMs, @NonNull LogLevel level, @NonNull String message) {
+        this.sequence = sequence;
         this.timestampMs = timestampMs;
         this.level = level;
         this.message = message;
@@ -1,23 +1,59 @@
 package fr.arthurbr02.wotscraper.ui;
 
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 
 import fr.arthurbr02.wotscraper.scraper.LogLevel;
 
 public class LogManager {
 
+    private static final String TAG = "LogManager";
+
     private static final int MAX_LOGS = 500;
 
+    // At most ~10 LiveData updates per second, however fast lines are added
+    private static final long PUBLISH_INTERVAL_MS = 100L;
+
+    private static final String LOG_FILE_NAME = "logs.ring";
+    private static final String LOG_EXPORT_DIR_NAME = "logs";
+
     private static final LogManager INSTANCE = new LogManager();
 
     private final Object lock = new Object();
-    private final ArrayList<LogEntry> buffer = new ArrayList<>();
+    // Fixed-size ring: no copy or shift per line, the oldest entry is overwritten
+    private final LogEntry[] ring = new LogEntry[MAX_LOGS];
+    private int head;
+    private int size;
+    private long nextSequence;
+
+    private boolean publishScheduled;
+    private long lastPublishMs;
+    @Nullable private LogRingFile logFile;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable publishRunnable = this::publish;
     private final MutableLiveData<List<LogEntry>> liveData = new MutableLiveData<>(Collections.emptyList());
 
     private LogManager() {
@@ -34,21 +70,138 @@ public class LogManager {
     }
 
     public void add(@NonNull LogLevel level, @NonNull String message) {
-        List<LogEntry> snapshot;
+        long now = System.currentTimeMillis();
         synchronized (lock) {
-            buffer.add(new LogEntry(System.currentTimeMillis(), level, message));
-            if (buffer.size() > MAX_LOGS) {
-                buffer.subList(0, buffer.size() - MAX_LOGS).clear();
+            push(now, level, message);
+            if (logFile != null) {
+                logFile.append(now, level, message);
             }
-            snapshot = new ArrayList<>(buffer);
+            schedulePublish();
         }
-        liveData.postValue(snapshot);
     }
 
     public void clear() {
         synchronized (lock) {
-            buffer.clear();
+            Arrays.fill(ring, null);
+            head = 0;
+            size = 0;
+            if (logFile != null) {
+                logFile.clear();
+            }
+            schedulePublish();
+        }
+    }
+
+    /**
+     * Mirrors the logs into a memory-mapped ring file that survives the process (debug setting).
+     * When enabling with no log in memory yet, the lines saved by the previous process are shown again.
+     * Disabling deletes the file.
+     */
+    public void setPersistentLog(@NonNull Context context, boolean enabled) {
+        File file = new File(context.getApplicationContext().getFilesDir(), LOG_FILE_NAME);
+        synchronized (lock) {
+            if (enabled && logFile == null) {
+                try {
+                    logFile = LogRingFile.open(file);
+                } catch (IOException e) {
+                    Log.w(TAG, "Unable to open log file", e);
+                    return;
+                }
+                if (size == 0) {
+                    for (LogEntry entry : logFile.readAll()) {
+                        push(entry.timestampMs, entry.level, entry.message);
+                    }
+                    schedulePublish();
+                }
+            } else if (!enabled) {
+                if (logFile != null) {
+                    try {
+                        logFile.close();
+                    } catch (IOException e) {
+                        Log.w(TAG, "Unable to close log file", e);
+                    }
+                    logFile = null;
+                }
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes the logs to a text file that can be shared: the whole log file when it is enabled
+     * (including previous processes), otherwise the lines kept in memory.
+     */
+    @NonNull
+    public File exportLogs(@NonNull Context context) throws IOException {
+        List<LogEntry> entries;
+        synchronized (lock) {
+            entries = logFile != null ? logFile.readAll() : snapshot();
+        }
+
+        File dir = new File(context.getApplicationContext().getFilesDir(), LOG_EXPORT_DIR_NAME);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create log dir: " + dir.getAbsolutePath());
+        }
+        // Only the latest export is kept
+        File[] previous = dir.listFiles();
+        if (previous != null) {
+            for (File f : previous) {
+                //noinspection ResultOfMethodCallIgnored
+                f.delete();
+            }
+        }
+
+        File target = new File(dir, "wotscraper_logs_" + System.currentTimeMillis() + ".txt");
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.getDefault());
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target), StandardCharsets.UTF_8))) {
+            for (LogEntry entry : entries) {
+                writer.write(format.format(new Date(entry.timestampMs)) + " [" + entry.level.name() + "] " + entry.message + "\n");
+            }
+        }
+        return target;
+    }
+
+    // Under lock
+    private void push(long timestampMs, @NonNull LogLevel level, @NonNull String message) {
+        LogEntry entry = new LogEntry(nextSequence++, timestampMs, level, message);
+        if (size < MAX_LOGS) {
+            ring[(head + size) % MAX_LOGS] = entry;
+            size++;
+        } else {
+            ring[head] = entry;
+            head = (head + 1) % MAX_LOGS;
+        }
+    }
+
+    // Under lock
+    @NonNull
+    private List<LogEntry> snapshot() {
+        LogEntry[] copy = new LogEntry[size];
+        int firstPart = Math.min(size, MAX_LOGS - head);
+        System.arraycopy(ring, head, copy, 0, firstPart);
+        System.arraycopy(ring, 0, copy, firstPart, size - firstPart);
+        return Collections.unmodifiableList(Arrays.asList(copy));
+    }
+
+    // Under lock: lines added until the publication are delivered together
+    private void schedulePublish() {
+        if (publishScheduled) {
+            return;
+        }
+        publishScheduled = true;
+        long delay = Math.max(0L, lastPublishMs + PUBLISH_INTERVAL_MS - SystemClock.uptimeMillis());
+        mainHandler.postDelayed(publishRunnable, delay);
+    }
+
+    // Main thread
+    private void publish() {
+        List<LogEntry> snapshot;
+        synchronized (lock) {
+            publishScheduled = false;
+            lastPublishMs = SystemClock.uptimeMillis();
+            snapshot = snapshot();
         }
-        liveData.postValue(Collections.emptyList());
+        liveData.setValue(snapshot);
     }
 }
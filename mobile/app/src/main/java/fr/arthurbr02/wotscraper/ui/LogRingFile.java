@@ -0,0 +1,199 @@
+package fr.arthurbr02.wotscraper.ui;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.scraper.LogLevel;
+
+/**
+ * Fixed-size log ring in a memory-mapped file. Writes are plain memory stores into the page cache, so the
+ * last logs are still there after the process is killed and can be read back or exported.
+ *
+ * Layout: header [magic][version][start][end][count], then records [int length][long timestamp][byte level][UTF-8 message].
+ * When a record doesn't fit before the end of the file a wrap marker is left and writing continues after the header;
+ * the oldest records are dropped to make room. The header is updated after the record bytes, so a record torn by
+ * a kill is simply not part of the ring.
+ */
+final class LogRingFile implements Closeable {
+
+    static final int CAPACITY = 1024 * 1024;
+
+    private static final int MAGIC = 0x574C4F47; // "WLOG"
+    private static final int VERSION = 1;
+    private static final int POS_START = 8;
+    private static final int POS_END = 12;
+    private static final int POS_COUNT = 16;
+    private static final int HEADER_SIZE = 20;
+
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 1;
+    private static final int MAX_MESSAGE_BYTES = 4096;
+    private static final int WRAP = -1;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+
+    private int start;
+    private int end;
+    private int count;
+
+    private LogRingFile(@NonNull RandomAccessFile file, @NonNull MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    @NonNull
+    static LogRingFile open(@NonNull File path) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            if (file.length() != CAPACITY) {
+                file.setLength(CAPACITY);
+            }
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, CAPACITY);
+            LogRingFile ring = new LogRingFile(file, buffer);
+            if (!ring.readHeader()) {
+                ring.clear();
+            }
+            return ring;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    void append(long timestampMs, @NonNull LogLevel level, @NonNull String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        int textLength = Math.min(text.length, MAX_MESSAGE_BYTES);
+        int size = RECORD_HEADER_SIZE + textLength;
+
+        if (end + size > CAPACITY) {
+            // Drop the records left after end (the oldest ones), mark the tail and go back to the header
+            while (count > 0 && start >= end) {
+                evictOldest();
+            }
+            if (CAPACITY - end >= 4) {
+                buffer.putInt(end, WRAP);
+            }
+            end = HEADER_SIZE;
+            if (count == 0) {
+                start = HEADER_SIZE;
+            }
+        }
+        while (count > 0 && start >= end && start < end + size) {
+            evictOldest();
+        }
+        if (count == 0) {
+            start = end;
+        }
+        // Evictions are recorded before their bytes are overwritten (end still points after the last record)
+        buffer.putInt(POS_START, start);
+        buffer.putInt(POS_COUNT, count);
+
+        buffer.putInt(end, size - 4);
+        buffer.putLong(end + 4, timestampMs);
+        buffer.put(end + 12, (byte) level.ordinal());
+        for (int i = 0; i < textLength; i++) {
+            buffer.put(end + RECORD_HEADER_SIZE + i, text[i]);
+        }
+        end += size;
+        count++;
+        writeHeader();
+    }
+
+    /**
+     * Records from the oldest to the newest.
+     */
+    @NonNull
+    List<LogEntry> readAll() {
+        List<LogEntry> entries = new ArrayList<>(count);
+        LogLevel[] levels = LogLevel.values();
+        int position = start;
+        for (int i = 0; i < count; i++) {
+            position = recordAt(position);
+            int length = buffer.getInt(position);
+            long timestampMs = buffer.getLong(position + 4);
+            int level = buffer.get(position + 12);
+            byte[] text = new byte[length - (RECORD_HEADER_SIZE - 4)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = buffer.get(position + RECORD_HEADER_SIZE + j);
+            }
+            entries.add(new LogEntry(i, timestampMs,
+                    level >= 0 && level < levels.length ? levels[level] : LogLevel.INFO,
+                    new String(text, StandardCharsets.UTF_8)));
+            position += 4 + length;
+        }
+        return entries;
+    }
+
+    void clear() {
+        start = HEADER_SIZE;
+        end = HEADER_SIZE;
+        count = 0;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        writeHeader();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        file.close();
+    }
+
+    // start always points at the oldest record (never at a wrap marker)
+    private void evictOldest() {
+        start += 4 + buffer.getInt(start);
+        count--;
+        start = recordAt(start);
+    }
+
+    // Position of the record at or after position, following a wrap marker
+    private int recordAt(int position) {
+        if (CAPACITY - position < 4 || buffer.getInt(position) == WRAP) {
+            return HEADER_SIZE;
+        }
+        return position;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(POS_START, start);
+        buffer.putInt(POS_END, end);
+        buffer.putInt(POS_COUNT, count);
+    }
+
+    // False when the file is new or not a ring we can walk
+    private boolean readHeader() {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return false;
+        }
+        start = buffer.getInt(POS_START);
+        end = buffer.getInt(POS_END);
+        count = buffer.getInt(POS_COUNT);
+        if (start < HEADER_SIZE || start > CAPACITY || end < HEADER_SIZE || end > CAPACITY || count < 0) {
+            return false;
+        }
+        if (count > 0) {
+            start = recordAt(start);
+        }
+
+        int position = start;
+        for (int i = 0; i < count; i++) {
+            position = recordAt(position);
+            int length = buffer.getInt(position);
+            if (length < RECORD_HEADER_SIZE - 4 || length > RECORD_HEADER_SIZE - 4 + MAX_MESSAGE_BYTES
+                    || position + 4 + length > CAPACITY) {
+                return false;
+            }
+            position += 4 + length;
+        }
+        return count == 0 || position == end;
+    }
+}
@@ -1,9 +1,12 @@
 package fr.arthurbr02.wotscraper.ui;
 
+import android.content.ActivityNotFoundException;
+import android.content.Context;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -12,10 +15,18 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import fr.arthurbr02.wotscraper.R;
+import fr.arthurbr02.wotscraper.export.ExportIntentUtils;
 
 public class LogsFragment extends Fragment {
 
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
     private LogAdapter adapter;
 
     @Nullable
@@ -44,5 +55,44 @@ public class LogsFragment extends Fragment {
                 recycler.scrollToPosition(logs.size() - 1);
             }
         });
+
+        view.findViewById(R.id.btn_export_logs).setOnClickListener(v -> exportLogs());
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        executor.shutdownNow();
+    }
+
+    private void exportLogs() {
+        Context context = requireContext().getApplicationContext();
+        executor.execute(() -> {
+            File file;
+            try {
+                file = LogManager.getInstance().exportLogs(context);
+            } catch (IOException e) {
+                file = null;
+            }
+
+            File finalFile = file;
+            if (getActivity() == null) {
+                return;
+            }
+            requireActivity().runOnUiThread(() -> {
+                if (!isAdded()) {
+                    return;
+                }
+                if (finalFile == null) {
+                    Toast.makeText(requireContext(), "Export des logs échoué", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                try {
+                    startActivity(ExportIntentUtils.buildShareIntent(requireContext(), finalFile));
+                } catch (ActivityNotFoundException e) {
+                    Toast.makeText(requireContext(), "Aucune app pour partager", Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
     }
 }
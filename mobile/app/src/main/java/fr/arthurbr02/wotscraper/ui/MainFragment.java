@@ -22,7 +22,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import fr.arthurbr02.wotscraper.R;
-import fr.arthurbr02.wotscraper.export.ExportData;
 import fr.arthurbr02.wotscraper.export.ExportManager;
 import fr.arthurbr02.wotscraper.scraper.ScrapingPhase;
 import fr.arthurbr02.wotscraper.scraper.progress.ProgressManager;
@@ -204,7 +203,11 @@ public class MainFragment extends Fragment {
         long h = totalSeconds / 3600L;
         long m = (totalSeconds % 3600L) / 60L;
         long s = totalSeconds % 60L;
-        tvElapsed.setText(String.format("%s %02d:%02d:%02d", "Temps écoulé:", h, m, s));
+        String elapsed = String.format("%s %02d:%02d:%02d", "Temps écoulé:", h, m, s);
+        if (lastState.requestsPerSecond > 0d) {
+            elapsed += String.format(" · %.1f req/s", lastState.requestsPerSecond);
+        }
+        tvElapsed.setText(elapsed);
     }
 
     private void refreshFromDiskAsync() {
@@ -242,11 +245,11 @@ public class MainFragment extends Fragment {
 
                 final int step2Total = ps.getPendingArenaIds() != null ? ps.getPendingArenaIds().size() : 0;
                 final int step2Current = Math.min(step2Total, Math.max(0, ps.getCurrentArenaIndex()));
-                final int battleDetailsCount = ps.getBattleDetails() != null ? ps.getBattleDetails().size() : 0;
+                final int battleDetailsCount = ps.getBattleDetailsCount();
 
                 final int step3Total = ps.getPendingPlayerDetailIds() != null ? ps.getPendingPlayerDetailIds().size() : 0;
                 final int step3Current = Math.min(step3Total, Math.max(0, ps.getCurrentPlayerDetailIndex()));
-                final int playersCount = ps.getPlayers() != null ? ps.getPlayers().size() : 0;
+                final int playersCount = ps.getPlayersCount();
 
                 handler.post(() -> {
                     if (!isAdded() || token != refreshToken) {
@@ -278,8 +281,7 @@ public class MainFragment extends Fragment {
                 return;
             }
             ps.ensureInitialized();
-            ExportData data = new ExportData(ps.getCombinedBattles(), ps.getBattleDetails(), ps.getPlayers());
-            ExportManager.exportSnapshot(context, data);
+            ExportManager.exportSnapshot(context, ps.getCombinedBattles());
             Toast.makeText(context, "Export créé dans exports/", Toast.LENGTH_SHORT).show();
 
             View bottom = requireActivity().findViewById(R.id.bottom_nav);
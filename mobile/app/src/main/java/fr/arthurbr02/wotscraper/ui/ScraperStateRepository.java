@@ -59,4 +59,8 @@ public class ScraperStateRepository {
     public void setCounts(int battleDetailsCount, int playersCount) {
         state.postValue(getCurrent().withCounts(battleDetailsCount, playersCount));
     }
+
+    public void setRequestRate(double requestsPerSecond) {
+        state.postValue(getCurrent().withRequestRate(requestsPerSecond));
+    }
 }
@@ -26,6 +26,9 @@ public class ScraperUiState {
     public final int battleDetailsCount;
     public final int playersCount;
 
+    // Rate currently allowed by the API rate limiter (requests per second, 0 when unknown)
+    public final double requestsPerSecond;
+
     private ScraperUiState(
             boolean running,
             @NonNull ScrapingPhase phase,
@@ -40,7 +43,8 @@ public class ScraperUiState {
             int step3Total,
             @NonNull String step3Details,
             int battleDetailsCount,
-            int playersCount
+            int playersCount,
+            double requestsPerSecond
     ) {
         this.running = running;
         this.phase = phase;
@@ -56,6 +60,7 @@ public class ScraperUiState {
         this.step3Details = step3Details;
         this.battleDetailsCount = battleDetailsCount;
         this.playersCount = playersCount;
+        this.requestsPerSecond = requestsPerSecond;
     }
 
     @NonNull
@@ -74,7 +79,8 @@ public class ScraperUiState {
                 0,
                 "",
                 0,
-                0
+                0,
+                0d
         );
     }
 
@@ -94,7 +100,8 @@ public class ScraperUiState {
                 this.step3Total,
                 this.step3Details,
                 this.battleDetailsCount,
-                this.playersCount
+                this.playersCount,
+                this.requestsPerSecond
         );
     }
 
@@ -114,7 +121,8 @@ public class ScraperUiState {
                 this.step3Total,
                 this.step3Details,
                 this.battleDetailsCount,
-                this.playersCount
+                this.playersCount,
+                this.requestsPerSecond
         );
     }
 
@@ -134,7 +142,8 @@ public class ScraperUiState {
                 this.step3Total,
                 this.step3Details,
                 this.battleDetailsCount,
-                this.playersCount
+                this.playersCount,
+                this.requestsPerSecond
         );
     }
 
@@ -154,7 +163,8 @@ public class ScraperUiState {
                 this.step3Total,
                 this.step3Details,
                 this.battleDetailsCount,
-                this.playersCount
+                this.playersCount,
+                this.requestsPerSecond
         );
     }
 
@@ -174,7 +184,8 @@ public class ScraperUiState {
                 total,
                 details,
                 this.battleDetailsCount,
-                this.playersCount
+                this.playersCount,
+                this.requestsPerSecond
         );
     }
 
@@ -194,7 +205,29 @@ public class ScraperUiState {
                 this.step3Total,
                 this.step3Details,
                 battleDetailsCount,
-                playersCount
+                playersCount,
+                this.requestsPerSecond
+        );
+    }
+
+    @NonNull
+    public ScraperUiState withRequestRate(double requestsPerSecond) {
+        return new ScraperUiState(
+                this.running,
+                this.phase,
+                this.startedAtMs,
+                this.step1Current,
+                this.step1Total,
+                this.step1Details,
+                this.step2Current,
+                this.step2Total,
+                this.step2Details,
+                this.step3Current,
+                this.step3Total,
+                this.step3Details,
+                this.battleDetailsCount,
+                this.playersCount,
+                requestsPerSecond
         );
     }
 }
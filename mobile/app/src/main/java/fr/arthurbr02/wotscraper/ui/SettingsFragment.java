@@ -39,6 +39,9 @@ public class SettingsFragment extends Fragment {
         TextView tvTimeout = view.findViewById(R.id.tvTimeoutValue);
         SeekBar seekTimeout = view.findViewById(R.id.seekTimeout);
 
+        TextView tvWorkers = view.findViewById(R.id.tvFetchWorkersValue);
+        SeekBar seekWorkers = view.findViewById(R.id.seekFetchWorkers);
+
         EditText etCombinedBattlesPageSize = view.findViewById(R.id.etCombinedBattlesPageSize);
 
         EditText etPlayers = view.findViewById(R.id.etPlayersCount);
@@ -50,6 +53,8 @@ public class SettingsFragment extends Fragment {
         RadioButton rb200 = view.findViewById(R.id.rbSave200);
 
         SwitchMaterial swAuto = view.findViewById(R.id.swAutoExport);
+        SwitchMaterial swBinary = view.findViewById(R.id.swBinaryExport);
+        SwitchMaterial swPersistentLog = view.findViewById(R.id.swPersistentLog);
         SwitchMaterial swComplete = view.findViewById(R.id.swNotifComplete);
         SwitchMaterial swError = view.findViewById(R.id.swNotifError);
         SwitchMaterial swPhase = view.findViewById(R.id.swNotifPhase);
@@ -92,6 +97,24 @@ public class SettingsFragment extends Fragment {
             @Override public void onStopTrackingTouch(SeekBar seekBar) { }
         });
 
+        // Fetch workers: 1..8 mapped to 0..7
+        int workers = prefs.getFetchWorkers();
+        seekWorkers.setProgress(workers - 1);
+        tvWorkers.setText(String.valueOf(workers));
+        seekWorkers.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                int v = 1 + progress;
+                tvWorkers.setText(String.valueOf(v));
+                if (fromUser) {
+                    prefs.setFetchWorkers(v);
+                }
+            }
+
+            @Override public void onStartTrackingTouch(SeekBar seekBar) { }
+            @Override public void onStopTrackingTouch(SeekBar seekBar) { }
+        });
+
         etCombinedBattlesPageSize.setText(String.valueOf(prefs.getCombinedBattlesPageSize()));
         etCombinedBattlesPageSize.setOnFocusChangeListener((v, hasFocus) -> {
             if (hasFocus) {
@@ -149,6 +172,15 @@ public class SettingsFragment extends Fragment {
         swAuto.setChecked(prefs.isAutoExportEnabled());
         swAuto.setOnCheckedChangeListener((buttonView, isChecked) -> prefs.setAutoExportEnabled(isChecked));
 
+        swBinary.setChecked(prefs.isBinaryExportEnabled());
+        swBinary.setOnCheckedChangeListener((buttonView, isChecked) -> prefs.setBinaryExportEnabled(isChecked));
+
+        swPersistentLog.setChecked(prefs.isPersistentLogEnabled());
+        swPersistentLog.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            prefs.setPersistentLogEnabled(isChecked);
+            LogManager.getInstance().setPersistentLog(requireContext(), isChecked);
+        });
+
         swComplete.setChecked(prefs.isCompleteNotificationEnabled());
         swComplete.setOnCheckedChangeListener((buttonView, isChecked) -> prefs.setCompleteNotificationEnabled(isChecked));
 
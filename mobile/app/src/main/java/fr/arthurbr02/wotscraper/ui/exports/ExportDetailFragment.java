@@ -1,5 +1,6 @@
 package fr.arthurbr02.wotscraper.ui.exports;
 
+import android.app.Activity;
 import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
@@ -7,6 +8,8 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.inputmethod.EditorInfo;
+import android.widget.EditText;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
@@ -17,11 +20,14 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import android.provider.OpenableColumns;
 
@@ -49,11 +55,24 @@ public class ExportDetailFragment extends Fragment {
     }
 
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // Searches scan the whole file: kept apart so expanding nodes doesn't wait behind them
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+
+    // Set by the executor, read on the UI thread and on destroy
+    @Nullable private volatile JsonTreeParser parser;
+    private volatile boolean destroyed;
+    @Nullable private JsonTreeAdapter adapter;
+    private SearchHitAdapter searchAdapter;
+    @Nullable private Future<?> searchTask;
+    private int searchGeneration;
+    private int searchHitCount;
 
     private TextView title;
     private TextView meta;
     private ProgressBar progress;
     private RecyclerView recycler;
+    private TextView searchStatus;
+    private RecyclerView searchResults;
 
     @Nullable
     @Override
@@ -70,6 +89,18 @@ public class ExportDetailFragment extends Fragment {
 
         recycler.setLayoutManager(new LinearLayoutManager(requireContext()));
 
+        EditText searchInput = view.findViewById(R.id.search_input);
+        searchStatus = view.findViewById(R.id.search_status);
+        searchResults = view.findViewById(R.id.search_results);
+        searchAdapter = new SearchHitAdapter(this::jumpTo);
+        searchResults.setLayoutManager(new LinearLayoutManager(requireContext()));
+        searchResults.setAdapter(searchAdapter);
+        searchInput.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId != EditorInfo.IME_ACTION_SEARCH) return false;
+            search(v.getText().toString());
+            return true;
+        });
+
         Bundle args = getArguments();
         String path = args != null ? args.getString(ARG_PATH) : null;
         String uriStr = args != null ? args.getString(ARG_URI) : null;
@@ -105,26 +136,54 @@ public class ExportDetailFragment extends Fragment {
     @Override
     public void onDestroy() {
         super.onDestroy();
+        destroyed = true;
         executor.shutdownNow();
+        searchExecutor.shutdownNow();
+        JsonTreeParser p = parser;
+        if (p != null) {
+            p.close();
+        }
+    }
+
+    private interface ParserOpener {
+        @NonNull
+        JsonTreeParser open() throws IOException;
     }
 
     private void parse(@NonNull File file) {
+        Context context = requireContext().getApplicationContext();
+        parse(() -> JsonTreeParser.open(context, file));
+    }
+
+    private void parse(@NonNull Context context, @NonNull Uri uri) {
+        Context appContext = context.getApplicationContext();
+        parse(() -> JsonTreeParser.open(appContext, uri));
+    }
+
+    private void parse(@NonNull ParserOpener opener) {
         progress.setVisibility(View.VISIBLE);
         executor.execute(() -> {
             try {
-                List<JsonTreeNode> nodes = new JsonTreeParser().parse(file);
-                requireActivity().runOnUiThread(() -> {
+                JsonTreeParser opened = opener.open();
+                // The fragment outlives its view: a recreated view parses again, the previous copy is released
+                JsonTreeParser previous = parser;
+                parser = opened;
+                if (previous != null) {
+                    previous.close();
+                }
+                if (destroyed) {
+                    // onDestroy may have run before the field was set
+                    opened.close();
+                    return;
+                }
+                JsonTreeNode root = opened.parseRoot();
+                runOnUi(() -> {
                     progress.setVisibility(View.GONE);
-                    final JsonTreeAdapter[] ref = new JsonTreeAdapter[1];
-                    ref[0] = new JsonTreeAdapter(nodes, node -> {
-                        if (ref[0] != null) {
-                            ref[0].toggle(node);
-                        }
-                    });
-                    recycler.setAdapter(ref[0]);
+                    adapter = new JsonTreeAdapter(root, this::onToggle);
+                    recycler.setAdapter(adapter);
                 });
             } catch (Exception e) {
-                requireActivity().runOnUiThread(() -> {
+                runOnUi(() -> {
                     progress.setVisibility(View.GONE);
                     meta.setText(meta.getText() + "\nErreur parsing JSON");
                 });
@@ -132,30 +191,130 @@ public class ExportDetailFragment extends Fragment {
         });
     }
 
-    private void parse(@NonNull Context context, @NonNull Uri uri) {
+    private void onToggle(@NonNull JsonTreeNode node) {
+        JsonTreeAdapter a = adapter;
+        if (a == null) return;
+
+        if (node.expanded || node.isLoaded()) {
+            a.toggle(node);
+        } else {
+            loadChildren(node, () -> a.toggle(node));
+        }
+    }
+
+    // Parses the node's children from its offset, attaches them and runs then (unless a second tap got there first)
+    private void loadChildren(@NonNull JsonTreeNode node, @NonNull Runnable then) {
+        JsonTreeParser p = parser;
+        if (p == null) return;
+
         progress.setVisibility(View.VISIBLE);
         executor.execute(() -> {
             try {
-                List<JsonTreeNode> nodes = new JsonTreeParser().parse(context, uri);
-                requireActivity().runOnUiThread(() -> {
+                List<JsonTreeNode> children = p.loadChildren(node);
+                runOnUi(() -> {
                     progress.setVisibility(View.GONE);
-                    final JsonTreeAdapter[] ref = new JsonTreeAdapter[1];
-                    ref[0] = new JsonTreeAdapter(nodes, node -> {
-                        if (ref[0] != null) {
-                            ref[0].toggle(node);
-                        }
-                    });
-                    recycler.setAdapter(ref[0]);
+                    if (node.children == null) {
+                        node.children = children;
+                        then.run();
+                    }
                 });
             } catch (Exception e) {
-                requireActivity().runOnUiThread(() -> {
+                runOnUi(() -> {
                     progress.setVisibility(View.GONE);
-                    meta.setText(meta.getText() + "\nErreur parsing JSON");
+                    meta.setText(meta.getText() + "\nErreur lecture JSON");
                 });
             }
         });
     }
 
+    private void search(@NonNull String query) {
+        JsonTreeParser p = parser;
+        if (p == null) return;
+
+        Future<?> previous = searchTask;
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        int generation = ++searchGeneration;
+        searchHitCount = 0;
+        searchAdapter.clear();
+
+        if (query.trim().isEmpty()) {
+            searchStatus.setVisibility(View.GONE);
+            searchResults.setVisibility(View.GONE);
+            return;
+        }
+        searchStatus.setVisibility(View.VISIBLE);
+        searchStatus.setText(getString(R.string.export_search_running, 0, 0));
+        searchResults.setVisibility(View.VISIBLE);
+
+        searchTask = searchExecutor.submit(() -> {
+            try {
+                int found = new JsonTreeSearch(p.getFile(), query).run((hits, percent) -> runOnUi(() -> {
+                    // Batches of a cancelled search may already be queued
+                    if (generation != searchGeneration) return;
+                    searchAdapter.append(hits);
+                    searchHitCount += hits.size();
+                    searchStatus.setText(getString(R.string.export_search_running, percent, searchHitCount));
+                }));
+                runOnUi(() -> {
+                    if (generation != searchGeneration) return;
+                    searchStatus.setText(found >= JsonTreeSearch.MAX_HITS
+                            ? getString(R.string.export_search_limit, found)
+                            : getString(R.string.export_search_done, found));
+                });
+            } catch (InterruptedIOException ignored) {
+                // Replaced by a new search, or the viewer was closed
+            } catch (Exception e) {
+                runOnUi(() -> {
+                    if (generation != searchGeneration) return;
+                    searchStatus.setText("Erreur recherche");
+                });
+            }
+        });
+    }
+
+    // Expands the lazy tree along the hit's path, loading the missing levels, then scrolls to the hit
+    private void jumpTo(@NonNull JsonTreeSearch.Hit hit) {
+        JsonTreeAdapter a = adapter;
+        if (a == null) return;
+        expandPath(a, a.getRoot(), hit.path, 0);
+    }
+
+    private void expandPath(@NonNull JsonTreeAdapter a, @NonNull JsonTreeNode node, @NonNull int[] path, int level) {
+        if (level == path.length) {
+            a.setHighlighted(node);
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recycler.getLayoutManager();
+            if (layoutManager != null) {
+                layoutManager.scrollToPositionWithOffset(a.positionOf(node), 0);
+            }
+            return;
+        }
+        if (!node.isExpandable()) return;
+
+        List<JsonTreeNode> children = node.children;
+        if (children == null) {
+            loadChildren(node, () -> expandPath(a, node, path, level));
+            return;
+        }
+        if (!node.expanded) {
+            a.toggle(node);
+        }
+        if (path[level] < children.size()) {
+            expandPath(a, children.get(path[level]), path, level + 1);
+        }
+    }
+
+    private void runOnUi(@NonNull Runnable action) {
+        Activity activity = getActivity();
+        if (activity == null) return;
+        activity.runOnUiThread(() -> {
+            if (getView() != null) {
+                action.run();
+            }
+        });
+    }
+
     @NonNull
     private static String tryResolveDisplayName(@NonNull Context context, @NonNull Uri uri) {
         try (Cursor cursor = context.getContentResolver().query(uri, null, null, null, null)) {
@@ -0,0 +1,65 @@
+package fr.arthurbr02.wotscraper.ui.exports;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Fenwick (binary indexed) tree of ints: point updates, prefix sums and prefix-sum search in O(log n).
+ * JsonTreeAdapter keeps one per expanded node, over the number of rows shown by each child.
+ */
+final class FenwickTree {
+
+    private final int[] tree; // 1-based
+    private final int size;
+
+    // O(n) build from the initial values
+    FenwickTree(@NonNull int[] values) {
+        size = values.length;
+        tree = new int[size + 1];
+        for (int i = 1; i <= size; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int index, int delta) {
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Sum of the values at [0, end)
+    int prefixSum(int end) {
+        int sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    int total() {
+        return prefixSum(size);
+    }
+
+    /**
+     * Index i such that prefixSum(i) <= target < prefixSum(i + 1), values being non-negative.
+     * Returns size when target >= total().
+     */
+    int search(int target) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= size && tree[next] <= target) {
+                index = next;
+                target -= tree[next];
+            }
+        }
+        return index;
+    }
+}
@@ -1,5 +1,6 @@
 package fr.arthurbr02.wotscraper.ui.exports;
 
+import android.graphics.Color;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -7,12 +8,12 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import com.google.android.material.color.MaterialColors;
+
 import java.util.List;
-import java.util.Map;
 
 import fr.arthurbr02.wotscraper.R;
 
@@ -22,73 +23,113 @@ public class JsonTreeAdapter extends RecyclerView.Adapter<JsonTreeAdapter.VH> {
         void onToggle(@NonNull JsonTreeNode node);
     }
 
-    @NonNull private final List<JsonTreeNode> full;
-    @NonNull private final List<JsonTreeNode> visible;
-    @NonNull private final Map<Integer, JsonTreeNode> byIndex;
+    @NonNull private final JsonTreeNode root;
     @NonNull private final OnToggleListener onToggleListener;
+    @Nullable private JsonTreeNode highlighted;
 
+    /*
+     * No flat list of visible rows: each expanded node keeps a Fenwick tree of the rows shown by its children.
+     * Row lookups walk down from the root and toggles update the ancestors, both in O(depth · log n),
+     * so an expand costs O(children) for the new tree and a collapse does not depend on the subtree size.
+     */
     public JsonTreeAdapter(
-            @NonNull List<JsonTreeNode> full,
+            @NonNull JsonTreeNode root,
             @NonNull OnToggleListener onToggleListener
     ) {
-        this.full = full;
-        this.visible = new ArrayList<>();
-        this.byIndex = new HashMap<>();
-        for (JsonTreeNode n : full) {
-            byIndex.put(n.index, n);
-        }
+        this.root = root;
         this.onToggleListener = onToggleListener;
-        rebuildVisible();
-        setHasStableIds(true);
+        countRows(root);
     }
 
     @NonNull
-    public List<JsonTreeNode> getFull() {
-        return full;
+    public JsonTreeNode getRoot() {
+        return root;
     }
 
-    public void rebuildVisible() {
-        visible.clear();
-        if (full.isEmpty()) {
-            notifyDataSetChanged();
-            return;
+    private static void countRows(@NonNull JsonTreeNode node) {
+        node.rows = 1;
+        node.childRows = null;
+        if (!node.expanded || node.children == null) return;
+
+        for (JsonTreeNode child : node.children) {
+            countRows(child);
         }
+        buildChildRows(node);
+    }
 
-        // Always include root.
-        visible.add(full.get(0));
-        addChildrenIfExpanded(0);
-        notifyDataSetChanged();
+    private static void buildChildRows(@NonNull JsonTreeNode node) {
+        List<JsonTreeNode> children = node.children;
+        if (children == null) return;
+
+        int[] rows = new int[children.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = children.get(i).rows;
+        }
+        node.childRows = new FenwickTree(rows);
+        node.rows = 1 + node.childRows.total();
     }
 
-    private void addChildrenIfExpanded(int fullIndex) {
-        JsonTreeNode node = full.get(fullIndex);
-        if (!node.isExpandable() || !node.expanded) return;
-
-        int start = fullIndex + 1;
-        int end = node.endIndex;
-
-        int i = start;
-        while (i <= end) {
-            JsonTreeNode child = full.get(i);
-            visible.add(child);
-            if (child.isExpandable() && child.expanded) {
-                // include its subtree too
-                addChildrenIfExpanded(i);
-                i = child.endIndex + 1;
-            } else {
-                // skip collapsed subtree quickly
-                if (child.isExpandable() && !child.expanded) {
-                    i = child.endIndex + 1;
-                } else {
-                    i++;
-                }
+    @NonNull
+    private JsonTreeNode nodeAt(int position) {
+        JsonTreeNode node = root;
+        int remaining = position;
+        while (remaining > 0) {
+            FenwickTree childRows = node.childRows;
+            List<JsonTreeNode> children = node.children;
+            if (childRows == null || children == null) {
+                throw new IndexOutOfBoundsException("Position " + position + " of " + root.rows);
             }
+            remaining--; // the node's own row
+            int i = childRows.search(remaining);
+            remaining -= childRows.prefixSum(i);
+            node = children.get(i);
         }
+        return node;
     }
 
-    @Override
-    public long getItemId(int position) {
-        return visible.get(position).index;
+    public int positionOf(@NonNull JsonTreeNode node) {
+        int position = 0;
+        for (JsonTreeNode n = node; n.parent != null; n = n.parent) {
+            FenwickTree siblings = n.parent.childRows;
+            position += 1 + (siblings != null ? siblings.prefixSum(n.indexInParent) : 0);
+        }
+        return position;
+    }
+
+    /**
+     * True when all the node's ancestors are expanded, i.e. it has a row.
+     */
+    public boolean isVisible(@NonNull JsonTreeNode node) {
+        for (JsonTreeNode n = node; n.parent != null; n = n.parent) {
+            List<JsonTreeNode> siblings = n.parent.children;
+            if (!n.parent.expanded || siblings == null || siblings.get(n.indexInParent) != n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Search hit the viewer jumped to
+    public void setHighlighted(@Nullable JsonTreeNode node) {
+        JsonTreeNode previous = highlighted;
+        highlighted = node;
+        if (previous != null && isVisible(previous)) {
+            notifyItemChanged(positionOf(previous));
+        }
+        if (node != null && isVisible(node)) {
+            notifyItemChanged(positionOf(node));
+        }
+    }
+
+    // Adds delta to the rows of node's ancestors, up to the first collapsed one (whose row count stays 1)
+    private static void propagateRows(@NonNull JsonTreeNode node, int delta) {
+        for (JsonTreeNode n = node; n.parent != null; n = n.parent) {
+            JsonTreeNode parent = n.parent;
+            if (parent.childRows == null) return;
+            parent.childRows.add(n.indexInParent, delta);
+            if (!parent.expanded) return;
+            parent.rows += delta;
+        }
     }
 
     @NonNull
@@ -100,20 +141,17 @@ public class JsonTreeAdapter extends RecyclerView.Adapter<JsonTreeAdapter.VH> {
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        JsonTreeNode node = visible.get(position);
+        JsonTreeNode node = nodeAt(position);
 
         int padBase = holder.itemView.getResources().getDimensionPixelSize(R.dimen.json_indent_base);
         int pad = padBase * node.depth;
         holder.itemView.setPadding(pad, holder.itemView.getPaddingTop(), holder.itemView.getPaddingRight(), holder.itemView.getPaddingBottom());
 
-        String label;
-        if (node.key == null) {
-            label = node.kind == JsonTreeNode.Kind.ARRAY ? "root […]" : (node.kind == JsonTreeNode.Kind.OBJECT ? "root {…}" : "root");
-        } else {
-            label = node.key;
-        }
+        holder.itemView.setBackgroundColor(node == highlighted
+                ? MaterialColors.getColor(holder.itemView, com.google.android.material.R.attr.colorSecondaryContainer)
+                : Color.TRANSPARENT);
 
-        holder.key.setText(label);
+        holder.key.setText(node.label());
 
         if (node.kind == JsonTreeNode.Kind.VALUE) {
             holder.value.setVisibility(View.VISIBLE);
@@ -135,14 +173,39 @@ public class JsonTreeAdapter extends RecyclerView.Adapter<JsonTreeAdapter.VH> {
 
     @Override
     public int getItemCount() {
-        return visible.size();
+        return root.rows;
     }
 
     public void toggle(@NonNull JsonTreeNode node) {
         if (!node.isExpandable()) return;
 
-        node.expanded = !node.expanded;
-        rebuildVisible();
+        int position = positionOf(node);
+        if (node.expanded) {
+            int removed = node.rows - 1;
+            node.expanded = false;
+            node.rows = 1;
+            if (node.depth >= JsonTreeParser.INDEX_DEPTH) {
+                // Parsed on expand: released on collapse and parsed again from its offset next time
+                node.children = null;
+                node.childRows = null;
+            }
+            propagateRows(node, -removed);
+            notifyItemChanged(position);
+            notifyItemRangeRemoved(position + 1, removed);
+        } else {
+            List<JsonTreeNode> children = node.children;
+            if (children == null) return; // the caller loads them first
+            node.expanded = true;
+            if (node.childRows == null || node.childRows.size() != children.size()) {
+                buildChildRows(node);
+            } else {
+                node.rows = 1 + node.childRows.total();
+            }
+            int added = node.rows - 1;
+            propagateRows(node, added);
+            notifyItemChanged(position);
+            notifyItemRangeInserted(position + 1, added);
+        }
     }
 
     static class VH extends RecyclerView.ViewHolder {
@@ -3,6 +3,8 @@ package fr.arthurbr02.wotscraper.ui.exports;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.List;
+
 public class JsonTreeNode {
 
     public enum Kind {
@@ -11,32 +13,56 @@ public class JsonTreeNode {
         VALUE
     }
 
-    public final int index;
+    @Nullable public final JsonTreeNode parent;
+    public final int indexInParent;
     public final int depth;
-    @Nullable public final String key;
+    @Nullable public final String key; // null for the root and array elements
     @NonNull public final Kind kind;
     @Nullable public final String valuePreview;
 
+    // Byte offset of the container's first token in the viewed JSON file, -1 for values
+    public final long offset;
+
+    // Null until loaded from offset by JsonTreeParser.loadChildren
+    @Nullable public List<JsonTreeNode> children;
+
     public boolean expanded;
-    public int endIndex; // inclusive in full list
+
+    // Rows shown by this node and its expanded descendants, and per child once expanded (JsonTreeAdapter)
+    int rows = 1;
+    @Nullable FenwickTree childRows;
 
     public JsonTreeNode(
-            int index,
-            int depth,
+            @Nullable JsonTreeNode parent,
+            int indexInParent,
             @Nullable String key,
             @NonNull Kind kind,
-            @Nullable String valuePreview
+            @Nullable String valuePreview,
+            long offset
     ) {
-        this.index = index;
-        this.depth = depth;
+        this.parent = parent;
+        this.indexInParent = indexInParent;
+        this.depth = parent != null ? parent.depth + 1 : 0;
         this.key = key;
         this.kind = kind;
         this.valuePreview = valuePreview;
+        this.offset = offset;
         this.expanded = false;
-        this.endIndex = index;
     }
 
     public boolean isExpandable() {
         return kind == Kind.OBJECT || kind == Kind.ARRAY;
     }
+
+    public boolean isLoaded() {
+        return !isExpandable() || children != null;
+    }
+
+    @NonNull
+    public String label() {
+        if (parent == null) {
+            return kind == Kind.ARRAY ? "root […]" : (kind == Kind.OBJECT ? "root {…}" : "root");
+        }
+        return key != null ? key : "[" + indexInParent + "]";
+    }
 }
@@ -1,222 +1,225 @@
 package fr.arthurbr02.wotscraper.ui.exports;
 
 import android.content.Context;
-import android.util.JsonReader;
-
-import androidx.annotation.Nullable;
+import android.net.Uri;
 
 import androidx.annotation.NonNull;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
-import android.net.Uri;
+import fr.arthurbr02.wotscraper.util.SmileFormat;
 
-public class JsonTreeParser {
+/**
+ * Lazy JSON tree over an export file.
+ *
+ * parseRoot() streams the file once and only builds the nodes down to INDEX_DEPTH; deeper containers just
+ * keep the byte offset of their first token. loadChildren() seeks to that offset and parses one level when
+ * the node is expanded, so memory depends on what is expanded, not on the file size.
+ * Offsets need a plain JSON file: Smile exports and content URIs are first streamed into a cache file.
+ */
+public class JsonTreeParser implements Closeable {
 
-    private static class Frame {
-        @NonNull final JsonTreeNode.Kind kind;
-        final int nodeIndex;
-        int arrayIndex;
+    // Only the root's children (1) are built by the first pass: the record lists under them are loaded on expand,
+    // so opening a large export doesn't build a node per record
+    static final int INDEX_DEPTH = 1;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int PREVIEW_MAX_LENGTH = 120;
 
-        Frame(@NonNull JsonTreeNode.Kind kind, int nodeIndex) {
-            this.kind = kind;
-            this.nodeIndex = nodeIndex;
-            this.arrayIndex = 0;
-        }
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    @NonNull private final File file;
+    private final boolean temporary;
+
+    private JsonTreeParser(@NonNull File file, boolean temporary) {
+        this.file = file;
+        this.temporary = temporary;
     }
 
     @NonNull
-    public List<JsonTreeNode> parse(@NonNull File file) throws IOException {
+    public static JsonTreeParser open(@NonNull Context context, @NonNull File file) throws IOException {
+        if (!SmileFormat.isSmile(file)) {
+            return new JsonTreeParser(file, false);
+        }
         try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file))) {
-            return parseStream(bis);
+            return copyToCache(context, bis);
         }
     }
 
     @NonNull
-    public List<JsonTreeNode> parse(@NonNull Context context, @NonNull Uri uri) throws IOException {
+    public static JsonTreeParser open(@NonNull Context context, @NonNull Uri uri) throws IOException {
         InputStream in = context.getContentResolver().openInputStream(uri);
         if (in == null) {
             throw new IOException("Unable to open stream for uri: " + uri);
         }
         try (BufferedInputStream bis = new BufferedInputStream(in)) {
-            return parseStream(bis);
+            return copyToCache(context, bis);
         }
     }
 
     @NonNull
-    private List<JsonTreeNode> parseStream(@NonNull InputStream inputStream) throws IOException {
-        List<JsonTreeNode> nodes = new ArrayList<>();
-        Deque<Frame> stack = new ArrayDeque<>();
-
-        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            reader.setLenient(true);
-
-            switch (reader.peek()) {
-                case BEGIN_OBJECT: {
-                    int rootIndex = addNode(nodes, 0, null, JsonTreeNode.Kind.OBJECT, "{…}");
-                    nodes.get(rootIndex).expanded = true;
-                    stack.push(new Frame(JsonTreeNode.Kind.OBJECT, rootIndex));
-                    reader.beginObject();
-                    readObject(reader, nodes, stack, 1);
-                    reader.endObject();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                case BEGIN_ARRAY: {
-                    int rootIndex = addNode(nodes, 0, null, JsonTreeNode.Kind.ARRAY, "[…]");
-                    nodes.get(rootIndex).expanded = true;
-                    stack.push(new Frame(JsonTreeNode.Kind.ARRAY, rootIndex));
-                    reader.beginArray();
-                    readArray(reader, nodes, stack, 1);
-                    reader.endArray();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                default: {
-                    // Single primitive JSON
-                    addNode(nodes, 0, null, JsonTreeNode.Kind.VALUE, previewPrimitive(reader));
-                    break;
-                }
+    private static JsonTreeParser copyToCache(@NonNull Context context, @NonNull BufferedInputStream in) throws IOException {
+        File target = File.createTempFile("export_view", SmileFormat.JSON_EXTENSION, context.getCacheDir());
+        try (InputStream json = SmileFormat.asJson(in);
+             OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = json.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
             }
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            target.delete();
+            throw e;
         }
+        return new JsonTreeParser(target, true);
+    }
 
-        while (!stack.isEmpty()) {
-            closeContainer(nodes, stack.pop());
-        }
+    /**
+     * Plain JSON file the offsets refer to.
+     */
+    @NonNull
+    public File getFile() {
+        return file;
+    }
 
-        return nodes;
+    @NonNull
+    public JsonTreeNode parseRoot() throws IOException {
+        try (JsonParser parser = FACTORY.createParser(file)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Empty JSON");
+            }
+            JsonTreeNode root = newNode(parser, token, null, 0, null, 0L);
+            if (root.isExpandable()) {
+                root.children = readChildren(parser, root, 0L, INDEX_DEPTH);
+                root.expanded = true;
+            }
+            return root;
+        }
     }
 
-    private void readObject(
-            @NonNull JsonReader reader,
-            @NonNull List<JsonTreeNode> nodes,
-            @NonNull Deque<Frame> stack,
-            int depth
-    ) throws IOException {
-        while (reader.hasNext()) {
-            String name = reader.nextName();
-            switch (reader.peek()) {
-                case BEGIN_OBJECT: {
-                    int idx = addNode(nodes, depth, name, JsonTreeNode.Kind.OBJECT, "{…}");
-                    stack.push(new Frame(JsonTreeNode.Kind.OBJECT, idx));
-                    reader.beginObject();
-                    readObject(reader, nodes, stack, depth + 1);
-                    reader.endObject();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                case BEGIN_ARRAY: {
-                    int idx = addNode(nodes, depth, name, JsonTreeNode.Kind.ARRAY, "[…]");
-                    stack.push(new Frame(JsonTreeNode.Kind.ARRAY, idx));
-                    reader.beginArray();
-                    readArray(reader, nodes, stack, depth + 1);
-                    reader.endArray();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                default: {
-                    String value = previewPrimitive(reader);
-                    addNode(nodes, depth, name, JsonTreeNode.Kind.VALUE, value);
-                    break;
+    /**
+     * Parses the direct children of a container node from its offset. The result is not attached to the node,
+     * the caller sets node.children on the thread that owns the tree.
+     */
+    @NonNull
+    public List<JsonTreeNode> loadChildren(@NonNull JsonTreeNode node) throws IOException {
+        if (!node.isExpandable() || node.offset < 0) {
+            throw new IllegalArgumentException("Node has no offset: " + node.label());
+        }
+        try (FileInputStream in = new FileInputStream(file)) {
+            in.getChannel().position(node.offset);
+            try (JsonParser parser = FACTORY.createParser(in)) {
+                JsonToken token = parser.nextToken();
+                if (token != (node.kind == JsonTreeNode.Kind.OBJECT ? JsonToken.START_OBJECT : JsonToken.START_ARRAY)) {
+                    throw new IOException("Unexpected token " + token + " at offset " + node.offset);
                 }
+                return readChildren(parser, node, node.offset, 1);
             }
         }
     }
 
-    private void readArray(
-            @NonNull JsonReader reader,
-            @NonNull List<JsonTreeNode> nodes,
-            @NonNull Deque<Frame> stack,
-            int depth
+    @Override
+    public void close() {
+        if (temporary) {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    // The parser is on the container's start token; reads up to its end token, building `levels` levels of nodes
+    @NonNull
+    private static List<JsonTreeNode> readChildren(
+            @NonNull JsonParser parser,
+            @NonNull JsonTreeNode node,
+            long baseOffset,
+            int levels
     ) throws IOException {
-        Frame current = stack.peek();
-        if (current == null) return;
-
-        while (reader.hasNext()) {
-            String key = "[" + current.arrayIndex + "]";
-            switch (reader.peek()) {
-                case BEGIN_OBJECT: {
-                    int idx = addNode(nodes, depth, key, JsonTreeNode.Kind.OBJECT, "{…}");
-                    current.arrayIndex++;
-                    stack.push(new Frame(JsonTreeNode.Kind.OBJECT, idx));
-                    reader.beginObject();
-                    readObject(reader, nodes, stack, depth + 1);
-                    reader.endObject();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                case BEGIN_ARRAY: {
-                    int idx = addNode(nodes, depth, key, JsonTreeNode.Kind.ARRAY, "[…]");
-                    current.arrayIndex++;
-                    stack.push(new Frame(JsonTreeNode.Kind.ARRAY, idx));
-                    reader.beginArray();
-                    readArray(reader, nodes, stack, depth + 1);
-                    reader.endArray();
-                    closeContainer(nodes, stack.pop());
-                    break;
-                }
-                default: {
-                    String value = previewPrimitive(reader);
-                    addNode(nodes, depth, key, JsonTreeNode.Kind.VALUE, value);
-                    current.arrayIndex++;
-                    break;
+        List<JsonTreeNode> children = new ArrayList<>();
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Truncated JSON in " + node.label());
+            }
+            if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                return children;
+            }
+
+            String key = null;
+            if (token == JsonToken.FIELD_NAME) {
+                key = parser.currentName();
+                token = parser.nextToken();
+            }
+
+            JsonTreeNode child = newNode(parser, token, node, children.size(), key, baseOffset);
+            children.add(child);
+            if (child.isExpandable()) {
+                if (levels > 1) {
+                    child.children = readChildren(parser, child, baseOffset, levels - 1);
+                } else {
+                    parser.skipChildren();
                 }
             }
         }
     }
 
-    private static int addNode(
-            @NonNull List<JsonTreeNode> nodes,
-            int depth,
+    @NonNull
+    private static JsonTreeNode newNode(
+            @NonNull JsonParser parser,
+            @NonNull JsonToken token,
+            JsonTreeNode parent,
+            int indexInParent,
             String key,
-            @NonNull JsonTreeNode.Kind kind,
-            String valuePreview
-    ) {
-        int index = nodes.size();
-        nodes.add(new JsonTreeNode(index, depth, key, kind, valuePreview));
-        return index;
-    }
-
-    private static void closeContainer(@NonNull List<JsonTreeNode> nodes, @NonNull Frame frame) {
-        if (frame.nodeIndex >= 0 && frame.nodeIndex < nodes.size()) {
-            nodes.get(frame.nodeIndex).endIndex = nodes.size() - 1;
+            long baseOffset
+    ) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY: {
+                long offset = baseOffset + parser.currentTokenLocation().getByteOffset();
+                JsonTreeNode.Kind kind = token == JsonToken.START_OBJECT ? JsonTreeNode.Kind.OBJECT : JsonTreeNode.Kind.ARRAY;
+                return new JsonTreeNode(parent, indexInParent, key, kind, null, offset);
+            }
+            default:
+                return new JsonTreeNode(parent, indexInParent, key, JsonTreeNode.Kind.VALUE, previewPrimitive(parser, token), -1L);
         }
     }
 
     @NonNull
-    private static String previewPrimitive(@NonNull JsonReader reader) throws IOException {
-        switch (reader.peek()) {
-            case STRING:
-                String s = reader.nextString();
-                return quoteAndTruncate(s);
-            case NUMBER:
-                return reader.nextString();
-            case BOOLEAN:
-                return String.valueOf(reader.nextBoolean());
-            case NULL:
-                reader.nextNull();
+    private static String previewPrimitive(@NonNull JsonParser parser, @NonNull JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return quoteAndTruncate(parser.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getText();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NULL:
                 return "null";
             default:
-                // Fallback: try to skip.
-                reader.skipValue();
                 return "";
         }
     }
 
     @NonNull
-    private static String quoteAndTruncate(@NonNull String s) {
-        int max = 120;
-        String trimmed = s.length() > max ? (s.substring(0, max) + "…") : s;
+    static String quoteAndTruncate(@NonNull String s) {
+        String trimmed = s.length() > PREVIEW_MAX_LENGTH ? (s.substring(0, PREVIEW_MAX_LENGTH) + "…") : s;
         return "\"" + trimmed.replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t") + "\"";
     }
 }
@@ -0,0 +1,195 @@
+package fr.arthurbr02.wotscraper.ui.exports;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming search in the file of a JsonTreeParser, without building the tree.
+ *
+ * Matches object keys and string values containing the query (ignoring case), and numbers equal to it
+ * (ids: "123" does not match every stat containing those digits). Each hit carries the child indices from
+ * the root, the same as JsonTreeNode.indexInParent, so the viewer can expand the lazy tree down to it.
+ */
+public class JsonTreeSearch {
+
+    public static final int MAX_HITS = 500;
+    private static final long PUBLISH_INTERVAL_MS = 150;
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    public interface Listener {
+        // Called on the searching thread with the hits found since the previous call
+        void onHits(@NonNull List<Hit> hits, int percent);
+    }
+
+    public static final class Hit {
+        @NonNull public final int[] path;
+        @NonNull public final String label;
+        @NonNull public final String valuePreview;
+
+        Hit(@NonNull int[] path, @NonNull String label, @NonNull String valuePreview) {
+            this.path = path;
+            this.label = label;
+            this.valuePreview = valuePreview;
+        }
+    }
+
+    @NonNull private final File file;
+    @NonNull private final String query;
+
+    // Open containers: kind, index of the current child, key of the current member (objects)
+    private boolean[] isArray = new boolean[16];
+    private int[] childIndex = new int[16];
+    private String[] childKey = new String[16];
+    private int depth;
+
+    public JsonTreeSearch(@NonNull File file, @NonNull String query) {
+        this.file = file;
+        this.query = query.trim();
+    }
+
+    /**
+     * Scans the whole file, reporting hits by batches. Stops after MAX_HITS hits, or with an
+     * InterruptedIOException when the thread is interrupted (new search, viewer closed).
+     *
+     * @return number of hits
+     */
+    public int run(@NonNull Listener listener) throws IOException {
+        if (query.isEmpty()) {
+            listener.onHits(new ArrayList<>(), 100);
+            return 0;
+        }
+
+        long total = Math.max(1L, file.length());
+        List<Hit> pending = new ArrayList<>();
+        int found = 0;
+        long lastPublish = SystemClock.elapsedRealtime();
+        boolean keyMatched = false;
+        depth = 0;
+
+        try (JsonParser parser = FACTORY.createParser(file)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && found < MAX_HITS) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Search cancelled");
+                }
+
+                switch (token) {
+                    case FIELD_NAME: {
+                        String key = parser.currentName();
+                        childIndex[depth - 1]++;
+                        childKey[depth - 1] = key;
+                        keyMatched = containsIgnoreCase(key, query);
+                        continue;
+                    }
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        depth--;
+                        continue;
+                    default:
+                        break;
+                }
+
+                // A value: the root, an array element or the value of the member just named
+                if (depth > 0 && isArray[depth - 1]) {
+                    childIndex[depth - 1]++;
+                }
+                boolean container = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+                if (keyMatched || (!container && valueMatches(parser, token))) {
+                    pending.add(new Hit(Arrays.copyOf(childIndex, depth), label(),
+                            container ? (token == JsonToken.START_OBJECT ? "{…}" : "[…]") : preview(parser, token)));
+                    found++;
+                }
+                keyMatched = false;
+                if (container) {
+                    push(token == JsonToken.START_ARRAY);
+                }
+
+                long now = SystemClock.elapsedRealtime();
+                if (!pending.isEmpty() && now - lastPublish >= PUBLISH_INTERVAL_MS) {
+                    listener.onHits(pending, percent(parser, total));
+                    pending = new ArrayList<>();
+                    lastPublish = now;
+                }
+            }
+        }
+        listener.onHits(pending, 100);
+        return found;
+    }
+
+    private void push(boolean array) {
+        if (depth == isArray.length) {
+            isArray = Arrays.copyOf(isArray, depth * 2);
+            childIndex = Arrays.copyOf(childIndex, depth * 2);
+            childKey = Arrays.copyOf(childKey, depth * 2);
+        }
+        isArray[depth] = array;
+        childIndex[depth] = -1;
+        childKey[depth] = null;
+        depth++;
+    }
+
+    private boolean valueMatches(@NonNull JsonParser parser, @NonNull JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return containsIgnoreCase(parser.getText(), query);
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return query.equals(parser.getText());
+            default:
+                return false;
+        }
+    }
+
+    @NonNull
+    private static String preview(@NonNull JsonParser parser, @NonNull JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_STRING ? JsonTreeParser.quoteAndTruncate(parser.getText()) : parser.getText();
+    }
+
+    // "players › [12] › data › nickname"
+    @NonNull
+    private String label() {
+        if (depth == 0) {
+            return "root";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            if (i > 0) {
+                sb.append(" › ");
+            }
+            if (isArray[i]) {
+                sb.append('[').append(childIndex[i]).append(']');
+            } else {
+                sb.append(childKey[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int percent(@NonNull JsonParser parser, long total) {
+        long read = parser.currentLocation().getByteOffset();
+        return (int) Math.min(100L, Math.max(0L, read * 100L / total));
+    }
+
+    private static boolean containsIgnoreCase(@NonNull String text, @NonNull String query) {
+        int max = text.length() - query.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package fr.arthurbr02.wotscraper.ui.exports;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.R;
+
+public class SearchHitAdapter extends RecyclerView.Adapter<SearchHitAdapter.VH> {
+
+    public interface OnHitClickListener {
+        void onHitClick(@NonNull JsonTreeSearch.Hit hit);
+    }
+
+    private final List<JsonTreeSearch.Hit> items = new ArrayList<>();
+    @NonNull private final OnHitClickListener onHitClickListener;
+
+    public SearchHitAdapter(@NonNull OnHitClickListener onHitClickListener) {
+        this.onHitClickListener = onHitClickListener;
+    }
+
+    public void clear() {
+        int count = items.size();
+        items.clear();
+        notifyItemRangeRemoved(0, count);
+    }
+
+    // Hits arrive by batches while the file is scanned
+    public void append(@NonNull List<JsonTreeSearch.Hit> hits) {
+        int start = items.size();
+        items.addAll(hits);
+        notifyItemRangeInserted(start, hits.size());
+    }
+
+    @NonNull
+    @Override
+    public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View v = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_search_hit, parent, false);
+        return new VH(v);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull VH holder, int position) {
+        JsonTreeSearch.Hit hit = items.get(position);
+        holder.path.setText(hit.label);
+        holder.value.setText(hit.valuePreview);
+        holder.itemView.setOnClickListener(v -> onHitClickListener.onHitClick(hit));
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    static final class VH extends RecyclerView.ViewHolder {
+        final TextView path;
+        final TextView value;
+
+        VH(@NonNull View itemView) {
+            super(itemView);
+            path = itemView.findViewById(R.id.path);
+            value = itemView.findViewById(R.id.value);
+        }
+    }
+}
@@ -12,6 +12,7 @@ public class PreferencesManager {
     // Keep keys aligned with PLAN_IMPLEMENTATION.md (Phase 3) for consistency.
     private static final String KEY_REQUEST_DELAY_MS = "pref_request_delay";
     private static final String KEY_TIMEOUT_SECONDS = "pref_timeout";
+    private static final String KEY_FETCH_WORKERS = "pref_fetch_workers";
     private static final String KEY_MAX_PLAYERS = "pref_players_count";
     private static final String KEY_INITIAL_PLAYER_ID = "pref_initial_player";
     private static final String KEY_SAVE_FREQUENCY = "pref_save_frequency";
@@ -19,6 +20,8 @@ public class PreferencesManager {
     private static final String KEY_COMBINED_BATTLES_PAGE_SIZE = "pref_combined_battles_page_size";
 
     private static final String KEY_AUTO_EXPORT = "pref_auto_export";
+    private static final String KEY_BINARY_EXPORT = "pref_export_binary";
+    private static final String KEY_PERSISTENT_LOG = "pref_persistent_log";
     private static final String KEY_NOTIF_COMPLETE = "pref_notif_complete";
     private static final String KEY_NOTIF_ERROR = "pref_notif_error";
     private static final String KEY_NOTIF_PHASE = "pref_notif_phase";
@@ -39,6 +42,17 @@ public class PreferencesManager {
         prefs.edit().putLong(KEY_REQUEST_DELAY_MS, value).apply();
     }
 
+    /**
+     * Number of requests kept in flight by the battle details / player details loops (1..8).
+     */
+    public int getFetchWorkers() {
+        return Math.max(1, Math.min(8, prefs.getInt(KEY_FETCH_WORKERS, 4)));
+    }
+
+    public void setFetchWorkers(int value) {
+        prefs.edit().putInt(KEY_FETCH_WORKERS, Math.max(1, Math.min(8, value))).apply();
+    }
+
     public int getMaxPlayers() {
         return prefs.getInt(KEY_MAX_PLAYERS, 100);
     }
@@ -97,6 +111,25 @@ public class PreferencesManager {
         prefs.edit().putBoolean(KEY_AUTO_EXPORT, value).apply();
     }
 
+    public boolean isBinaryExportEnabled() {
+        return prefs.getBoolean(KEY_BINARY_EXPORT, false);
+    }
+
+    public void setBinaryExportEnabled(boolean value) {
+        prefs.edit().putBoolean(KEY_BINARY_EXPORT, value).apply();
+    }
+
+    /**
+     * Logs also kept in a file that survives the process, for debugging.
+     */
+    public boolean isPersistentLogEnabled() {
+        return prefs.getBoolean(KEY_PERSISTENT_LOG, false);
+    }
+
+    public void setPersistentLogEnabled(boolean value) {
+        prefs.edit().putBoolean(KEY_PERSISTENT_LOG, value).apply();
+    }
+
     public boolean isCompleteNotificationEnabled() {
         return prefs.getBoolean(KEY_NOTIF_COMPLETE, true);
     }
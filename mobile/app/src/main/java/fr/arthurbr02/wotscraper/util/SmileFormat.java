@@ -0,0 +1,108 @@
+package fr.arthurbr02.wotscraper.util;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Arrays;
+
+/**
+ * Smile format (Jackson's binary JSON) for exports and progress, with the same schema as the JSON.
+ *
+ * Field names and repeated short values are written once and then referenced, so the files are
+ * several times smaller and faster to write and read back. Gson reads and writes these files
+ * through SmileJsonReader / SmileJsonWriter; the format is picked from the file extension.
+ */
+public final class SmileFormat {
+    public static final String EXTENSION = ".smile";
+    public static final String JSON_EXTENSION = ".json";
+
+    private static final String TAG = "SmileFormat";
+    // ":)\n" header written at the start of every Smile document
+    private static final byte[] HEADER = {':', ')', '\n'};
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+    static final SmileFactory FACTORY = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SmileFormat() {
+    }
+
+    public static boolean isSmile(@NonNull File file) {
+        return isSmile(file.getName());
+    }
+
+    public static boolean isSmile(@NonNull String fileName) {
+        return fileName.toLowerCase().endsWith(EXTENSION);
+    }
+
+    /**
+     * Copies a Smile document as text JSON, token by token (for the viewer).
+     */
+    public static void transcodeToJson(@NonNull InputStream smile, @NonNull OutputStream json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+            generator.flush();
+        }
+    }
+
+    /**
+     * Returns a text JSON stream: in itself, or its on-the-fly transcription when it starts with the Smile header
+     * (the transcription runs on a dedicated thread, so the document is never fully in memory).
+     */
+    @NonNull
+    public static InputStream asJson(@NonNull BufferedInputStream in) throws IOException {
+        in.mark(HEADER.length);
+        byte[] header = new byte[HEADER.length];
+        int read = 0;
+        while (read < header.length) {
+            int n = in.read(header, read, header.length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        in.reset();
+        if (read < header.length || !Arrays.equals(header, HEADER)) {
+            return in;
+        }
+
+        PipedInputStream json = new PipedInputStream(PIPE_BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(json);
+        Thread transcoder = new Thread(() -> {
+            try (OutputStream o = out) {
+                transcodeToJson(in, o);
+            } catch (IOException e) {
+                // Reader closed early or truncated file: the JSON parser will see the end of the stream
+                Log.w(TAG, "Smile transcoding stopped", e);
+            }
+        }, "SmileTranscoder");
+        transcoder.setDaemon(true);
+        transcoder.start();
+        return json;
+    }
+
+    static boolean isStructureEnd(JsonToken token) {
+        return token == null || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY;
+    }
+}
@@ -0,0 +1,214 @@
+package fr.arthurbr02.wotscraper.util;
+
+import androidx.annotation.NonNull;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Gson JsonReader that reads Smile: tokens are read by Jackson's SmileParser
+ * (same approach as Gson's JsonTreeReader). Usage: gson.fromJson(reader, type).
+ *
+ * Non-String Map keys (promoteNameToValue) are not supported: no model uses them.
+ */
+public class SmileJsonReader extends JsonReader {
+    private static final Reader UNREADABLE_READER = new Reader() {
+        @Override
+        public int read(@NonNull char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonParser parser;
+    // Current Jackson token, null once consumed
+    private com.fasterxml.jackson.core.JsonToken current;
+
+    public SmileJsonReader(@NonNull InputStream in) throws IOException {
+        super(UNREADABLE_READER);
+        this.parser = SmileFormat.FACTORY.createParser(in);
+    }
+
+    private com.fasterxml.jackson.core.JsonToken current() throws IOException {
+        if (current == null) {
+            current = parser.nextToken();
+        }
+        return current;
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + token + " at " + getPath());
+        }
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        com.fasterxml.jackson.core.JsonToken token = current();
+        if (token == null) {
+            return JsonToken.END_DOCUMENT;
+        }
+        switch (token) {
+            case START_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case START_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case FIELD_NAME:
+                return JsonToken.NAME;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JsonToken.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonToken.BOOLEAN;
+            case VALUE_NULL:
+                return JsonToken.NULL;
+            default:
+                return JsonToken.STRING;
+        }
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        current = null;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        current = null;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        current = null;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        current = null;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return !SmileFormat.isStructureEnd(current());
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        String name = parser.currentName();
+        current = null;
+        return name;
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new IllegalStateException("Expected STRING but was " + token + " at " + getPath());
+        }
+        String value = parser.getText();
+        current = null;
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        boolean value = current == com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
+        current = null;
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        current = null;
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        double value;
+        if (token == JsonToken.NUMBER) {
+            value = parser.getDoubleValue();
+        } else if (token == JsonToken.STRING) {
+            value = Double.parseDouble(parser.getText());
+        } else {
+            throw new IllegalStateException("Expected NUMBER but was " + token + " at " + getPath());
+        }
+        current = null;
+        return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        long value;
+        if (current() == com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT) {
+            value = parser.getLongValue();
+            current = null;
+        } else {
+            // Same leniency as Gson: exact decimal number or numeric string
+            double asDouble = nextDouble();
+            value = (long) asDouble;
+            if (value != asDouble) {
+                throw new NumberFormatException("Expected a long but was " + asDouble + " at " + getPath());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw new NumberFormatException("Expected an int but was " + value + " at " + getPath());
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        if (current() == com.fasterxml.jackson.core.JsonToken.FIELD_NAME) {
+            current = null;
+            current();
+        }
+        if (current == com.fasterxml.jackson.core.JsonToken.START_OBJECT || current == com.fasterxml.jackson.core.JsonToken.START_ARRAY) {
+            parser.skipChildren();
+        }
+        current = null;
+    }
+
+    @Override
+    public String getPath() {
+        return "$" + parser.getParsingContext().pathAsPointer();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " at " + getPath();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,55 @@
+package fr.arthurbr02.wotscraper.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded dictionary of canonical strings for one model field (map names, nations, tanks...).
+ *
+ * Gson creates a new String for every value it reads, so the few hundred distinct values of these
+ * fields are duplicated in every battle and every player. The model adapters (see ModelJson) read
+ * those fields through intern, which returns the instance already known.
+ *
+ * The dictionary is bounded: once full, new values are returned as is, so a field with an
+ * unexpectedly high cardinality cannot grow the heap without limit. Thread-safe.
+ */
+public final class StringDictionary {
+    public static final StringDictionary MAP_NAMES = new StringDictionary(1024);
+    public static final StringDictionary BATTLE_TYPES = new StringDictionary(256);
+    public static final StringDictionary GAME_VERSIONS = new StringDictionary(1024);
+    public static final StringDictionary SERVERS = new StringDictionary(64);
+    public static final StringDictionary CLANS = new StringDictionary(65536);
+    public static final StringDictionary NATIONS = new StringDictionary(64);
+    public static final StringDictionary VEHICLE_TYPES = new StringDictionary(64);
+    public static final StringDictionary ROLES = new StringDictionary(64);
+    public static final StringDictionary TANK_NAMES = new StringDictionary(8192);
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the canonical instance of value (value itself when it is new or the dictionary is full).
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,141 @@
+package fr.arthurbr02.wotscraper.scraper.progress;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.BattleDetail;
+import fr.arthurbr02.wotscraper.scraper.model.battledetail.General;
+import fr.arthurbr02.wotscraper.scraper.model.player.Data;
+import fr.arthurbr02.wotscraper.scraper.model.player.Player;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class ScrapedDataStoreTest {
+
+    // ScrapedDataStore.PAGE_SIZE
+    private static final int PAGE_SIZE = 256;
+
+    private ScrapedDataStore store;
+
+    @Before
+    public void setUp() {
+        store = new ScrapedDataStore(ApplicationProvider.getApplicationContext());
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void storingAnIdTwiceKeepsTheFirstRecord() throws IOException {
+        store.putBattleDetail(42L, battleDetail(1L));
+        store.putBattleDetail(42L, battleDetail(2L));
+        store.putPlayer(7L, player(7L, 100));
+        store.putPlayer(7L, player(7L, 200));
+
+        assertEquals(1L, store.countBattleDetails());
+        assertEquals(Collections.singletonList(1L), storedMapIds());
+        assertEquals(1L, store.countPlayers());
+        List<Integer> battles = new ArrayList<>();
+        store.forEachPlayer(player -> battles.add(player.getData().getBattles()));
+        assertEquals(Collections.singletonList(100), battles);
+    }
+
+    @Test
+    public void streamingReadsEveryPageInInsertionOrder() throws IOException {
+        assertStreamsInOrder(2 * PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void streamingStopsAfterAFullLastPage() throws IOException {
+        assertStreamsInOrder(2 * PAGE_SIZE);
+    }
+
+    @Test
+    public void importLegacyMatchesBattleDetailsWithProcessedArenasInQueueOrder() throws IOException {
+        ProgressState state = new ProgressState();
+        state.setPendingArenaIds(new ArrayList<>(Arrays.asList(10L, 11L, null, 12L)));
+        state.setProcessedArenaIds(new HashSet<>(Arrays.asList(10L, 12L, 99L)));
+        state.getBattleDetails().add(battleDetail(1L));
+        state.getBattleDetails().add(null);
+        state.getBattleDetails().add(battleDetail(2L));
+        // Left over from an older session: no processed arena left in the queue
+        state.getBattleDetails().add(battleDetail(3L));
+        state.getPlayers().add(player(7L, 100));
+        state.getPlayers().add(player(null, 200));
+
+        store.importLegacy(state);
+
+        assertEquals(Arrays.asList(10L, 12L, -4L), storedKeys("battle_details", "arena_id"));
+        assertEquals(Arrays.asList(1L, 2L, 3L), storedMapIds());
+        assertEquals(Arrays.asList(7L, -2L), storedKeys("players", "player_id"));
+    }
+
+    private void assertStreamsInOrder(int count) throws IOException {
+        List<Long> expected = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            store.putBattleDetail(i, battleDetail(i));
+            expected.add(i);
+        }
+
+        assertEquals(count, store.countBattleDetails());
+        assertEquals(expected, storedMapIds());
+    }
+
+    @NonNull
+    private List<Long> storedMapIds() throws IOException {
+        List<Long> mapIds = new ArrayList<>();
+        store.forEachBattleDetail(detail -> mapIds.add(detail.getGeneral().getMapId()));
+        return mapIds;
+    }
+
+    @NonNull
+    private List<Long> storedKeys(@NonNull String table, @NonNull String keyColumn) {
+        List<Long> keys = new ArrayList<>();
+        try (Cursor cursor = store.getReadableDatabase().rawQuery(
+                "SELECT " + keyColumn + " FROM " + table + " ORDER BY seq", null)) {
+            while (cursor.moveToNext()) {
+                keys.add(cursor.getLong(0));
+            }
+        }
+        return keys;
+    }
+
+    // The map id tags each battle detail so it can be recognised once decoded
+    @NonNull
+    private static BattleDetail battleDetail(long tag) {
+        General general = new General();
+        general.setMapId(tag);
+        BattleDetail detail = new BattleDetail();
+        detail.setGeneral(general);
+        return detail;
+    }
+
+    @NonNull
+    private static Player player(@Nullable Long id, int battles) {
+        Data data = new Data();
+        data.setId(id);
+        data.setBattles(battles);
+        Player player = new Player();
+        player.setData(data);
+        return player;
+    }
+}
@@ -1,7 +1,9 @@
 package fr.arthurbr02.battledetail;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -32,6 +34,12 @@ public class BattleDetail {
 
     public void setPlayers(Players players) {
         this.players = players;
+        // Appelé par Jackson une fois tous les joueurs lus : les caractéristiques des tanks sont dédupliquées
+        if (players != null) {
+            for (Player player : players) {
+                player.internTank();
+            }
+        }
     }
 
     public List<Long> getPlayerIds() {
@@ -39,7 +47,8 @@ public class BattleDetail {
             return new ArrayList<>();
         }
 
-        Set<Long> playerIds = new HashSet<>();
+        // Ordre des joueurs conservé (liste mutable : Jackson peut y ajouter les playerIds lus)
+        Set<Long> playerIds = new LinkedHashSet<>();
         for (Player player : players) {
             playerIds.add(player.getPlayerId());
         }
@@ -47,10 +56,12 @@ public class BattleDetail {
         return new ArrayList<>(playerIds);
     }
 
+    @JsonIgnore
     public String getId() {
         return general != null ? general.getGeometryName() + "_" + general.getBattleTime().replaceAll(":", "_") : null;
     }
 
+    @JsonIgnore
     public boolean isTeam1Won() {
         // (BattleDetail > Player avec spawn == 1 && won == true)
         if (players == null) {
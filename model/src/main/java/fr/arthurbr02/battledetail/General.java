@@ -2,6 +2,7 @@ package fr.arthurbr02.battledetail;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.arthurbr02.utils.StringDictionary;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class General {
@@ -43,7 +44,7 @@ public class General {
     }
 
     public void setMap(String map) {
-        this.map = map;
+        this.map = StringDictionary.MAP_NAMES.intern(map);
     }
 
     public Long getMapId() {
@@ -59,7 +60,7 @@ public class General {
     }
 
     public void setGeometryName(String geometryName) {
-        this.geometryName = geometryName;
+        this.geometryName = StringDictionary.MAP_NAMES.intern(geometryName);
     }
 
     public String getBattleTime() {
@@ -83,7 +84,7 @@ public class General {
     }
 
     public void setBattleType(String battleType) {
-        this.battleType = battleType;
+        this.battleType = StringDictionary.BATTLE_TYPES.intern(battleType);
     }
 
     public Integer getFinishReason() {
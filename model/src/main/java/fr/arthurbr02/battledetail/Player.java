@@ -0,0 +1,651 @@
+package fr.arthurbr02.battledetail;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.arthurbr02.utils.StringDictionary;
+
+/**
+ * Joueur d'un BattleDetail, l'objet le plus nombreux en mémoire (un par joueur et par bataille).
+ *
+ * - Les valeurs numériques sont des primitifs, leur présence dans le JSON est portée par les bits de present :
+ *   les getters renvoient null pour une valeur absente, comme avec les anciens champs boxés.
+ * - Les caractéristiques du tank (nom, nation, icônes...) sont regroupées dans un TankInfo partagé,
+ *   dédupliqué par TankDictionary quand la liste des joueurs est affectée à la bataille.
+ * Les noms JSON sont inchangés : le modèle lit et écrit les exports existants.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Player {
+    private static final long TANK_ID = 1L << 0;
+    private static final long SPAWN = 1L << 1;
+    private static final long WON = 1L << 2;
+    private static final long DAMAGE = 1L << 3;
+    private static final long SHOTS_FIRED = 1L << 4;
+    private static final long DIRECT_HITS = 1L << 5;
+    private static final long PENETRATIONS = 1L << 6;
+    private static final long HITS_WITH_SPLASH_DAMAGE = 1L << 7;
+    private static final long SNIPER_DAMAGE = 1L << 8;
+    private static final long HITS_RECEIVED = 1L << 9;
+    private static final long PENETRATIONS_RECEIVED = 1L << 10;
+    private static final long SPLASH_HITS_RECEIVED = 1L << 11;
+    private static final long DAMAGE_BLOCKED = 1L << 12;
+    private static final long SPOTS = 1L << 13;
+    private static final long ENEMIES_DAMAGED = 1L << 14;
+    private static final long ENEMIES_STUNNED = 1L << 15;
+    private static final long FRAGS = 1L << 16;
+    private static final long TRACKING_ASSIST = 1L << 17;
+    private static final long SPOTTING_ASSIST = 1L << 18;
+    private static final long STUN_ASSIST = 1L << 19;
+    private static final long BASE_CAPTURE_POINTS = 1L << 20;
+    private static final long BASE_DEFENSE_POINTS = 1L << 21;
+    private static final long DAMAGE_RECEIVED_FROM_INVISIBLE = 1L << 22;
+    private static final long POTENTIAL_DAMAGE_RECEIVED = 1L << 23;
+    private static final long PERIPHERY_ID = 1L << 24;
+    private static final long BASE_XP = 1L << 25;
+    private static final long PLATOON = 1L << 26;
+    private static final long PLAYER_ID = 1L << 27;
+    private static final long DISTANCE_TRAVELED = 1L << 28;
+    private static final long SURVIVED = 1L << 29;
+    private static final long MAX_HEALTH = 1L << 30;
+    private static final long DAMAGE_RECEIVED = 1L << 31;
+    private static final long LIFE_TIME = 1L << 32;
+    private static final long DURATION = 1L << 33;
+
+    // Valeurs renseignées (un bit par champ primitif)
+    private long present;
+
+    // Map and battle information
+    private String map;
+
+    @JsonProperty("tank_id")
+    private long tankId;
+
+    private int spawn;
+
+    @JsonProperty("game_version")
+    private String gameVersion;
+
+    private boolean won;
+
+    // Battle statistics
+    private int damage;
+
+    @JsonProperty("shots_fired")
+    private int shotsFired;
+
+    @JsonProperty("direct_hits")
+    private int directHits;
+
+    private int penetrations;
+
+    @JsonProperty("hits_with_splash_damage")
+    private int hitsWithSplashDamage;
+
+    @JsonProperty("sniper_damage")
+    private int sniperDamage;
+
+    @JsonProperty("hits_received")
+    private int hitsReceived;
+
+    @JsonProperty("penetrations_received")
+    private int penetrationsReceived;
+
+    @JsonProperty("splash_hits_received")
+    private int splashHitsReceived;
+
+    @JsonProperty("damage_blocked")
+    private int damageBlocked;
+
+    private int spots;
+
+    @JsonProperty("enemies_damaged")
+    private int enemiesDamaged;
+
+    @JsonProperty("enemies_stunned")
+    private int enemiesStunned;
+
+    private int frags;
+
+    @JsonProperty("tracking_assist")
+    private int trackingAssist;
+
+    @JsonProperty("spotting_assist")
+    private int spottingAssist;
+
+    @JsonProperty("stun_assist")
+    private int stunAssist;
+
+    @JsonProperty("base_capture_points")
+    private int baseCapturePoints;
+
+    @JsonProperty("base_defense_points")
+    private int baseDefensePoints;
+
+    // Player information
+    private String username;
+
+    @JsonProperty("damage_received_from_invisible")
+    private int damageReceivedFromInvisible;
+
+    @JsonProperty("potential_damage_received")
+    private int potentialDamageReceived;
+
+    @JsonProperty("periphery_id")
+    private int peripheryId;
+
+    @JsonProperty("base_xp")
+    private int baseXp;
+
+    private int platoon;
+
+    // Tank information (TankInfo partagé entre tous les joueurs du même tank, voir TankDictionary)
+    private TankInfo tank;
+    private boolean tankShared;
+
+    // Additional player statistics
+    @JsonProperty("player_id")
+    private long playerId;
+
+    private String clan;
+
+    @JsonProperty("distance_traveled")
+    private int distanceTraveled;
+
+    private boolean survived;
+
+    @JsonProperty("max_health")
+    private int maxHealth;
+
+    @JsonProperty("damage_received")
+    private int damageReceived;
+
+    @JsonProperty("life_time")
+    private int lifeTime;
+
+    private int duration;
+
+    // Getters and Setters
+
+    public String getMap() {
+        return map;
+    }
+
+    public void setMap(String map) {
+        this.map = StringDictionary.MAP_NAMES.intern(map);
+    }
+
+    public Long getTankId() {
+        return (present & TANK_ID) != 0 ? tankId : null;
+    }
+
+    public void setTankId(Long tankId) {
+        this.tankId = tankId != null ? tankId : 0;
+        present = tankId != null ? present | TANK_ID : present & ~TANK_ID;
+    }
+
+    public Integer getSpawn() {
+        return (present & SPAWN) != 0 ? spawn : null;
+    }
+
+    public void setSpawn(Integer spawn) {
+        this.spawn = spawn != null ? spawn : 0;
+        present = spawn != null ? present | SPAWN : present & ~SPAWN;
+    }
+
+    public String getGameVersion() {
+        return gameVersion;
+    }
+
+    public void setGameVersion(String gameVersion) {
+        this.gameVersion = StringDictionary.GAME_VERSIONS.intern(gameVersion);
+    }
+
+    public Boolean getWon() {
+        return (present & WON) != 0 ? won : null;
+    }
+
+    public void setWon(Boolean won) {
+        this.won = won != null ? won : false;
+        present = won != null ? present | WON : present & ~WON;
+    }
+
+    public Integer getDamage() {
+        return (present & DAMAGE) != 0 ? damage : null;
+    }
+
+    public void setDamage(Integer damage) {
+        this.damage = damage != null ? damage : 0;
+        present = damage != null ? present | DAMAGE : present & ~DAMAGE;
+    }
+
+    public Integer getShotsFired() {
+        return (present & SHOTS_FIRED) != 0 ? shotsFired : null;
+    }
+
+    public void setShotsFired(Integer shotsFired) {
+        this.shotsFired = shotsFired != null ? shotsFired : 0;
+        present = shotsFired != null ? present | SHOTS_FIRED : present & ~SHOTS_FIRED;
+    }
+
+    public Integer getDirectHits() {
+        return (present & DIRECT_HITS) != 0 ? directHits : null;
+    }
+
+    public void setDirectHits(Integer directHits) {
+        this.directHits = directHits != null ? directHits : 0;
+        present = directHits != null ? present | DIRECT_HITS : present & ~DIRECT_HITS;
+    }
+
+    public Integer getPenetrations() {
+        return (present & PENETRATIONS) != 0 ? penetrations : null;
+    }
+
+    public void setPenetrations(Integer penetrations) {
+        this.penetrations = penetrations != null ? penetrations : 0;
+        present = penetrations != null ? present | PENETRATIONS : present & ~PENETRATIONS;
+    }
+
+    public Integer getHitsWithSplashDamage() {
+        return (present & HITS_WITH_SPLASH_DAMAGE) != 0 ? hitsWithSplashDamage : null;
+    }
+
+    public void setHitsWithSplashDamage(Integer hitsWithSplashDamage) {
+        this.hitsWithSplashDamage = hitsWithSplashDamage != null ? hitsWithSplashDamage : 0;
+        present = hitsWithSplashDamage != null ? present | HITS_WITH_SPLASH_DAMAGE : present & ~HITS_WITH_SPLASH_DAMAGE;
+    }
+
+    public Integer getSniperDamage() {
+        return (present & SNIPER_DAMAGE) != 0 ? sniperDamage : null;
+    }
+
+    public void setSniperDamage(Integer sniperDamage) {
+        this.sniperDamage = sniperDamage != null ? sniperDamage : 0;
+        present = sniperDamage != null ? present | SNIPER_DAMAGE : present & ~SNIPER_DAMAGE;
+    }
+
+    public Integer getHitsReceived() {
+        return (present & HITS_RECEIVED) != 0 ? hitsReceived : null;
+    }
+
+    public void setHitsReceived(Integer hitsReceived) {
+        this.hitsReceived = hitsReceived != null ? hitsReceived : 0;
+        present = hitsReceived != null ? present | HITS_RECEIVED : present & ~HITS_RECEIVED;
+    }
+
+    public Integer getPenetrationsReceived() {
+        return (present & PENETRATIONS_RECEIVED) != 0 ? penetrationsReceived : null;
+    }
+
+    public void setPenetrationsReceived(Integer penetrationsReceived) {
+        this.penetrationsReceived = penetrationsReceived != null ? penetrationsReceived : 0;
+        present = penetrationsReceived != null ? present | PENETRATIONS_RECEIVED : present & ~PENETRATIONS_RECEIVED;
+    }
+
+    public Integer getSplashHitsReceived() {
+        return (present & SPLASH_HITS_RECEIVED) != 0 ? splashHitsReceived : null;
+    }
+
+    public void setSplashHitsReceived(Integer splashHitsReceived) {
+        this.splashHitsReceived = splashHitsReceived != null ? splashHitsReceived : 0;
+        present = splashHitsReceived != null ? present | SPLASH_HITS_RECEIVED : present & ~SPLASH_HITS_RECEIVED;
+    }
+
+    public Integer getDamageBlocked() {
+        return (present & DAMAGE_BLOCKED) != 0 ? damageBlocked : null;
+    }
+
+    public void setDamageBlocked(Integer damageBlocked) {
+        this.damageBlocked = damageBlocked != null ? damageBlocked : 0;
+        present = damageBlocked != null ? present | DAMAGE_BLOCKED : present & ~DAMAGE_BLOCKED;
+    }
+
+    public Integer getSpots() {
+        return (present & SPOTS) != 0 ? spots : null;
+    }
+
+    public void setSpots(Integer spots) {
+        this.spots = spots != null ? spots : 0;
+        present = spots != null ? present | SPOTS : present & ~SPOTS;
+    }
+
+    public Integer getEnemiesDamaged() {
+        return (present & ENEMIES_DAMAGED) != 0 ? enemiesDamaged : null;
+    }
+
+    public void setEnemiesDamaged(Integer enemiesDamaged) {
+        this.enemiesDamaged = enemiesDamaged != null ? enemiesDamaged : 0;
+        present = enemiesDamaged != null ? present | ENEMIES_DAMAGED : present & ~ENEMIES_DAMAGED;
+    }
+
+    public Integer getEnemiesStunned() {
+        return (present & ENEMIES_STUNNED) != 0 ? enemiesStunned : null;
+    }
+
+    public void setEnemiesStunned(Integer enemiesStunned) {
+        this.enemiesStunned = enemiesStunned != null ? enemiesStunned : 0;
+        present = enemiesStunned != null ? present | ENEMIES_STUNNED : present & ~ENEMIES_STUNNED;
+    }
+
+    public Integer getFrags() {
+        return (present & FRAGS) != 0 ? frags : null;
+    }
+
+    public void setFrags(Integer frags) {
+        this.frags = frags != null ? frags : 0;
+        present = frags != null ? present | FRAGS : present & ~FRAGS;
+    }
+
+    public Integer getTrackingAssist() {
+        return (present & TRACKING_ASSIST) != 0 ? trackingAssist : null;
+    }
+
+    public void setTrackingAssist(Integer trackingAssist) {
+        this.trackingAssist = trackingAssist != null ? trackingAssist : 0;
+        present = trackingAssist != null ? present | TRACKING_ASSIST : present & ~TRACKING_ASSIST;
+    }
+
+    public Integer getSpottingAssist() {
+        return (present & SPOTTING_ASSIST) != 0 ? spottingAssist : null;
+    }
+
+    public void setSpottingAssist(Integer spottingAssist) {
+        this.spottingAssist = spottingAssist != null ? spottingAssist : 0;
+        present = spottingAssist != null ? present | SPOTTING_ASSIST : present & ~SPOTTING_ASSIST;
+    }
+
+    public Integer getStunAssist() {
+        return (present & STUN_ASSIST) != 0 ? stunAssist : null;
+    }
+
+    public void setStunAssist(Integer stunAssist) {
+        this.stunAssist = stunAssist != null ? stunAssist : 0;
+        present = stunAssist != null ? present | STUN_ASSIST : present & ~STUN_ASSIST;
+    }
+
+    public Integer getBaseCapturePoints() {
+        return (present & BASE_CAPTURE_POINTS) != 0 ? baseCapturePoints : null;
+    }
+
+    public void setBaseCapturePoints(Integer baseCapturePoints) {
+        this.baseCapturePoints = baseCapturePoints != null ? baseCapturePoints : 0;
+        present = baseCapturePoints != null ? present | BASE_CAPTURE_POINTS : present & ~BASE_CAPTURE_POINTS;
+    }
+
+    public Integer getBaseDefensePoints() {
+        return (present & BASE_DEFENSE_POINTS) != 0 ? baseDefensePoints : null;
+    }
+
+    public void setBaseDefensePoints(Integer baseDefensePoints) {
+        this.baseDefensePoints = baseDefensePoints != null ? baseDefensePoints : 0;
+        present = baseDefensePoints != null ? present | BASE_DEFENSE_POINTS : present & ~BASE_DEFENSE_POINTS;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Integer getDamageReceivedFromInvisible() {
+        return (present & DAMAGE_RECEIVED_FROM_INVISIBLE) != 0 ? damageReceivedFromInvisible : null;
+    }
+
+    public void setDamageReceivedFromInvisible(Integer damageReceivedFromInvisible) {
+        this.damageReceivedFromInvisible = damageReceivedFromInvisible != null ? damageReceivedFromInvisible : 0;
+        present = damageReceivedFromInvisible != null ? present | DAMAGE_RECEIVED_FROM_INVISIBLE : present & ~DAMAGE_RECEIVED_FROM_INVISIBLE;
+    }
+
+    public Integer getPotentialDamageReceived() {
+        return (present & POTENTIAL_DAMAGE_RECEIVED) != 0 ? potentialDamageReceived : null;
+    }
+
+    public void setPotentialDamageReceived(Integer potentialDamageReceived) {
+        this.potentialDamageReceived = potentialDamageReceived != null ? potentialDamageReceived : 0;
+        present = potentialDamageReceived != null ? present | POTENTIAL_DAMAGE_RECEIVED : present & ~POTENTIAL_DAMAGE_RECEIVED;
+    }
+
+    public Integer getPeripheryId() {
+        return (present & PERIPHERY_ID) != 0 ? peripheryId : null;
+    }
+
+    public void setPeripheryId(Integer peripheryId) {
+        this.peripheryId = peripheryId != null ? peripheryId : 0;
+        present = peripheryId != null ? present | PERIPHERY_ID : present & ~PERIPHERY_ID;
+    }
+
+    public Integer getBaseXp() {
+        return (present & BASE_XP) != 0 ? baseXp : null;
+    }
+
+    public void setBaseXp(Integer baseXp) {
+        this.baseXp = baseXp != null ? baseXp : 0;
+        present = baseXp != null ? present | BASE_XP : present & ~BASE_XP;
+    }
+
+    public Integer getPlatoon() {
+        return (present & PLATOON) != 0 ? platoon : null;
+    }
+
+    public void setPlatoon(Integer platoon) {
+        this.platoon = platoon != null ? platoon : 0;
+        present = platoon != null ? present | PLATOON : present & ~PLATOON;
+    }
+
+    public Long getId() {
+        return tank != null ? tank.getId() : null;
+    }
+
+    public void setId(Long id) {
+        ownTank().setId(id);
+    }
+
+    public Integer getTier() {
+        return tank != null ? tank.getTier() : null;
+    }
+
+    public void setTier(Integer tier) {
+        ownTank().setTier(tier);
+    }
+
+    public String getType() {
+        return tank != null ? tank.getType() : null;
+    }
+
+    public void setType(String type) {
+        ownTank().setType(type);
+    }
+
+    public String getNation() {
+        return tank != null ? tank.getNation() : null;
+    }
+
+    public void setNation(String nation) {
+        ownTank().setNation(nation);
+    }
+
+    @JsonProperty("is_gift")
+    public Boolean getIsGift() {
+        return tank != null ? tank.getIsGift() : null;
+    }
+
+    @JsonProperty("is_gift")
+    public void setIsGift(Boolean isGift) {
+        ownTank().setIsGift(isGift);
+    }
+
+    @JsonProperty("is_premium")
+    public Boolean getIsPremium() {
+        return tank != null ? tank.getIsPremium() : null;
+    }
+
+    @JsonProperty("is_premium")
+    public void setIsPremium(Boolean isPremium) {
+        ownTank().setIsPremium(isPremium);
+    }
+
+    @JsonProperty("short_name")
+    public String getShortName() {
+        return tank != null ? tank.getShortName() : null;
+    }
+
+    @JsonProperty("short_name")
+    public void setShortName(String shortName) {
+        ownTank().setShortName(shortName);
+    }
+
+    public String getRole() {
+        return tank != null ? tank.getRole() : null;
+    }
+
+    public void setRole(String role) {
+        ownTank().setRole(role);
+    }
+
+    public String getName() {
+        return tank != null ? tank.getName() : null;
+    }
+
+    public void setName(String name) {
+        ownTank().setName(name);
+    }
+
+    @JsonProperty("small_icon")
+    public String getSmallIcon() {
+        return tank != null ? tank.getSmallIcon() : null;
+    }
+
+    @JsonProperty("small_icon")
+    public void setSmallIcon(String smallIcon) {
+        ownTank().setSmallIcon(smallIcon);
+    }
+
+    @JsonProperty("contour_icon")
+    public String getContourIcon() {
+        return tank != null ? tank.getContourIcon() : null;
+    }
+
+    @JsonProperty("contour_icon")
+    public void setContourIcon(String contourIcon) {
+        ownTank().setContourIcon(contourIcon);
+    }
+
+    @JsonProperty("big_icon")
+    public String getBigIcon() {
+        return tank != null ? tank.getBigIcon() : null;
+    }
+
+    @JsonProperty("big_icon")
+    public void setBigIcon(String bigIcon) {
+        ownTank().setBigIcon(bigIcon);
+    }
+
+    public String getImage() {
+        return tank != null ? tank.getImage() : null;
+    }
+
+    public void setImage(String image) {
+        ownTank().setImage(image);
+    }
+
+    public Long getPlayerId() {
+        return (present & PLAYER_ID) != 0 ? playerId : null;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId != null ? playerId : 0;
+        present = playerId != null ? present | PLAYER_ID : present & ~PLAYER_ID;
+    }
+
+    public String getClan() {
+        return clan;
+    }
+
+    public void setClan(String clan) {
+        this.clan = StringDictionary.CLANS.intern(clan);
+    }
+
+    public Integer getDistanceTraveled() {
+        return (present & DISTANCE_TRAVELED) != 0 ? distanceTraveled : null;
+    }
+
+    public void setDistanceTraveled(Integer distanceTraveled) {
+        this.distanceTraveled = distanceTraveled != null ? distanceTraveled : 0;
+        present = distanceTraveled != null ? present | DISTANCE_TRAVELED : present & ~DISTANCE_TRAVELED;
+    }
+
+    public Boolean getSurvived() {
+        return (present & SURVIVED) != 0 ? survived : null;
+    }
+
+    public void setSurvived(Boolean survived) {
+        this.survived = survived != null ? survived : false;
+        present = survived != null ? present | SURVIVED : present & ~SURVIVED;
+    }
+
+    public Integer getMaxHealth() {
+        return (present & MAX_HEALTH) != 0 ? maxHealth : null;
+    }
+
+    public void setMaxHealth(Integer maxHealth) {
+        this.maxHealth = maxHealth != null ? maxHealth : 0;
+        present = maxHealth != null ? present | MAX_HEALTH : present & ~MAX_HEALTH;
+    }
+
+    public Integer getDamageReceived() {
+        return (present & DAMAGE_RECEIVED) != 0 ? damageReceived : null;
+    }
+
+    public void setDamageReceived(Integer damageReceived) {
+        this.damageReceived = damageReceived != null ? damageReceived : 0;
+        present = damageReceived != null ? present | DAMAGE_RECEIVED : present & ~DAMAGE_RECEIVED;
+    }
+
+    public Integer getLifeTime() {
+        return (present & LIFE_TIME) != 0 ? lifeTime : null;
+    }
+
+    public void setLifeTime(Integer lifeTime) {
+        this.lifeTime = lifeTime != null ? lifeTime : 0;
+        present = lifeTime != null ? present | LIFE_TIME : present & ~LIFE_TIME;
+    }
+
+    public Integer getDuration() {
+        return (present & DURATION) != 0 ? duration : null;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration != null ? duration : 0;
+        present = duration != null ? present | DURATION : present & ~DURATION;
+    }
+
+    /**
+     * Caractéristiques du tank joué (null si absentes), partagées une fois internTank appelé.
+     */
+    @JsonIgnore
+    public TankInfo getTankInfo() {
+        return tank;
+    }
+
+    /**
+     * Remplace les caractéristiques du tank par l'instance partagée de TankDictionary.
+     */
+    public void internTank() {
+        if (tank != null && !tankShared) {
+            tank = TankDictionary.intern(tank);
+            tankShared = true;
+        }
+    }
+
+    // Copie à l'écriture : une instance partagée n'est jamais modifiée
+    private TankInfo ownTank() {
+        if (tank == null) {
+            tank = new TankInfo();
+        } else if (tankShared) {
+            tank = tank.copy();
+            tankShared = false;
+        }
+        return tank;
+    }
+}
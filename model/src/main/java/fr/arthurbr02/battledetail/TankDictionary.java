@@ -0,0 +1,35 @@
+package fr.arthurbr02.battledetail;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire des tanks rencontrés dans les BattleDetail : une seule instance de TankInfo par tank id,
+ * référencée par tous les joueurs qui ont joué ce tank (quelques centaines de tanks pour des millions de
+ * joueurs-batailles). La première description lue d'un tank est conservée. Thread-safe.
+ */
+public final class TankDictionary {
+    private static final Map<Long, TankInfo> TANKS = new ConcurrentHashMap<>();
+
+    private TankDictionary() {
+    }
+
+    /**
+     * Retourne l'instance partagée du tank de info (info elle-même si le tank est nouveau ou sans id).
+     */
+    public static TankInfo intern(TankInfo info) {
+        if (info.getId() == null) {
+            return info;
+        }
+        TankInfo existing = TANKS.putIfAbsent(info.getId(), info);
+        return existing != null ? existing : info;
+    }
+
+    public static TankInfo get(long tankId) {
+        return TANKS.get(tankId);
+    }
+
+    public static int size() {
+        return TANKS.size();
+    }
+}
@@ -0,0 +1,163 @@
+package fr.arthurbr02.battledetail;
+
+import fr.arthurbr02.utils.StringDictionary;
+
+/**
+ * Caractéristiques d'un tank telles que décrites dans un BattleDetail (nom, nation, icônes...).
+ * Identiques pour tous les joueurs qui jouent ce tank : une seule instance par tank id est conservée
+ * via TankDictionary. Une instance partagée ne doit plus être modifiée.
+ */
+public class TankInfo {
+    private Long id;
+
+    private Integer tier;
+
+    private String type;
+
+    private String nation;
+
+    private Boolean isGift;
+
+    private Boolean isPremium;
+
+    private String shortName;
+
+    private String role;
+
+    private String name;
+
+    private String smallIcon;
+
+    private String contourIcon;
+
+    private String bigIcon;
+
+    private String image;
+
+    public TankInfo() {
+    }
+
+    private TankInfo(TankInfo other) {
+        this.id = other.id;
+        this.tier = other.tier;
+        this.type = other.type;
+        this.nation = other.nation;
+        this.isGift = other.isGift;
+        this.isPremium = other.isPremium;
+        this.shortName = other.shortName;
+        this.role = other.role;
+        this.name = other.name;
+        this.smallIcon = other.smallIcon;
+        this.contourIcon = other.contourIcon;
+        this.bigIcon = other.bigIcon;
+        this.image = other.image;
+    }
+
+    public TankInfo copy() {
+        return new TankInfo(this);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getTier() {
+        return tier;
+    }
+
+    public void setTier(Integer tier) {
+        this.tier = tier;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = StringDictionary.VEHICLE_TYPES.intern(type);
+    }
+
+    public String getNation() {
+        return nation;
+    }
+
+    public void setNation(String nation) {
+        this.nation = StringDictionary.NATIONS.intern(nation);
+    }
+
+    public Boolean getIsGift() {
+        return isGift;
+    }
+
+    public void setIsGift(Boolean isGift) {
+        this.isGift = isGift;
+    }
+
+    public Boolean getIsPremium() {
+        return isPremium;
+    }
+
+    public void setIsPremium(Boolean isPremium) {
+        this.isPremium = isPremium;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    public void setShortName(String shortName) {
+        this.shortName = StringDictionary.TANK_NAMES.intern(shortName);
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = StringDictionary.ROLES.intern(role);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = StringDictionary.TANK_NAMES.intern(name);
+    }
+
+    public String getSmallIcon() {
+        return smallIcon;
+    }
+
+    public void setSmallIcon(String smallIcon) {
+        this.smallIcon = StringDictionary.ICON_URLS.intern(smallIcon);
+    }
+
+    public String getContourIcon() {
+        return contourIcon;
+    }
+
+    public void setContourIcon(String contourIcon) {
+        this.contourIcon = StringDictionary.ICON_URLS.intern(contourIcon);
+    }
+
+    public String getBigIcon() {
+        return bigIcon;
+    }
+
+    public void setBigIcon(String bigIcon) {
+        this.bigIcon = StringDictionary.ICON_URLS.intern(bigIcon);
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = StringDictionary.ICON_URLS.intern(image);
+    }
+}
@@ -2,6 +2,7 @@ package fr.arthurbr02.combinedbattles;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.arthurbr02.utils.StringDictionary;
 
 import java.util.List;
 
@@ -190,7 +191,7 @@ public class Battle {
     }
 
     public void setMap(String map) {
-        this.map = map;
+        this.map = StringDictionary.MAP_NAMES.intern(map);
     }
 
     public String getGeometryName() {
@@ -198,7 +199,7 @@ public class Battle {
     }
 
     public void setGeometryName(String geometryName) {
-        this.geometryName = geometryName;
+        this.geometryName = StringDictionary.MAP_NAMES.intern(geometryName);
     }
 
     public Long getMapId() {
@@ -246,7 +247,7 @@ public class Battle {
     }
 
     public void setGameVersion(String gameVersion) {
-        this.gameVersion = gameVersion;
+        this.gameVersion = StringDictionary.GAME_VERSIONS.intern(gameVersion);
     }
 
     public Boolean getWon() {
@@ -438,7 +439,7 @@ public class Battle {
     }
 
     public void setClan(String clan) {
-        this.clan = clan;
+        this.clan = StringDictionary.CLANS.intern(clan);
     }
 
     public Integer getDamageReceivedFromInvisible() {
@@ -502,7 +503,7 @@ public class Battle {
     }
 
     public void setType(String type) {
-        this.type = type;
+        this.type = StringDictionary.VEHICLE_TYPES.intern(type);
     }
 
     public String getNation() {
@@ -510,7 +511,7 @@ public class Battle {
     }
 
     public void setNation(String nation) {
-        this.nation = nation;
+        this.nation = StringDictionary.NATIONS.intern(nation);
     }
 
     public Boolean getIsGift() {
@@ -534,7 +535,7 @@ public class Battle {
     }
 
     public void setShortName(String shortName) {
-        this.shortName = shortName;
+        this.shortName = StringDictionary.TANK_NAMES.intern(shortName);
     }
 
     public String getName() {
@@ -542,7 +543,7 @@ public class Battle {
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = StringDictionary.TANK_NAMES.intern(name);
     }
 
     public String getSmallIcon() {
@@ -550,7 +551,7 @@ public class Battle {
     }
 
     public void setSmallIcon(String smallIcon) {
-        this.smallIcon = smallIcon;
+        this.smallIcon = StringDictionary.ICON_URLS.intern(smallIcon);
     }
 
     public String getContourIcon() {
@@ -558,7 +559,7 @@ public class Battle {
     }
 
     public void setContourIcon(String contourIcon) {
-        this.contourIcon = contourIcon;
+        this.contourIcon = StringDictionary.ICON_URLS.intern(contourIcon);
     }
 
     public String getBigIcon() {
@@ -566,7 +567,7 @@ public class Battle {
     }
 
     public void setBigIcon(String bigIcon) {
-        this.bigIcon = bigIcon;
+        this.bigIcon = StringDictionary.ICON_URLS.intern(bigIcon);
     }
 
     public String getRole() {
@@ -574,7 +575,7 @@ public class Battle {
     }
 
     public void setRole(String role) {
-        this.role = role;
+        this.role = StringDictionary.ROLES.intern(role);
     }
 
     public String getImage() {
@@ -582,7 +583,7 @@ public class Battle {
     }
 
     public void setImage(String image) {
-        this.image = image;
+        this.image = StringDictionary.ICON_URLS.intern(image);
     }
 
     public Boolean getIsAdvanced() {
@@ -0,0 +1,65 @@
+package fr.arthurbr02.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.File;
+
+/**
+ * Format d'un export (ExportData, état de progression...), déterminé par l'extension du fichier.
+ *
+ * - JSON : lisible, pour les outils externes et la visionneuse de l'application mobile.
+ * - SMILE : JSON binaire de Jackson, même schéma. Les noms de champs et les valeurs courtes répétées
+ *   (maps, nations, versions...) sont écrits une fois puis référencés : fichiers plusieurs fois plus
+ *   petits, écriture et lecture plus rapides.
+ */
+public enum ExportFormat {
+    JSON(".json"),
+    SMILE(".smile");
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * ObjectMapper partagé du format (thread-safe).
+     */
+    public ObjectMapper getMapper() {
+        return this == SMILE ? SMILE_MAPPER : JSON_MAPPER;
+    }
+
+    public boolean isBinary() {
+        return this == SMILE;
+    }
+
+    /**
+     * Format d'un fichier d'après son extension (.smile, sinon JSON).
+     */
+    public static ExportFormat of(File file) {
+        return file.getName().toLowerCase().endsWith(SMILE.extension) ? SMILE : JSON;
+    }
+
+    /**
+     * Format désigné par son nom ("json" ou "smile"), ex. depuis une propriété système.
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
@@ -2,6 +2,7 @@ package fr.arthurbr02.player;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import fr.arthurbr02.player.tanks.Tanks;
+import fr.arthurbr02.utils.StringDictionary;
 
 import java.util.List;
 
@@ -79,7 +80,7 @@ public class Data {
     }
 
     public void setServer(String server) {
-        this.server = server;
+        this.server = StringDictionary.SERVERS.intern(server);
     }
 
     public Long getId() {
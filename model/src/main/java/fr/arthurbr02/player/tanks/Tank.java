@@ -0,0 +1,331 @@
+package fr.arthurbr02.player.tanks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.arthurbr02.utils.StringDictionary;
+
+import java.util.List;
+
+/**
+ * Statistiques d'un joueur sur un tank. Les valeurs numériques sont stockées en primitifs, leur présence
+ * dans le JSON est portée par les bits de present : les getters renvoient null pour une valeur absente,
+ * comme avec les anciens champs boxés, et le JSON produit est inchangé.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Tank {
+    private static final int ID = 1 << 0;
+    private static final int TIER = 1 << 1;
+    private static final int BATTLES = 1 << 2;
+    private static final int WINRATE = 1 << 3;
+    private static final int WN8 = 1 << 4;
+    private static final int WNX = 1 << 5;
+    private static final int DPG = 1 << 6;
+    private static final int ASSIST = 1 << 7;
+    private static final int KPG = 1 << 8;
+    private static final int DMGRATIO = 1 << 9;
+    private static final int KD = 1 << 10;
+    private static final int SURVIVAL = 1 << 11;
+    private static final int XP = 1 << 12;
+    private static final int HITRATIO = 1 << 13;
+    private static final int SPOTS = 1 << 14;
+    private static final int ARMOREFF = 1 << 15;
+    private static final int MOE = 1 << 16;
+    private static final int MASTERY = 1 << 17;
+    private static final int IS_PREM = 1 << 18;
+
+    // Valeurs renseignées (un bit par champ primitif)
+    private int present;
+
+    private String image;
+
+    @JsonProperty("bigImage")
+    private String bigImage;
+
+    private long id;
+
+    private String name;
+
+    private String nation;
+
+    private String role;
+
+    private int tier;
+
+    @JsonProperty("class")
+    private String vehicleClass;
+
+    private int battles;
+
+    private double winrate;
+
+    private int wn8;
+
+    private int wnx;
+
+    private int dpg;
+
+    private int assist;
+
+    private double kpg;
+
+    private double dmgratio;
+
+    private double kd;
+
+    private double survival;
+
+    private int xp;
+
+    private int hitratio;
+
+    private double spots;
+
+    private int armoreff;
+
+    private int moe;
+
+    private int mastery;
+
+    @JsonProperty("isPrem")
+    private boolean isPrem;
+
+    @JsonProperty("dpgRanking")
+    private List<Integer> dpgRanking;
+
+    private Awards awards;
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = StringDictionary.ICON_URLS.intern(image);
+    }
+
+    public String getBigImage() {
+        return bigImage;
+    }
+
+    public void setBigImage(String bigImage) {
+        this.bigImage = StringDictionary.ICON_URLS.intern(bigImage);
+    }
+
+    public Long getId() {
+        return (present & ID) != 0 ? id : null;
+    }
+
+    public void setId(Long id) {
+        this.id = id != null ? id : 0;
+        present = id != null ? present | ID : present & ~ID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = StringDictionary.TANK_NAMES.intern(name);
+    }
+
+    public String getNation() {
+        return nation;
+    }
+
+    public void setNation(String nation) {
+        this.nation = StringDictionary.NATIONS.intern(nation);
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = StringDictionary.ROLES.intern(role);
+    }
+
+    public Integer getTier() {
+        return (present & TIER) != 0 ? tier : null;
+    }
+
+    public void setTier(Integer tier) {
+        this.tier = tier != null ? tier : 0;
+        present = tier != null ? present | TIER : present & ~TIER;
+    }
+
+    public String getVehicleClass() {
+        return vehicleClass;
+    }
+
+    public void setVehicleClass(String vehicleClass) {
+        this.vehicleClass = StringDictionary.VEHICLE_TYPES.intern(vehicleClass);
+    }
+
+    public Integer getBattles() {
+        return (present & BATTLES) != 0 ? battles : null;
+    }
+
+    public void setBattles(Integer battles) {
+        this.battles = battles != null ? battles : 0;
+        present = battles != null ? present | BATTLES : present & ~BATTLES;
+    }
+
+    public Double getWinrate() {
+        return (present & WINRATE) != 0 ? winrate : null;
+    }
+
+    public void setWinrate(Double winrate) {
+        this.winrate = winrate != null ? winrate : 0;
+        present = winrate != null ? present | WINRATE : present & ~WINRATE;
+    }
+
+    public Integer getWn8() {
+        return (present & WN8) != 0 ? wn8 : null;
+    }
+
+    public void setWn8(Integer wn8) {
+        this.wn8 = wn8 != null ? wn8 : 0;
+        present = wn8 != null ? present | WN8 : present & ~WN8;
+    }
+
+    public Integer getWnx() {
+        return (present & WNX) != 0 ? wnx : null;
+    }
+
+    public void setWnx(Integer wnx) {
+        this.wnx = wnx != null ? wnx : 0;
+        present = wnx != null ? present | WNX : present & ~WNX;
+    }
+
+    public Integer getDpg() {
+        return (present & DPG) != 0 ? dpg : null;
+    }
+
+    public void setDpg(Integer dpg) {
+        this.dpg = dpg != null ? dpg : 0;
+        present = dpg != null ? present | DPG : present & ~DPG;
+    }
+
+    public Integer getAssist() {
+        return (present & ASSIST) != 0 ? assist : null;
+    }
+
+    public void setAssist(Integer assist) {
+        this.assist = assist != null ? assist : 0;
+        present = assist != null ? present | ASSIST : present & ~ASSIST;
+    }
+
+    public Double getKpg() {
+        return (present & KPG) != 0 ? kpg : null;
+    }
+
+    public void setKpg(Double kpg) {
+        this.kpg = kpg != null ? kpg : 0;
+        present = kpg != null ? present | KPG : present & ~KPG;
+    }
+
+    public Double getDmgratio() {
+        return (present & DMGRATIO) != 0 ? dmgratio : null;
+    }
+
+    public void setDmgratio(Double dmgratio) {
+        this.dmgratio = dmgratio != null ? dmgratio : 0;
+        present = dmgratio != null ? present | DMGRATIO : present & ~DMGRATIO;
+    }
+
+    public Double getKd() {
+        return (present & KD) != 0 ? kd : null;
+    }
+
+    public void setKd(Double kd) {
+        this.kd = kd != null ? kd : 0;
+        present = kd != null ? present | KD : present & ~KD;
+    }
+
+    public Double getSurvival() {
+        return (present & SURVIVAL) != 0 ? survival : null;
+    }
+
+    public void setSurvival(Double survival) {
+        this.survival = survival != null ? survival : 0;
+        present = survival != null ? present | SURVIVAL : present & ~SURVIVAL;
+    }
+
+    public Integer getXp() {
+        return (present & XP) != 0 ? xp : null;
+    }
+
+    public void setXp(Integer xp) {
+        this.xp = xp != null ? xp : 0;
+        present = xp != null ? present | XP : present & ~XP;
+    }
+
+    public Integer getHitratio() {
+        return (present & HITRATIO) != 0 ? hitratio : null;
+    }
+
+    public void setHitratio(Integer hitratio) {
+        this.hitratio = hitratio != null ? hitratio : 0;
+        present = hitratio != null ? present | HITRATIO : present & ~HITRATIO;
+    }
+
+    public Double getSpots() {
+        return (present & SPOTS) != 0 ? spots : null;
+    }
+
+    public void setSpots(Double spots) {
+        this.spots = spots != null ? spots : 0;
+        present = spots != null ? present | SPOTS : present & ~SPOTS;
+    }
+
+    public Integer getArmoreff() {
+        return (present & ARMOREFF) != 0 ? armoreff : null;
+    }
+
+    public void setArmoreff(Integer armoreff) {
+        this.armoreff = armoreff != null ? armoreff : 0;
+        present = armoreff != null ? present | ARMOREFF : present & ~ARMOREFF;
+    }
+
+    public Integer getMoe() {
+        return (present & MOE) != 0 ? moe : null;
+    }
+
+    public void setMoe(Integer moe) {
+        this.moe = moe != null ? moe : 0;
+        present = moe != null ? present | MOE : present & ~MOE;
+    }
+
+    public Integer getMastery() {
+        return (present & MASTERY) != 0 ? mastery : null;
+    }
+
+    public void setMastery(Integer mastery) {
+        this.mastery = mastery != null ? mastery : 0;
+        present = mastery != null ? present | MASTERY : present & ~MASTERY;
+    }
+
+    public Boolean getIsPrem() {
+        return (present & IS_PREM) != 0 ? isPrem : null;
+    }
+
+    public void setIsPrem(Boolean isPrem) {
+        this.isPrem = isPrem != null ? isPrem : false;
+        present = isPrem != null ? present | IS_PREM : present & ~IS_PREM;
+    }
+
+    public List<Integer> getDpgRanking() {
+        return dpgRanking;
+    }
+
+    public void setDpgRanking(List<Integer> dpgRanking) {
+        this.dpgRanking = dpgRanking;
+    }
+
+    public Awards getAwards() {
+        return awards;
+    }
+
+    public void setAwards(Awards awards) {
+        this.awards = awards;
+    }
+}
@@ -0,0 +1,56 @@
+package fr.arthurbr02.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire borné de chaînes canoniques pour un champ du modèle (noms de maps, nations, URLs d'icônes...).
+ *
+ * Jackson crée une nouvelle String pour chaque valeur lue : les quelques centaines de valeurs distinctes de ces
+ * champs sont dupliquées dans chaque bataille et chaque joueur. Les setters du modèle passent la valeur lue
+ * par intern, qui retourne l'instance déjà connue ; la copie lue devient immédiatement collectable.
+ *
+ * Le dictionnaire est borné : une fois plein, les nouvelles valeurs sont retournées telles quelles
+ * (un champ à forte cardinalité inattendue ne peut pas faire grossir le heap indéfiniment). Thread-safe.
+ */
+public final class StringDictionary {
+    public static final StringDictionary MAP_NAMES = new StringDictionary(1024);
+    public static final StringDictionary BATTLE_TYPES = new StringDictionary(256);
+    public static final StringDictionary GAME_VERSIONS = new StringDictionary(1024);
+    public static final StringDictionary SERVERS = new StringDictionary(64);
+    public static final StringDictionary CLANS = new StringDictionary(65536);
+    public static final StringDictionary NATIONS = new StringDictionary(64);
+    public static final StringDictionary VEHICLE_TYPES = new StringDictionary(64);
+    public static final StringDictionary ROLES = new StringDictionary(64);
+    public static final StringDictionary TANK_NAMES = new StringDictionary(8192);
+    public static final StringDictionary ICON_URLS = new StringDictionary(32768);
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retourne l'instance canonique de value (value elle-même si elle est nouvelle ou si le dictionnaire est plein).
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
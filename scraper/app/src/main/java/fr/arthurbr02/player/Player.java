@@ -1,24 +0,0 @@
-package fr.arthurbr02.player;
-
-import fr.arthurbr02.player.playerdata.Data;
-
-public class Player {
-    private Meta meta;
-    private Data data;
-
-    public Meta getMeta() {
-        return meta;
-    }
-
-    public void setMeta(Meta meta) {
-        this.meta = meta;
-    }
-
-    public Data getData() {
-        return data;
-    }
-
-    public void setData(Data data) {
-        this.data = data;
-    }
-}
\ No newline at end of file
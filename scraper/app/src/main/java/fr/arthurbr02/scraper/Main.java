@@ -1,18 +1,21 @@
-package fr.arthurbr02;
+package fr.arthurbr02.scraper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.arthurbr02.battledetail.BattleDetail;
 import fr.arthurbr02.battledetail.Player;
 import fr.arthurbr02.battledetail.Players;
 import fr.arthurbr02.combinedbattles.CombinedBattles;
-import fr.arthurbr02.combinedbattles.CombinedBattlesService;
+import fr.arthurbr02.datasetbuilder.DatasetPipeline;
 import fr.arthurbr02.export.ExportData;
-import fr.arthurbr02.export.ExportService;
-import fr.arthurbr02.player.PlayerService;
-import fr.arthurbr02.player.playerdata.PlayerData;
-import fr.arthurbr02.utils.HttpClientsUtils;
-import fr.arthurbr02.utils.ProgressManager;
-import fr.arthurbr02.utils.ProgressState;
+import fr.arthurbr02.scraper.combinedbattles.CombinedBattlesService;
+import fr.arthurbr02.scraper.export.DatasetScrapeListener;
+import fr.arthurbr02.scraper.export.ExportService;
+import fr.arthurbr02.scraper.export.ScrapeListener;
+import fr.arthurbr02.scraper.player.PlayerService;
+import fr.arthurbr02.scraper.player.playerdata.PlayerData;
+import fr.arthurbr02.scraper.utils.HttpClientsUtils;
+import fr.arthurbr02.scraper.utils.ProgressManager;
+import fr.arthurbr02.scraper.utils.ProgressState;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -31,45 +34,90 @@ public class Main {
 
     private static final boolean TEST_MODE = false;
 
+    // Datasets écrits par la commande datasets : ressources de traitement_donnees vues depuis scraper/app
+    private static final String DATASET_RESOURCES_DIRECTORY = "../../traitement_donnees/src/main/resources";
+
     public static void main(String[] args) {
-        if (TEST_MODE) test();
-        else {
-            logger.info("=== Starting scraper ===");
-
-            // Vérifier s'il existe une progression sauvegardée
-            ProgressState state = ProgressManager.loadProgress();
-
-            if (state == null) {
-                // Nouvelle exécution - initialiser l'état
-                logger.info("Starting new scraping session");
-                state = initializeNewProgress();
-            } else {
-                // Reprise depuis une sauvegarde
-                logger.info("Resuming from previous session");
-                logger.info("Start time: {}", state.getStartTime());
-                logger.info("Last update: {}", state.getLastUpdateTime());
-            }
+        if (TEST_MODE) {
+            test();
+            return;
+        }
+        // java ... Main datasets : les datasets sont construits dans le même process, au fil du scraping
+        boolean success = args.length > 0 && "datasets".equals(args[0]) ? scrapeWithDatasets() : scrape(ScrapeListener.NONE);
+        // Sortie en erreur seulement ici, une fois la progression sauvegardée et le pipeline fermé
+        if (!success) {
+            System.exit(1);
+        }
+    }
 
-            try {
-                // Exécuter le scraping avec gestion de progression
-                executeScraping(state);
-
-                // Exporter les données finales
-                Date now = new Date();
-                ExportService.exportData(
-                        new ExportData(null, state.getBattleDetails(), state.getPlayers()),
-                        now
-                );
+    /**
+     * Scraping avec construction des datasets dans le même process (BattleAssembler de traitement_donnees,
+     * configuré par les mêmes propriétés -Ddataset.*) : aucune relecture d'export. Les batailles encore
+     * en attente de profils sont écrites à la fin du scraping, et à la fermeture du pipeline en cas d'échec.
+     *
+     * @return false si le scraping ou la construction des datasets a échoué
+     */
+    public static boolean scrapeWithDatasets() {
+        if (System.getProperty("dataset.resourcesDir") == null) {
+            System.setProperty("dataset.resourcesDir", DATASET_RESOURCES_DIRECTORY);
+        }
+        try (DatasetPipeline pipeline = fr.arthurbr02.Main.openPipeline()) {
+            return scrape(new DatasetScrapeListener(pipeline.getAssembler()));
+        } catch (IOException e) {
+            logger.error("Error while building datasets", e);
+            return false;
+        }
+    }
+
+    /**
+     * Lance (ou reprend) le scraping ; listener reçoit les batailles et joueurs en mémoire,
+     * en plus des exports JSON qui servent de sauvegarde.
+     *
+     * @return false en cas d'échec, la progression ayant été sauvegardée pour une reprise
+     */
+    public static boolean scrape(ScrapeListener listener) {
+        logger.info("=== Starting scraper ===");
+
+        // Vérifier s'il existe une progression sauvegardée
+        ProgressState state = ProgressManager.loadProgress();
+
+        if (state == null) {
+            // Nouvelle exécution - initialiser l'état
+            logger.info("Starting new scraping session");
+            state = initializeNewProgress();
+        } else {
+            // Reprise depuis une sauvegarde
+            logger.info("Resuming from previous session");
+            logger.info("Start time: {}", state.getStartTime());
+            logger.info("Last update: {}", state.getLastUpdateTime());
+        }
 
-                // Nettoyer les fichiers de progression après succès
-                logger.info("Scraping completed successfully!");
-                ProgressManager.clearProgress();
+        // Batailles déjà récupérées (session initiale ou reprise)
+        for (BattleDetail battleDetail : state.getBattleDetails()) {
+            listener.onBattleDetail(battleDetail);
+        }
 
-            } catch (Exception e) {
-                logger.error("Error during scraping - progress has been saved", e);
-                ProgressManager.saveProgress(state);
-                System.exit(1);
-            }
+        try {
+            // Exécuter le scraping avec gestion de progression
+            executeScraping(state, listener);
+            listener.onScrapingCompleted();
+
+            // Exporter les données finales
+            Date now = new Date();
+            ExportService.exportData(
+                    new ExportData(null, state.getBattleDetails(), state.getPlayers()),
+                    now
+            );
+
+            // Nettoyer les fichiers de progression après succès
+            logger.info("Scraping completed successfully!");
+            ProgressManager.clearProgress();
+            return true;
+
+        } catch (Exception e) {
+            logger.error("Error during scraping - progress has been saved", e);
+            ProgressManager.saveProgress(state);
+            return false;
         }
     }
 
@@ -169,7 +217,7 @@ public class Main {
     /**
      * Exécute le scraping en sauvegardant la progression régulièrement
      */
-    private static void executeScraping(ProgressState state) {
+    private static void executeScraping(ProgressState state, ScrapeListener listener) {
         List<Long> pendingPlayerIds = state.getPendingPlayerIds();
         int startIndex = state.getCurrentPlayerIndex();
 
@@ -221,6 +269,7 @@ public class Main {
                     for (BattleDetail bd : newBattleDetails) {
                         if (bd != null && !state.getBattleDetails().contains(bd)) {
                             state.getBattleDetails().add(bd);
+                            listener.onBattleDetail(bd);
                         }
                     }
 
@@ -273,7 +322,7 @@ public class Main {
                 ExportService.exportCurrentData(
                     new ExportData(null, state.getBattleDetails(), currentPlayers)
                 );
-            });
+            }, listener);
         state.setPlayers(players);
 
         // Export après la récupération des détails des joueurs
@@ -1,7 +1,8 @@
-package fr.arthurbr02.battledetail;
+package fr.arthurbr02.scraper.battledetail;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import fr.arthurbr02.utils.HttpClientsUtils;
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.scraper.utils.HttpClientsUtils;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -1,8 +1,9 @@
-package fr.arthurbr02.combinedbattles;
+package fr.arthurbr02.scraper.combinedbattles;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.arthurbr02.battledetail.BattleDetail;
-import fr.arthurbr02.utils.HttpClientsUtils;
+import fr.arthurbr02.combinedbattles.CombinedBattles;
+import fr.arthurbr02.scraper.utils.HttpClientsUtils;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -15,7 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
 
-import static fr.arthurbr02.battledetail.BattleDetailService.fetchBattleDetail;
+import static fr.arthurbr02.scraper.battledetail.BattleDetailService.fetchBattleDetail;
 
 public class CombinedBattlesService {
     private static final Logger logger = LoggerFactory.getLogger(CombinedBattlesService.class);
@@ -0,0 +1,49 @@
+package fr.arthurbr02.scraper.export;
+
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.datasetbuilder.BattleAssembler;
+import fr.arthurbr02.player.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Transmet les batailles et joueurs scrapés au BattleAssembler de traitement_donnees : les lignes d'une bataille
+ * sont écrites dès que les profils de ses joueurs sont arrivés, sans repasser par un export JSON.
+ *
+ * Une bataille déjà matérialisée n'est reconstruite que si le profil d'un de ses joueurs a changé.
+ */
+public class DatasetScrapeListener implements ScrapeListener {
+    private final BattleAssembler assembler;
+
+    public DatasetScrapeListener(BattleAssembler assembler) {
+        this.assembler = assembler;
+    }
+
+    @Override
+    public void onBattleDetail(BattleDetail battleDetail) {
+        try {
+            assembler.onBattleDetail(battleDetail);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onPlayer(Player player) {
+        try {
+            assembler.onPlayer(player);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onPlayerUnavailable(long playerId) {
+        try {
+            assembler.onPlayerUnavailable(playerId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
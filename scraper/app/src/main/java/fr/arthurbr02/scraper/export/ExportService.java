@@ -1,26 +1,30 @@
-package fr.arthurbr02.export;
+package fr.arthurbr02.scraper.export;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import fr.arthurbr02.utils.FileUtils;
+import fr.arthurbr02.export.ExportData;
+import fr.arthurbr02.export.ExportFormat;
+import fr.arthurbr02.scraper.utils.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Date;
 
 public class ExportService {
     private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
-    private static final String FILE_NAME = "export_data_{date}.json";
-    private static final String CURRENT_FILE_NAME = "export_data_current.json";
+    // Format des exports : json (défaut, lisible) ou smile (binaire, plus compact et plus rapide à écrire / relire)
+    private static final ExportFormat FORMAT = ExportFormat.fromName(System.getProperty("export.format", "json"));
+    private static final String FILE_NAME = "export_data_{date}" + FORMAT.getExtension();
+    private static final String CURRENT_FILE_NAME = "export_data_current" + FORMAT.getExtension();
 
     public static void exportData(ExportData exportData, Date now) {
         File file = FileUtils.getNewFile(
                 FILE_NAME.replace("{date}", String.valueOf(now.getTime()))
         );
 
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(file, exportData);
+            write(file, exportData);
             logger.info("Exported data to {}", file.getAbsolutePath());
         } catch (Exception e) {
             logger.error("Error exporting data to file", e);
@@ -33,9 +37,8 @@ public class ExportService {
     public static void exportCurrentData(ExportData exportData) {
         File file = FileUtils.getNewFile(CURRENT_FILE_NAME);
 
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(file, exportData);
+            write(file, exportData);
             logger.info("Exported current data to {} ({} battles, {} players)",
                     file.getAbsolutePath(),
                     exportData.getBattleDetails() != null ? exportData.getBattleDetails().size() : 0,
@@ -44,4 +47,13 @@ public class ExportService {
             logger.error("Error exporting current data to file", e);
         }
     }
+
+    private static void write(File file, ExportData exportData) throws IOException {
+        ObjectMapper mapper = FORMAT.getMapper();
+        if (FORMAT.isBinary()) {
+            mapper.writeValue(file, exportData);
+        } else {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file, exportData);
+        }
+    }
 }
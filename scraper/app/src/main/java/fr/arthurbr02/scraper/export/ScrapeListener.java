@@ -0,0 +1,35 @@
+package fr.arthurbr02.scraper.export;
+
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
+
+/**
+ * Reçoit les données en mémoire au fur et à mesure du scraping, sans passer par les exports JSON
+ * (ex. le dataset builder, qui émet les lignes d'une bataille dès que tous ses joueurs sont arrivés).
+ *
+ * Les méthodes sont toujours appelées depuis le thread du scraping. Lors d'une reprise, les batailles
+ * de la progression sauvegardée sont rejouées avant les nouvelles (les joueurs sont de toute façon
+ * tous récupérés dans la dernière phase).
+ */
+public interface ScrapeListener {
+    ScrapeListener NONE = new ScrapeListener() {
+    };
+
+    default void onBattleDetail(BattleDetail battleDetail) {
+    }
+
+    default void onPlayer(Player player) {
+    }
+
+    /**
+     * Le profil de playerId n'a pas pu être récupéré : les batailles qui l'attendent peuvent être émises sans lui.
+     */
+    default void onPlayerUnavailable(long playerId) {
+    }
+
+    /**
+     * Fin du scraping : plus aucun joueur n'arrivera.
+     */
+    default void onScrapingCompleted() {
+    }
+}
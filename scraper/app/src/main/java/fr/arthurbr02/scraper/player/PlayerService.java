@@ -1,9 +1,11 @@
-package fr.arthurbr02.player;
+package fr.arthurbr02.scraper.player;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import fr.arthurbr02.player.playerdata.Data;
-import fr.arthurbr02.player.playerdata.PlayerData;
-import fr.arthurbr02.utils.HttpClientsUtils;
+import fr.arthurbr02.player.Data;
+import fr.arthurbr02.player.Player;
+import fr.arthurbr02.scraper.export.ScrapeListener;
+import fr.arthurbr02.scraper.player.playerdata.PlayerData;
+import fr.arthurbr02.scraper.utils.HttpClientsUtils;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -97,6 +99,16 @@ public class PlayerService {
 
     public static List<Player> fetchPlayers(List<Long> playerIds, Map<Long, String> playerNames,
                                             java.util.function.Consumer<List<Player>> progressCallback) {
+        return fetchPlayers(playerIds, playerNames, progressCallback, ScrapeListener.NONE);
+    }
+
+    /**
+     * Comme fetchPlayers, en notifiant listener de chaque joueur récupéré (ou non) dès sa réception,
+     * depuis le thread appelant.
+     */
+    public static List<Player> fetchPlayers(List<Long> playerIds, Map<Long, String> playerNames,
+                                            java.util.function.Consumer<List<Player>> progressCallback,
+                                            ScrapeListener listener) {
         List<Player> players = new ArrayList<>();
 
         if (playerIds.isEmpty()) {
@@ -110,6 +122,7 @@ public class PlayerService {
         logger.info("Using {} threads for fetching {} players (min: {})", threadCount, totalCount, MIN_THREAD_COUNT);
         ExecutorService executor = Executors.newFixedThreadPool(threadCount);
         List<Future<Player>> futures = new ArrayList<>();
+        List<Long> futurePlayerIds = new ArrayList<>();
 
         // Soumettre toutes les tâches
         int index = 0;
@@ -117,19 +130,28 @@ public class PlayerService {
             String name = playerNames.get(playerId);
             if (name == null) {
                 logger.warn("Player name not found for ID: {}. Skipping.", playerId);
+                listener.onPlayerUnavailable(playerId);
                 continue;
             }
 
             int currentIndex = ++index;
             Future<Player> future = executor.submit(() -> fetchPlayer(playerId, name, currentIndex, totalCount));
             futures.add(future);
+            futurePlayerIds.add(playerId);
         }
 
         // Récupérer les résultats avec export tous les 200 joueurs
         int processedCount = 0;
-        for (Future<Player> future : futures) {
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Player> future = futures.get(i);
+            Long playerId = futurePlayerIds.get(i);
             try {
                 Player player = future.get();
+                if (player == null || player.getData() == null) {
+                    listener.onPlayerUnavailable(playerId);
+                } else {
+                    listener.onPlayer(player);
+                }
                 if (player != null) {
                     players.add(player);
                     processedCount++;
@@ -145,6 +167,7 @@ public class PlayerService {
                 logger.error("Thread interrupted while fetching Player", e);
             } catch (ExecutionException e) {
                 logger.error("Error fetching Player", e.getCause());
+                listener.onPlayerUnavailable(playerId);
             }
         }
 
@@ -1,4 +1,6 @@
-package fr.arthurbr02.player.playerdata;
+package fr.arthurbr02.scraper.player.playerdata;
+
+import fr.arthurbr02.player.Data;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
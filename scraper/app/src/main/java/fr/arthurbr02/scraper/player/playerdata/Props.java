@@ -1,4 +1,4 @@
-package fr.arthurbr02.player.playerdata;
+package fr.arthurbr02.scraper.player.playerdata;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -1,4 +1,4 @@
-package fr.arthurbr02.utils;
+package fr.arthurbr02.scraper.utils;
 
 import java.io.File;
 
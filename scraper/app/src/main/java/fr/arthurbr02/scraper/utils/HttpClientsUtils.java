@@ -1,4 +1,4 @@
-package fr.arthurbr02.utils;
+package fr.arthurbr02.scraper.utils;
 
 import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
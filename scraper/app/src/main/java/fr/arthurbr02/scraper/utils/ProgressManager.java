@@ -1,7 +1,7 @@
-package fr.arthurbr02.utils;
+package fr.arthurbr02.scraper.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import fr.arthurbr02.export.ExportFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,16 +13,16 @@ import java.util.Date;
 
 /**
  * Gestionnaire de progression pour sauvegarder et charger l'état du scraping
+ * L'état est sauvegardé en Smile (JSON binaire) : il est réécrit très souvent et contient toutes les batailles
+ * Une ancienne progression JSON est relue si aucune progression Smile n'existe
  */
 public class ProgressManager {
     private static final Logger logger = LoggerFactory.getLogger(ProgressManager.class);
-    private static final String PROGRESS_FILE = "scraper_progress.json";
-    private static final String PROGRESS_BACKUP_FILE = "scraper_progress.backup.json";
-    private static final ObjectMapper mapper = new ObjectMapper();
-
-    static {
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    }
+    private static final String PROGRESS_FILE = "scraper_progress.smile";
+    private static final String PROGRESS_BACKUP_FILE = "scraper_progress.backup.smile";
+    private static final String LEGACY_PROGRESS_FILE = "scraper_progress.json";
+    private static final String LEGACY_PROGRESS_BACKUP_FILE = "scraper_progress.backup.json";
+    private static final ObjectMapper mapper = ExportFormat.SMILE.getMapper();
 
     /**
      * Sauvegarde l'état de progression
@@ -70,8 +70,7 @@ public class ProgressManager {
         File progressFile = FileUtils.getNewFile(PROGRESS_FILE);
 
         if (!progressFile.exists()) {
-            logger.info("No existing progress file found. Starting fresh.");
-            return null;
+            return loadLegacyProgress();
         }
 
         try {
@@ -106,25 +105,45 @@ public class ProgressManager {
     }
 
     /**
-     * Supprime les fichiers de progression
+     * Charge une progression sauvegardée en JSON par une version précédente
+     * Elle sera réécrite en Smile à la prochaine sauvegarde
      */
-    public static void clearProgress() {
-        File progressFile = FileUtils.getNewFile(PROGRESS_FILE);
-        File backupFile = FileUtils.getNewFile(PROGRESS_BACKUP_FILE);
+    private static ProgressState loadLegacyProgress() {
+        File legacyFile = FileUtils.getNewFile(LEGACY_PROGRESS_FILE);
 
-        if (progressFile.exists()) {
-            if (progressFile.delete()) {
-                logger.info("Progress file deleted");
-            } else {
-                logger.warn("Failed to delete progress file");
-            }
+        if (!legacyFile.exists()) {
+            logger.info("No existing progress file found. Starting fresh.");
+            return null;
         }
 
-        if (backupFile.exists()) {
-            if (backupFile.delete()) {
-                logger.info("Backup file deleted");
+        try {
+            ProgressState state = ExportFormat.JSON.getMapper().readValue(legacyFile, ProgressState.class);
+            logger.info("Legacy JSON progress loaded: {} battles, {} players processed",
+                    state.getBattleDetails().size(),
+                    state.getProcessedPlayerIds().size());
+            return state;
+        } catch (IOException e) {
+            logger.error("Error loading legacy progress file", e);
+            return null;
+        }
+    }
+
+    /**
+     * Supprime les fichiers de progression
+     */
+    public static void clearProgress() {
+        delete(FileUtils.getNewFile(PROGRESS_FILE), "Progress file");
+        delete(FileUtils.getNewFile(PROGRESS_BACKUP_FILE), "Backup file");
+        delete(FileUtils.getNewFile(LEGACY_PROGRESS_FILE), "Legacy progress file");
+        delete(FileUtils.getNewFile(LEGACY_PROGRESS_BACKUP_FILE), "Legacy backup file");
+    }
+
+    private static void delete(File file, String description) {
+        if (file.exists()) {
+            if (file.delete()) {
+                logger.info("{} deleted", description);
             } else {
-                logger.warn("Failed to delete backup file");
+                logger.warn("Failed to delete {}", description.toLowerCase());
             }
         }
     }
@@ -133,8 +152,7 @@ public class ProgressManager {
      * Vérifie si une progression existe
      */
     public static boolean hasProgress() {
-        File progressFile = FileUtils.getNewFile(PROGRESS_FILE);
-        return progressFile.exists();
+        return FileUtils.getNewFile(PROGRESS_FILE).exists() || FileUtils.getNewFile(LEGACY_PROGRESS_FILE).exists();
     }
 }
 
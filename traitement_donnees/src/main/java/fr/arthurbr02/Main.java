@@ -1,30 +1,138 @@
 package fr.arthurbr02;
 
 import fr.arthurbr02.battledetail.BattleDetail;
-import fr.arthurbr02.datasetbuilder.Row;
-import fr.arthurbr02.export.ExportData;
+import fr.arthurbr02.datasetbuilder.BattleAssembler;
+import fr.arthurbr02.datasetbuilder.CompositeDatasetSink;
+import fr.arthurbr02.datasetbuilder.DatasetBuilder;
+import fr.arthurbr02.datasetbuilder.DatasetManifest;
+import fr.arthurbr02.datasetbuilder.DatasetPipeline;
+import fr.arthurbr02.datasetbuilder.DatasetSink;
+import fr.arthurbr02.datasetbuilder.FeatureTableSink;
+import fr.arthurbr02.datasetbuilder.ParallelDatasetGenerator;
+import fr.arthurbr02.datasetbuilder.PerBattleCsvSink;
+import fr.arthurbr02.datasetbuilder.ShardedCsvSink;
+import fr.arthurbr02.datasetbuilder.TensorSink;
+import fr.arthurbr02.datasetbuilder.Vocabularies;
 import fr.arthurbr02.export.ExportService;
-import fr.arthurbr02.player.Data;
+import fr.arthurbr02.export.ExportWatcher;
 import fr.arthurbr02.player.Player;
 import fr.arthurbr02.player.tanks.Tank;
 import fr.arthurbr02.utils.FileUtils;
+import fr.arthurbr02.utils.LongHashSet;
+import fr.arthurbr02.utils.LongObjectHashMap;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class Main {
+    // Séparateur décimal des CSV (-Ddataset.decimalSeparator=. pour un format indépendant de la locale côté ML),
+    // enregistré dans datasets/manifest.json pour ml/main.py
+    private static final char DECIMAL_SEPARATOR = System.getProperty("dataset.decimalSeparator", ",").charAt(0);
+
+    // Format de sortie : "sharded" (quelques gros CSV avec une colonne battle_id) ou "per-battle" (un CSV par bataille)
+    private static final String OUTPUT_MODE = System.getProperty("dataset.output", "sharded");
+    private static final long SHARD_SIZE_BYTES = Long.getLong("dataset.shardSizeMb", 64) * 1024 * 1024;
+
+    // Export supplémentaire des tenseurs NumPy (datasets/tensors/*.npy) déjà paddés pour l'entraînement
+    private static final boolean EXPORT_TENSORS = Boolean.getBoolean("dataset.tensors");
+
+    // Table des agrégats par équipe (datasets/battle_features.csv), lue telle quelle côté ML
+    private static final boolean EXPORT_FEATURES = Boolean.parseBoolean(System.getProperty("dataset.features", "true"));
+
+    // Colonnes catégorielles (map, tankRole, tankVehicleClass, tankNation) écrites sous forme d'index
+    // stables, persistés dans datasets/vocabularies.json (-Ddataset.encodeCategories=false pour du texte brut)
+    private static final boolean ENCODE_CATEGORIES = Boolean.parseBoolean(System.getProperty("dataset.encodeCategories", "true"));
+    private static final String VOCABULARIES_FILE = "datasets/vocabularies.json";
+
+    // Build incrémental : seules les batailles nouvelles (ou dont un joueur manquant a maintenant un profil,
+    // ou dont un profil a changé) sont construites, d'après datasets/manifest.json. Désactivé avec l'export des tenseurs, qui sont réécrits en entier.
+    private static final boolean INCREMENTAL = Boolean.parseBoolean(System.getProperty("dataset.incremental", "true")) && !EXPORT_TENSORS;
+    private static final String MANIFEST_FILE = "datasets/manifest.json";
+
+    // Export lu par le builder : export_data.json (ou .smile), ou le store produit par la commande merge
+    private static final String INPUT_FILE = System.getProperty("dataset.input", "export_data.json");
+
+    // Mode watch : répertoire d'exports du scraper, taille de la file d'attente, checkpoint des fichiers traités
+    private static final String WATCH_DIRECTORY = System.getProperty("dataset.watchDir", "../scraper/app/exports");
+    private static final int WATCH_QUEUE_SIZE = Integer.getInteger("dataset.watchQueue", 4);
+    private static final String WATCH_CHECKPOINT_FILE = "datasets/watch_checkpoint.json";
+
     public static void main(String[] args) {
-        ExportData data = ExportService.getExportDateFromFile();
+        // java ... Main merge [export|répertoire ...] : fusionne des exports dans export_merged.ndjson
+        if (args.length > 0 && "merge".equals(args[0])) {
+            List<File> inputs = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) {
+                inputs.add(new File(args[i]));
+            }
+            System.out.println(ExportService.mergeExports(inputs) ? "Exports merged successfully." : "Failed to merge exports.");
+            return;
+        }
 
-        if (data != null) {
-            System.out.println("Export data loaded successfully.");
-        } else {
-            System.out.println("Failed to load export data.");
+        // java ... Main watch [répertoire] : process long, chaque export déposé est transformé en datasets
+        // (en incrémental : seules les batailles nouvelles ou dont un profil a changé sont écrites, dans de
+        // nouveaux shards ; un export réécrit avec le même contenu ne reconstruit rien)
+        if (args.length > 0 && "watch".equals(args[0])) {
+            Path directory = Paths.get(args.length > 1 ? args[1] : WATCH_DIRECTORY);
+            if (!INCREMENTAL) {
+                System.out.println("Warning: incremental build is disabled, each export will rebuild all datasets.");
+            }
+            try {
+                FileUtils.getExportDataFile("datasets").mkdirs();
+                new ExportWatcher(directory, WATCH_QUEUE_SIZE, FileUtils.getExportDataFile(WATCH_CHECKPOINT_FILE),
+                        Main::buildDatasets).run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
             return;
         }
 
+        // java ... Main pipeline [export] : une seule passe, les lignes d'une bataille sont écrites dès que
+        // tous ses joueurs sont connus (même assemblage que pour le scraper lancé dans le même process)
+        if (args.length > 0 && "pipeline".equals(args[0])) {
+            File input = args.length > 1 ? new File(args[1]) : FileUtils.getExportDataFile(INPUT_FILE);
+            System.out.println(assembleDatasets(input) ? "Datasets generated successfully." : "Failed to generate datasets.");
+            return;
+        }
+
+        if (buildDatasets(FileUtils.getExportDataFile(INPUT_FILE))) {
+            System.out.println("Datasets generated successfully.");
+        }
+    }
+
+    /**
+     * Construit les datasets d'un export (json ou ndjson) ; retourne false en cas d'échec.
+     */
+    static boolean buildDatasets(File input) {
+        // Lecture en streaming : on ne garde que ce qui sert à construire les lignes,
+        // l'ExportData complet n'est jamais matérialisé
+        List<BattleDetail> battleDetails = new ArrayList<>();
+        Map<Long, Player> playerMap = new HashMap<>();
+        Map<String, Map<Long, fr.arthurbr02.battledetail.Player>> battleDetailPlayerMap = new HashMap<>();
+        LongHashSet wantedPlayers = new LongHashSet();
+        LongHashSet wantedTanks = new LongHashSet();
+        LongObjectHashMap<Tank> playerTankMap = new LongObjectHashMap<>();
+
+        Vocabularies vocabularies;
+        DatasetManifest manifest;
+        try {
+            vocabularies = Vocabularies.load(FileUtils.getExportDataFile(VOCABULARIES_FILE));
+            manifest = loadManifest();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+
         // Pour chaque BattleDetail, je veux faire un fichier csv avec comme données (ce seront les features d'un modèle ML):
         // - battles (Player)
         // - overallWN8 (Player)
@@ -67,181 +175,201 @@ public class Main {
         // - 1 si l'équipe 1 a gagné
         // - 0 sinon
 
-        // Je commence pas mapper les players par leur id pour y accéder plus facilement
-        Map<Long, Player> playerMap = new HashMap<>();
-        for (Player player : data.getPlayers()) {
-            if (player == null || player.getData() == null) {
-                System.out.println("Player data is null");
-                continue;
+        // Build incrémental : passe préalable sur les profils, pour savoir lesquels ont changé depuis
+        // la construction de leurs lignes (un export réécrit ou retouché à l'identique ne reconstruit rien)
+        if (!manifest.isEmpty() && !ExportService.streamExportData(input, null, player -> {
+            if (player != null && player.getData() != null && player.getData().getId() != null) {
+                manifest.checkPlayerVersion(player.getData().getId(), DatasetManifest.profileVersion(player));
             }
-            playerMap.put(player.getData().getId(), player);
+        })) {
+            System.out.println("Failed to load export data.");
+            return false;
         }
 
-        // Ensuite, je map les battledetail.Player par battleDetail id et player id
-        Map<String, Map<Long, fr.arthurbr02.battledetail.Player>> battleDetailPlayerMap = new HashMap<>();
-        for (BattleDetail battleDetail : data.getBattleDetails()) {
+        // Première passe : les BattleDetail seuls. On mappe les battledetail.Player par battleDetail id
+        // et player id, et on note les joueurs et couples (playerId, tankId) réellement joués.
+        // Une bataille déjà matérialisée n'est gardée que si certains de ses joueurs n'avaient pas de ligne,
+        // ou ont un profil modifié (si elle est reconstruite, il faut alors tous ses joueurs)
+        Consumer<BattleDetail> battleDetailConsumer = battleDetail -> {
+            if (manifest.isUpToDate(battleDetail)) {
+                return;
+            }
+
             Map<Long, fr.arthurbr02.battledetail.Player> innerMap = new HashMap<>();
             for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
                 innerMap.put(bdPlayer.getPlayerId(), bdPlayer);
+                if (bdPlayer.getPlayerId() == null) {
+                    continue;
+                }
+                wantedPlayers.add(bdPlayer.getPlayerId());
+                if (bdPlayer.getTankId() != null) {
+                    wantedTanks.add(DatasetBuilder.tankKey(bdPlayer.getPlayerId(), bdPlayer.getTankId()));
+                }
             }
             battleDetailPlayerMap.put(battleDetail.getId(), innerMap);
+            battleDetails.add(battleDetail);
+
+            if (battleDetail.getGeneral() != null && battleDetail.getGeneral().getMapId() != null) {
+                vocabularies.mapIndex(battleDetail.getGeneral().getMapId());
+            }
+        };
+
+        if (!ExportService.streamExportData(input, battleDetailConsumer, null)) {
+            System.out.println("Failed to load export data.");
+            return false;
         }
 
-        // On map les tanks des joueurs avec une clé playerId_tankId
-        Map<String, Tank> playerTankMap = new HashMap<>();
-        for (Player player : data.getPlayers()) {
-            if (player == null || player.getData() == null || player.getData().getTanks() == null) {
-                continue;
+        // Seconde passe : les players. Je les mappe par leur id pour y accéder plus facilement,
+        // et je ne garde que les tanks joués dans une bataille (un par joueur et par bataille,
+        // au lieu de plusieurs centaines par joueur)
+        Consumer<Player> playerConsumer = player -> {
+            if (player == null || player.getData() == null) {
+                System.out.println("Player data is null");
+                return;
+            }
+            if (player.getData().getId() == null || !wantedPlayers.contains(player.getData().getId())) {
+                return;
+            }
+            playerMap.put(player.getData().getId(), player);
+            manifest.setPlayerVersion(player.getData().getId(), DatasetManifest.profileVersion(player));
+
+            if (player.getData().getTanks() == null) {
+                return;
             }
+            long playerId = player.getData().getId();
             for (Tank tank : player.getData().getTanks()) {
-                String key = player.getData().getId() + "_" + tank.getId();
+                if (tank == null || tank.getId() == null) {
+                    continue;
+                }
+                long key = DatasetBuilder.tankKey(playerId, tank.getId());
+                if (!wantedTanks.contains(key)) {
+                    continue;
+                }
                 playerTankMap.put(key, tank);
+
+                // Les nouvelles catégories sont numérotées dans l'ordre de lecture (et non
+                // dans l'ordre, non déterministe, de la génération parallèle)
+                vocabularies.getTankRole().indexOf(tank.getRole());
+                vocabularies.getTankVehicleClass().indexOf(tank.getVehicleClass());
+                vocabularies.getTankNation().indexOf(tank.getNation());
             }
+            // Les autres tanks ne servent plus : on les libère tout de suite
+            player.getData().setTanks(null);
+        };
+
+        if (ExportService.streamExportData(input, null, playerConsumer)) {
+            System.out.println("Export data loaded successfully.");
+        } else {
+            System.out.println("Failed to load export data.");
+            return false;
         }
 
-        // Maintenant je construis un dataset par battledetail
-        for (BattleDetail battleDetail : data.getBattleDetails()) {
-            System.out.println("Generating dataset for BattleDetail ID: " + battleDetail.getId());
-            StringBuilder csvBuilder = new StringBuilder();
+        // Maintenant je construis un dataset par battledetail, en parallèle sur tous les coeurs
+        boolean sharded = "sharded".equals(OUTPUT_MODE);
+        DatasetBuilder builder = new DatasetBuilder(playerMap, playerTankMap, DECIMAL_SEPARATOR, sharded,
+                ENCODE_CATEGORIES ? vocabularies : null);
 
-            // Header
-            csvBuilder.append(String.join(";", Row.HEADERS)).append("\n");
+        boolean append = !manifest.isEmpty();
+        int candidates = battleDetails.size();
+        battleDetails.removeIf(battleDetail -> !manifest.needsBuild(battleDetail, builder));
+        System.out.println("Building " + battleDetails.size() + " battles (" + (candidates - battleDetails.size())
+                + " previously materialized battles unchanged)");
 
-            for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
-                Player player = playerMap.get(bdPlayer.getPlayerId());
-                if (player == null) {
-                    System.out.println("Player not found for ID: " + bdPlayer.getId());
-                    continue;
-                }
+        try (DatasetSink sink = createSink(builder, sharded, append, vocabularies, manifest)) {
+            new ParallelDatasetGenerator(builder).generate(battleDetails, sink);
+            vocabularies.save(FileUtils.getExportDataFile(VOCABULARIES_FILE));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
 
-                Data dataPlayer = player.getData();
-
-                // Columns
-//                "battles",
-//                        "overallWN8",
-//                        "overallWNX",
-//                        "winrate",
-//                        "dpg",
-//                        "assist",
-//                        "frags",
-//                        "survival",
-//                        "spots",
-//                        "cap",
-//                        "def",
-//                        "xp",
-//                        "kd",
-//                        "map",
-//                        "spawn",
-//                        "target",
-//                        "tankId",
-//                        "tankWN8",
-//                        "tankWNX",
-//                        "tankRole",
-//                        "tankWinrate",
-//                        "tankVehicleClass",
-//                        "tankNation",
-//                        "tankDpg",
-//                        "tankAssist",
-//                        "tankKpg",
-//                        "tankDmgRatio",
-//                        "tankSurvival",
-//                        "tankXp",
-//                        "tankHitratio",
-//                        "tankSpots",
-//                        "tankArmoreff",
-//                        "tankMoe",
-//                        "tankMastery",
-//                        "tankKd"
-
-                Tank tank = playerTankMap.get(bdPlayer.getPlayerId() + "_" + bdPlayer.getTankId());
-                if (tank == null) {
-                    System.out.println("Tank not found for Player ID: " + bdPlayer.getPlayerId() + " and Tank ID: " + bdPlayer.getTankId());
-                    continue;
-                }
+        return true;
+    }
 
-                // Vérifier si toutes les valeurs nécessaires sont présentes
-                boolean hasAllValues = Stream.of(
-                    dataPlayer.getBattles(),
-                    dataPlayer.getOverallWN8(),
-                    dataPlayer.getOverallWNX(),
-                    dataPlayer.getWinrate(),
-                    dataPlayer.getDpg(),
-                    dataPlayer.getAssist(),
-                    dataPlayer.getFrags(),
-                    dataPlayer.getSurvival(),
-                    dataPlayer.getSpots(),
-                    dataPlayer.getCap(),
-                    dataPlayer.getDef(),
-                    dataPlayer.getXp(),
-                    dataPlayer.getKd(),
-                    battleDetail.getGeneral().getMapId(),
-                    bdPlayer.getSpawn(),
-                    tank.getId() // si le tank existe, son id ne sera pas null et le reste des valeurs non plus
-                ).noneMatch(Objects::isNull);
-
-                if (!hasAllValues) {
-                    System.out.println("Skipping player ID: " + bdPlayer.getPlayerId() + " - missing data");
-                    continue;
+    /**
+     * Construit les datasets en une seule passe sur l'export : chaque bataille est écrite dès que les profils
+     * de tous ses joueurs ont été lus (BattleAssembler). Même sortie que buildDatasets, à l'ordre des batailles près.
+     */
+    private static boolean assembleDatasets(File input) {
+        try (DatasetPipeline pipeline = openPipeline()) {
+            BattleAssembler assembler = pipeline.getAssembler();
+            boolean loaded = ExportService.streamExportData(input, battleDetail -> {
+                try {
+                    assembler.onBattleDetail(battleDetail);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-
-                Row row = new Row();
-
-                // Features from Player
-                row.setBattles(dataPlayer.getBattles());
-                row.setOverallWN8(dataPlayer.getOverallWN8());
-                row.setOverallWNX(dataPlayer.getOverallWNX());
-                row.setWinrate(dataPlayer.getWinrate());
-                row.setDpg(dataPlayer.getDpg());
-                row.setAssist(dataPlayer.getAssist());
-                row.setFrags(dataPlayer.getFrags());
-                row.setSurvival(dataPlayer.getSurvival());
-                row.setSpots(dataPlayer.getSpots());
-                row.setCap(dataPlayer.getCap());
-                row.setDef(dataPlayer.getDef());
-                row.setXp(dataPlayer.getXp());
-                row.setKd(dataPlayer.getKd());
-
-                // From Tank
-                row.setTankId(tank.getId());
-                row.setTankWN8(tank.getWn8());
-                row.setTankWNX(tank.getWnx());
-                row.setTankRole(tank.getRole());
-                row.setTankWinrate(tank.getWinrate());
-                row.setTankVehicleClass(tank.getVehicleClass());
-                row.setTankNation(tank.getNation());
-                row.setTankDpg(tank.getDpg());
-                row.setTankAssist(tank.getAssist());
-                row.setTankKpg(tank.getKpg());
-                row.setTankDmgRatio(tank.getDmgratio());
-                row.setTankSurvival(tank.getSurvival());
-                row.setTankXp(tank.getXp());
-                row.setTankHitratio(tank.getHitratio());
-                row.setTankSpots(tank.getSpots());
-                row.setTankArmoreff(tank.getArmoreff());
-                row.setTankMoe(tank.getMoe());
-                row.setTankMastery(tank.getMastery());
-                row.setTankKd(tank.getKd());
-
-                // Features from BattleDetail.Player
-                row.setMap(battleDetail.getGeneral().getMapId());
-                row.setSpawn(bdPlayer.getSpawn());
-
-                // Target
-                if (bdPlayer.getSpawn() == 1) {
-                    row.setTarget(battleDetail.isTeam1Won() ? 1 : 0);
-                } else {
-                    row.setTarget(battleDetail.isTeam1Won() ? 0 : 1);
+            }, player -> {
+                try {
+                    assembler.onPlayer(player);
+                    // Tanks indexés par l'assembler : la liste complète ne sert plus
+                    if (player != null && player.getData() != null) {
+                        player.getData().setTanks(null);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-
-                // Append CSV line
-                csvBuilder.append(row.toCsvLine()).append("\n");
+            });
+            if (!loaded) {
+                System.out.println("Failed to load export data.");
+                return false;
             }
-
-            // Write to file
-            String fileName = "datasets/dataset_battle_" + battleDetail.getId() + ".csv";
-            FileUtils.writeStringToFile(fileName, csvBuilder.toString());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
         }
 
-        System.out.println("Datasets generated successfully.");
+        return true;
+    }
+
+    /**
+     * Ouvre l'assemblage des datasets avec la configuration courante (vocabulaires, manifeste, sorties).
+     * Utilisé par la commande pipeline et par le scraper lancé dans le même process (fr.arthurbr02.scraper.Main datasets).
+     * Sans passe préalable sur les profils, une bataille déjà matérialisée attend les profils de ses joueurs :
+     * elle n'est reconstruite que si l'un d'eux a changé (DatasetManifest.needsBuild).
+     */
+    public static DatasetPipeline openPipeline() throws IOException {
+        Map<Long, Player> playerMap = new HashMap<>();
+        LongObjectHashMap<Tank> playerTankMap = new LongObjectHashMap<>();
+        boolean sharded = "sharded".equals(OUTPUT_MODE);
+
+        Vocabularies vocabularies = Vocabularies.load(FileUtils.getExportDataFile(VOCABULARIES_FILE));
+        DatasetManifest manifest = loadManifest();
+        DatasetBuilder builder = new DatasetBuilder(playerMap, playerTankMap, DECIMAL_SEPARATOR, sharded,
+                ENCODE_CATEGORIES ? vocabularies : null);
+        DatasetSink sink = createSink(builder, sharded, !manifest.isEmpty(), vocabularies, manifest);
+        BattleAssembler assembler = new BattleAssembler(builder, playerMap, playerTankMap, vocabularies, manifest, sink);
+        return new DatasetPipeline(assembler, sink, vocabularies, FileUtils.getExportDataFile(VOCABULARIES_FILE));
+    }
+
+    private static DatasetManifest loadManifest() throws IOException {
+        File manifestFile = FileUtils.getExportDataFile(MANIFEST_FILE);
+        String settings = OUTPUT_MODE + ";" + DECIMAL_SEPARATOR + ";" + ENCODE_CATEGORIES + ";" + EXPORT_FEATURES;
+        return INCREMENTAL
+                ? DatasetManifest.load(manifestFile, settings, DECIMAL_SEPARATOR)
+                : DatasetManifest.empty(manifestFile, settings, DECIMAL_SEPARATOR);
+    }
+
+    private static DatasetSink createSink(DatasetBuilder builder, boolean sharded, boolean append,
+                                          Vocabularies vocabularies, DatasetManifest manifest) throws IOException {
+        List<DatasetSink> sinks = new ArrayList<>();
+        // En append, les anciennes lignes des batailles reconstruites sont retirées (le manifeste, écrit en dernier,
+        // ne connaît encore que les batailles des exécutions précédentes)
+        Predicate<String> materialized = append ? manifest::contains : null;
+        sinks.add(sharded
+                ? new ShardedCsvSink(FileUtils.getExportDataFile("datasets"), SHARD_SIZE_BYTES, builder.headerLine(), materialized)
+                : new PerBattleCsvSink(FileUtils.getExportDataFile("datasets"), builder.headerLine()));
+        if (EXPORT_FEATURES) {
+            sinks.add(new FeatureTableSink(FileUtils.getExportDataFile("datasets/battle_features.csv"), materialized));
+        }
+        if (EXPORT_TENSORS) {
+            sinks.add(new TensorSink(FileUtils.getExportDataFile("datasets/tensors"), vocabularies));
+        }
+        // En dernier : une bataille n'est enregistrée que si toutes les autres sorties l'ont écrite
+        sinks.add(manifest);
+        return new CompositeDatasetSink(sinks);
     }
-}
\ No newline at end of file
+}
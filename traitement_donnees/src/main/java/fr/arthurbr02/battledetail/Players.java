@@ -1,5 +0,0 @@
-package fr.arthurbr02.battledetail;
-
-import java.util.ArrayList;
-
-public class Players extends ArrayList<Player> {}
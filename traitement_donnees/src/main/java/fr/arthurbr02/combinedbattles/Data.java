@@ -1,7 +0,0 @@
-package fr.arthurbr02.combinedbattles;
-
-import java.util.ArrayList;
-
-public class Data extends ArrayList<Battle> {
-
-}
@@ -0,0 +1,193 @@
+package fr.arthurbr02.datasetbuilder;
+
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
+import fr.arthurbr02.player.tanks.Tank;
+import fr.arthurbr02.utils.LongObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Construit les datasets au fil de l'eau à partir d'événements bataille / joueur, dans n'importe quel ordre
+ * (lecture d'un export en une seule passe, ou scraper dans le même process).
+ *
+ * Une bataille est mise en attente jusqu'à ce que le profil de chacun de ses joueurs soit arrivé ou
+ * déclaré indisponible ; ses lignes sont alors construites et écrites immédiatement dans le sink.
+ * À la fermeture, les batailles encore en attente sont écrites avec leurs joueurs manquants
+ * (enregistrés dans le manifeste, elles seront reconstruites quand les profils arriveront).
+ *
+ * Les index joueurs / tanks sont ceux du DatasetBuilder : ils sont remplis ici. Les méthodes sont
+ * synchronisées, le sink est donc toujours appelé par un seul thread à la fois.
+ */
+public class BattleAssembler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BattleAssembler.class);
+
+    private final DatasetBuilder builder;
+    private final Map<Long, Player> playerMap;
+    private final LongObjectHashMap<Tank> playerTankMap;
+    private final Vocabularies vocabularies;
+    private final DatasetManifest manifest;
+    private final DatasetSink sink;
+
+    // Batailles en attente, dans leur ordre d'arrivée (pour le flush final)
+    private final Map<String, PendingBattle> pending = new LinkedHashMap<>();
+    // Batailles en attente de chaque joueur
+    private final Map<Long, List<PendingBattle>> waitingFor = new HashMap<>();
+    // Joueurs dont le profil ne viendra pas
+    private final Set<Long> unavailable = new HashSet<>();
+    private final Set<String> seen = new HashSet<>();
+
+    private int written;
+    private int skipped;
+
+    private static class PendingBattle {
+        private final BattleDetail battleDetail;
+        private int remaining;
+
+        private PendingBattle(BattleDetail battleDetail) {
+            this.battleDetail = battleDetail;
+        }
+    }
+
+    /**
+     * @param playerMap     index joueurs du builder, rempli par onPlayer
+     * @param playerTankMap index tanks du builder, rempli par onPlayer
+     */
+    public BattleAssembler(DatasetBuilder builder, Map<Long, Player> playerMap, LongObjectHashMap<Tank> playerTankMap,
+                           Vocabularies vocabularies, DatasetManifest manifest, DatasetSink sink) {
+        this.builder = builder;
+        this.playerMap = playerMap;
+        this.playerTankMap = playerTankMap;
+        this.vocabularies = vocabularies;
+        this.manifest = manifest;
+        this.sink = sink;
+    }
+
+    public synchronized void onBattleDetail(BattleDetail battleDetail) throws IOException {
+        String id = battleDetail.getId();
+        if (id == null || !seen.add(id)) {
+            return;
+        }
+        // Déjà matérialisée avec tous ses joueurs, dont aucun profil n'a changé (seulement après une passe
+        // préalable sur les profils : sinon needsBuild tranche à l'émission)
+        if (manifest.isUpToDate(battleDetail)) {
+            skipped++;
+            return;
+        }
+
+        if (battleDetail.getGeneral() != null && battleDetail.getGeneral().getMapId() != null) {
+            vocabularies.mapIndex(battleDetail.getGeneral().getMapId());
+        }
+
+        PendingBattle battle = new PendingBattle(battleDetail);
+        Set<Long> awaited = new HashSet<>();
+        for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
+            Long playerId = bdPlayer.getPlayerId();
+            if (playerId == null || playerMap.containsKey(playerId) || unavailable.contains(playerId) || !awaited.add(playerId)) {
+                continue;
+            }
+            waitingFor.computeIfAbsent(playerId, key -> new ArrayList<>()).add(battle);
+            battle.remaining++;
+        }
+
+        if (battle.remaining == 0) {
+            emit(battleDetail);
+        } else {
+            pending.put(id, battle);
+        }
+    }
+
+    public synchronized void onPlayer(Player player) throws IOException {
+        if (player == null || player.getData() == null || player.getData().getId() == null) {
+            return;
+        }
+        long playerId = player.getData().getId();
+        playerMap.put(playerId, player);
+        manifest.setPlayerVersion(playerId, DatasetManifest.profileVersion(player));
+
+        // L'ensemble des batailles à venir n'est pas connu : tous les tanks du joueur sont indexés.
+        // Le Player n'est pas modifié (le scraper le garde pour ses exports) : à l'appelant de libérer
+        // la liste complète des tanks s'il n'en a plus besoin
+        if (player.getData().getTanks() != null) {
+            for (Tank tank : player.getData().getTanks()) {
+                if (tank != null && tank.getId() != null) {
+                    playerTankMap.put(DatasetBuilder.tankKey(playerId, tank.getId()), tank);
+                }
+            }
+        }
+
+        release(playerId);
+    }
+
+    public synchronized void onPlayerUnavailable(long playerId) throws IOException {
+        if (!playerMap.containsKey(playerId) && unavailable.add(playerId)) {
+            release(playerId);
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private void release(long playerId) throws IOException {
+        List<PendingBattle> battles = waitingFor.remove(playerId);
+        if (battles == null) {
+            return;
+        }
+        for (PendingBattle battle : battles) {
+            if (--battle.remaining == 0) {
+                pending.remove(battle.battleDetail.getId());
+                emit(battle.battleDetail);
+            }
+        }
+    }
+
+    private void emit(BattleDetail battleDetail) throws IOException {
+        if (!manifest.needsBuild(battleDetail, builder)) {
+            skipped++;
+            return;
+        }
+
+        // Les nouvelles catégories sont numérotées dans l'ordre d'émission, sur le thread appelant
+        for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
+            if (bdPlayer.getPlayerId() == null || bdPlayer.getTankId() == null) {
+                continue;
+            }
+            Tank tank = playerTankMap.get(DatasetBuilder.tankKey(bdPlayer.getPlayerId(), bdPlayer.getTankId()));
+            if (tank != null) {
+                vocabularies.getTankRole().indexOf(tank.getRole());
+                vocabularies.getTankVehicleClass().indexOf(tank.getVehicleClass());
+                vocabularies.getTankNation().indexOf(tank.getNation());
+            }
+        }
+
+        sink.write(builder.build(battleDetail));
+        written++;
+    }
+
+    /**
+     * Écrit les batailles encore en attente avec les joueurs disponibles. Ne ferme pas le sink.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!pending.isEmpty()) {
+            logger.info("Flushing {} battles still waiting for player profiles", pending.size());
+        }
+        List<PendingBattle> battles = new ArrayList<>(pending.values());
+        pending.clear();
+        waitingFor.clear();
+        for (PendingBattle battle : battles) {
+            emit(battle.battleDetail);
+        }
+        logger.info("Assembled {} battles ({} previously materialized battles unchanged)", written, skipped);
+    }
+}
@@ -0,0 +1,96 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Features globales d'une bataille : agrégats par équipe et deltas équipe 1 - équipe 2.
+ * Les six premières colonnes reprennent GLOBAL_FEATURES de ml/main.py.
+ */
+public class BattleFeatures {
+    private record Column(String name, boolean integer, ToDoubleFunction<BattleFeatures> value) {
+    }
+
+    private static final List<Column> COLUMNS = new ArrayList<>();
+
+    static {
+        delta("delta_mean_wn8", TeamAggregates::getMeanWn8);
+        delta("delta_mean_wr", TeamAggregates::getMeanWinrate);
+        delta("delta_top3_wn8", TeamAggregates::getTop3Wn8);
+        delta("delta_sum_battles", TeamAggregates::getSumBattles);
+        delta("delta_mean_dpg", TeamAggregates::getMeanDpg);
+        delta("delta_mean_xp", TeamAggregates::getMeanXp);
+        delta("delta_tier_mean", TeamAggregates::getTierMean);
+
+        perTeam("mean_wn8", false, TeamAggregates::getMeanWn8);
+        perTeam("mean_wr", false, TeamAggregates::getMeanWinrate);
+        perTeam("top3_wn8", false, TeamAggregates::getTop3Wn8);
+        perTeam("sum_battles", true, TeamAggregates::getSumBattles);
+        perTeam("mean_dpg", false, TeamAggregates::getMeanDpg);
+        perTeam("mean_xp", false, TeamAggregates::getMeanXp);
+        perTeam("players", true, TeamAggregates::getPlayers);
+        perTeam("tanks", true, TeamAggregates::getTanks);
+        perTeam("ht", true, TeamAggregates::getHeavy);
+        perTeam("mt", true, TeamAggregates::getMedium);
+        perTeam("lt", true, TeamAggregates::getLight);
+        perTeam("td", true, TeamAggregates::getDestroyers);
+        perTeam("spg", true, TeamAggregates::getArtillery);
+        perTeam("tier_min", true, TeamAggregates::getTierMin);
+        perTeam("tier_max", true, TeamAggregates::getTierMax);
+        perTeam("tier_mean", false, TeamAggregates::getTierMean);
+        perTeam("tier_spread", true, TeamAggregates::getTierSpread);
+        perTeam("platoon_players", true, TeamAggregates::getPlatoonPlayers);
+        perTeam("platoons", true, TeamAggregates::getPlatoons);
+    }
+
+    private final TeamAggregates team1 = new TeamAggregates();
+    private final TeamAggregates team2 = new TeamAggregates();
+
+    public TeamAggregates team(int spawn) {
+        return spawn == 1 ? team1 : spawn == 2 ? team2 : null;
+    }
+
+    public TeamAggregates getTeam1() {
+        return team1;
+    }
+
+    public TeamAggregates getTeam2() {
+        return team2;
+    }
+
+    public static String headerLine() {
+        StringBuilder header = new StringBuilder(CsvRowEncoder.BATTLE_ID_HEADER);
+        for (Column column : COLUMNS) {
+            header.append(CsvRowEncoder.FIELD_SEPARATOR).append(column.name());
+        }
+        return header.toString();
+    }
+
+    /**
+     * Ajoute la ligne de la bataille à out (sans retour à la ligne).
+     */
+    public void encode(String battleId, CsvRowEncoder encoder, StringBuilder out) {
+        encoder.beginLine();
+        encoder.writeString(battleId);
+        for (Column column : COLUMNS) {
+            encoder.writeSeparator();
+            double value = column.value().applyAsDouble(this);
+            if (column.integer()) {
+                encoder.writeLong((long) value);
+            } else {
+                encoder.writeDouble(value);
+            }
+        }
+        out.append(encoder.buffer(), 0, encoder.length());
+    }
+
+    private static void delta(String name, ToDoubleFunction<TeamAggregates> value) {
+        COLUMNS.add(new Column(name, false, f -> value.applyAsDouble(f.team1) - value.applyAsDouble(f.team2)));
+    }
+
+    private static void perTeam(String name, boolean integer, ToDoubleFunction<TeamAggregates> value) {
+        COLUMNS.add(new Column("team1_" + name, integer, f -> value.applyAsDouble(f.team1)));
+        COLUMNS.add(new Column("team2_" + name, integer, f -> value.applyAsDouble(f.team2)));
+    }
+}
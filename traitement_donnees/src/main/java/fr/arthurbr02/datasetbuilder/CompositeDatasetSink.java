@@ -0,0 +1,41 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Transmet chaque dataset à plusieurs sinks, dans l'ordre de la liste.
+ */
+public class CompositeDatasetSink implements DatasetSink {
+    private final List<DatasetSink> sinks;
+
+    public CompositeDatasetSink(List<DatasetSink> sinks) {
+        this.sinks = sinks;
+    }
+
+    @Override
+    public void write(Dataset dataset) throws IOException {
+        for (DatasetSink sink : sinks) {
+            sink.write(dataset);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (DatasetSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodeur CSV d'une Row, sans String.format.
+ * Les colonnes sont écrites dans l'ordre de Row.HEADERS, directement dans un buffer réutilisé
+ * d'une ligne à l'autre : pas de boxing, pas de parsing de pattern, pas de copie intermédiaire.
+ * Les doubles sont écrits avec 2 décimales (arrondi HALF_UP, comme %.2f) et un séparateur décimal
+ * explicite, indépendant de la locale de la JVM.
+ * Avec des Vocabularies, les colonnes catégorielles (map, tankRole, tankVehicleClass, tankNation)
+ * sont écrites directement sous forme d'index entiers, dans des colonnes suffixées par "Idx".
+ * Une instance n'est pas thread-safe : un encodeur par thread.
+ */
+public class CsvRowEncoder {
+    public static final char FIELD_SEPARATOR = ';';
+    public static final char DEFAULT_DECIMAL_SEPARATOR = ',';
+    public static final String BATTLE_ID_HEADER = "battle_id";
+    public static final String ENCODED_SUFFIX = "Idx";
+
+    private static final int DECIMALS = 2;
+    private static final long SCALE = 100;
+    // Au-delà, le produit abs * 100 perd trop de précision pour détecter les cas d'arrondi limites
+    private static final double FAST_PATH_LIMIT = 1e9;
+    private static final double TIE_TOLERANCE = 1e-4;
+
+    @FunctionalInterface
+    private interface ColumnWriter {
+        void write(CsvRowEncoder encoder, Row row);
+    }
+
+    private static final Map<String, ColumnWriter> COLUMNS = new HashMap<>();
+
+    static {
+        COLUMNS.put("battles", (e, r) -> e.writeLong(r.getBattles()));
+        COLUMNS.put("overallWN8", (e, r) -> e.writeLong(r.getOverallWN8()));
+        COLUMNS.put("overallWNX", (e, r) -> e.writeLong(r.getOverallWNX()));
+        COLUMNS.put("winrate", (e, r) -> e.writeDouble(r.getWinrate()));
+        COLUMNS.put("dpg", (e, r) -> e.writeLong(r.getDpg()));
+        COLUMNS.put("assist", (e, r) -> e.writeLong(r.getAssist()));
+        COLUMNS.put("frags", (e, r) -> e.writeDouble(r.getFrags()));
+        COLUMNS.put("survival", (e, r) -> e.writeDouble(r.getSurvival()));
+        COLUMNS.put("spots", (e, r) -> e.writeDouble(r.getSpots()));
+        COLUMNS.put("cap", (e, r) -> e.writeDouble(r.getCap()));
+        COLUMNS.put("def", (e, r) -> e.writeDouble(r.getDef()));
+        COLUMNS.put("xp", (e, r) -> e.writeLong(r.getXp()));
+        COLUMNS.put("kd", (e, r) -> e.writeDouble(r.getKd()));
+        COLUMNS.put("map", (e, r) -> e.writeLong(r.getMap()));
+        COLUMNS.put("spawn", (e, r) -> e.writeLong(r.getSpawn()));
+        COLUMNS.put("target", (e, r) -> e.writeLong(r.getTarget()));
+        COLUMNS.put("tankId", (e, r) -> e.writeLong(r.getTankId()));
+        COLUMNS.put("tankWN8", (e, r) -> e.writeLong(r.getTankWN8()));
+        COLUMNS.put("tankWNX", (e, r) -> e.writeLong(r.getTankWNX()));
+        COLUMNS.put("tankRole", (e, r) -> e.writeString(r.getTankRole()));
+        COLUMNS.put("tankWinrate", (e, r) -> e.writeDouble(r.getTankWinrate()));
+        COLUMNS.put("tankVehicleClass", (e, r) -> e.writeString(r.getTankVehicleClass()));
+        COLUMNS.put("tankNation", (e, r) -> e.writeString(r.getTankNation()));
+        COLUMNS.put("tankDpg", (e, r) -> e.writeLong(r.getTankDpg()));
+        COLUMNS.put("tankAssist", (e, r) -> e.writeLong(r.getTankAssist()));
+        COLUMNS.put("tankKpg", (e, r) -> e.writeDouble(r.getTankKpg()));
+        COLUMNS.put("tankDmgRatio", (e, r) -> e.writeDouble(r.getTankDmgRatio()));
+        COLUMNS.put("tankSurvival", (e, r) -> e.writeDouble(r.getTankSurvival()));
+        COLUMNS.put("tankXp", (e, r) -> e.writeLong(r.getTankXp()));
+        COLUMNS.put("tankHitratio", (e, r) -> e.writeLong(r.getTankHitratio()));
+        COLUMNS.put("tankSpots", (e, r) -> e.writeDouble(r.getTankSpots()));
+        COLUMNS.put("tankArmoreff", (e, r) -> e.writeLong(r.getTankArmoreff()));
+        COLUMNS.put("tankMoe", (e, r) -> e.writeLong(r.getTankMoe()));
+        COLUMNS.put("tankMastery", (e, r) -> e.writeLong(r.getTankMastery()));
+        COLUMNS.put("tankKd", (e, r) -> e.writeDouble(r.getTankKd()));
+    }
+
+    // Colonnes remplacées par leur index quand l'encodeur a des vocabulaires
+    private static final Map<String, ColumnWriter> ENCODED_COLUMNS = new HashMap<>();
+
+    static {
+        ENCODED_COLUMNS.put("map", (e, r) -> e.writeLong(e.vocabularies.mapIndex(r.getMap())));
+        ENCODED_COLUMNS.put("tankRole", (e, r) -> e.writeLong(e.vocabularies.getTankRole().indexOf(r.getTankRole())));
+        ENCODED_COLUMNS.put("tankVehicleClass", (e, r) -> e.writeLong(e.vocabularies.getTankVehicleClass().indexOf(r.getTankVehicleClass())));
+        ENCODED_COLUMNS.put("tankNation", (e, r) -> e.writeLong(e.vocabularies.getTankNation().indexOf(r.getTankNation())));
+    }
+
+    private final ColumnWriter[] writers;
+    private final char decimalSeparator;
+    private final Vocabularies vocabularies;
+
+    private char[] buffer = new char[256];
+    private int length;
+
+    public CsvRowEncoder() {
+        this(DEFAULT_DECIMAL_SEPARATOR);
+    }
+
+    public CsvRowEncoder(char decimalSeparator) {
+        this(decimalSeparator, null);
+    }
+
+    /**
+     * @param vocabularies vocabulaires des colonnes catégorielles, null pour les écrire en clair
+     */
+    public CsvRowEncoder(char decimalSeparator, Vocabularies vocabularies) {
+        if (decimalSeparator == FIELD_SEPARATOR) {
+            throw new IllegalArgumentException("Decimal separator cannot be the field separator");
+        }
+        this.decimalSeparator = decimalSeparator;
+        this.vocabularies = vocabularies;
+        this.writers = new ColumnWriter[Row.HEADERS.length];
+        for (int i = 0; i < Row.HEADERS.length; i++) {
+            ColumnWriter writer = vocabularies != null && ENCODED_COLUMNS.containsKey(Row.HEADERS[i])
+                    ? ENCODED_COLUMNS.get(Row.HEADERS[i])
+                    : COLUMNS.get(Row.HEADERS[i]);
+            if (writer == null) {
+                throw new IllegalStateException("No CSV writer for column " + Row.HEADERS[i]);
+            }
+            writers[i] = writer;
+        }
+    }
+
+    public static String headerLine(boolean withBattleId) {
+        return headerLine(withBattleId, false);
+    }
+
+    public static String headerLine(boolean withBattleId, boolean encodedCategories) {
+        StringBuilder header = new StringBuilder();
+        if (withBattleId) {
+            header.append(BATTLE_ID_HEADER).append(FIELD_SEPARATOR);
+        }
+        for (int i = 0; i < Row.HEADERS.length; i++) {
+            if (i > 0) {
+                header.append(FIELD_SEPARATOR);
+            }
+            header.append(Row.HEADERS[i]);
+            if (encodedCategories && ENCODED_COLUMNS.containsKey(Row.HEADERS[i])) {
+                header.append(ENCODED_SUFFIX);
+            }
+        }
+        return header.toString();
+    }
+
+    /**
+     * Encode la ligne dans le buffer interne (sans retour à la ligne) et retourne sa longueur.
+     * Si battleId n'est pas null, il est écrit en première colonne.
+     * Le contenu reste valide jusqu'au prochain appel.
+     */
+    public int encode(Row row, String battleId) {
+        length = 0;
+        if (battleId != null) {
+            writeString(battleId);
+            append(FIELD_SEPARATOR);
+        }
+        for (int i = 0; i < writers.length; i++) {
+            if (i > 0) {
+                append(FIELD_SEPARATOR);
+            }
+            writers[i].write(this, row);
+        }
+        return length;
+    }
+
+    /**
+     * Encode la ligne et l'ajoute à out, sans retour à la ligne.
+     */
+    public void encode(Row row, String battleId, StringBuilder out) {
+        encode(row, battleId);
+        out.append(buffer, 0, length);
+    }
+
+    public char[] buffer() {
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // Primitives d'écriture réutilisées par les autres tables (ex. BattleFeatures)
+
+    void beginLine() {
+        length = 0;
+    }
+
+    void writeSeparator() {
+        append(FIELD_SEPARATOR);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            value = "null";
+        }
+        int n = value.length();
+        ensureCapacity(n);
+        value.getChars(0, n, buffer, length);
+        length += n;
+    }
+
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeString(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        writeDigits(value, 1);
+    }
+
+    /**
+     * Écrit value en base 10 sur au moins minDigits chiffres (complété par des zéros à gauche).
+     */
+    private void writeDigits(long value, int minDigits) {
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        ensureCapacity(digits);
+        int pos = length + digits;
+        for (int i = 0; i < digits; i++) {
+            buffer[--pos] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    void writeDouble(double value) {
+        if (Double.isNaN(value)) {
+            writeString("NaN");
+            return;
+        }
+        if (Double.isInfinite(value)) {
+            writeString(value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+
+        // %.2f conserve le signe de -0.0 et des valeurs négatives arrondies à zéro
+        if (Double.doubleToRawLongBits(value) < 0) {
+            append('-');
+        }
+        double abs = Math.abs(value);
+
+        long units = -1;
+        if (abs < FAST_PATH_LIMIT) {
+            double scaled = abs * SCALE;
+            double fraction = scaled - Math.floor(scaled);
+            if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+                units = Math.round(scaled);
+            }
+        }
+        if (units < 0) {
+            // Cas limite (x.xx5) ou très grande valeur : même arrondi que Formatter,
+            // HALF_UP sur la représentation décimale la plus courte du double
+            BigDecimal rounded = new BigDecimal(Double.toString(abs)).setScale(DECIMALS, RoundingMode.HALF_UP);
+            if (rounded.precision() > 18) {
+                writeString(rounded.toPlainString().replace('.', decimalSeparator));
+                return;
+            }
+            units = rounded.unscaledValue().longValue();
+        }
+
+        writeDigits(units / SCALE, 1);
+        append(decimalSeparator);
+        writeDigits(units % SCALE, DECIMALS);
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
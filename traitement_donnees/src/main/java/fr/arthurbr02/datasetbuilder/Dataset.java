@@ -1,7 +1,60 @@
 package fr.arthurbr02.datasetbuilder;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class Dataset extends ArrayList<Row> {
+    private final String battleId;
 
+    // Lignes CSV déjà encodées (sans header), prêtes à être écrites
+    private String csvLines;
+
+    // Agrégats par équipe calculés pendant la construction du dataset
+    private BattleFeatures features;
+
+    // Joueurs de la bataille sans ligne (profil, tank ou valeurs manquants)
+    private final List<Long> missingPlayers = new ArrayList<>();
+
+    // Joueurs de la bataille ayant produit une ligne
+    private final List<Long> players = new ArrayList<>();
+
+    public Dataset(String battleId) {
+        this.battleId = battleId;
+    }
+
+    public String getBattleId() {
+        return battleId;
+    }
+
+    public String getCsvLines() {
+        return csvLines;
+    }
+
+    public void setCsvLines(String csvLines) {
+        this.csvLines = csvLines;
+    }
+
+    public BattleFeatures getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(BattleFeatures features) {
+        this.features = features;
+    }
+
+    public List<Long> getMissingPlayers() {
+        return missingPlayers;
+    }
+
+    public void addMissingPlayer(long playerId) {
+        missingPlayers.add(playerId);
+    }
+
+    public List<Long> getPlayers() {
+        return players;
+    }
+
+    public void addPlayer(long playerId) {
+        players.add(playerId);
+    }
 }
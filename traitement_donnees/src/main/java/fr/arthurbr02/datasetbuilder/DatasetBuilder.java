@@ -0,0 +1,209 @@
+package fr.arthurbr02.datasetbuilder;
+
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Data;
+import fr.arthurbr02.player.Player;
+import fr.arthurbr02.player.tanks.Tank;
+import fr.arthurbr02.utils.LongObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Construit le dataset d'un BattleDetail à partir des index joueurs / tanks.
+ * Les index sont partagés en lecture seule : une même instance peut être utilisée
+ * par plusieurs threads en parallèle.
+ */
+public class DatasetBuilder {
+    // Appelé depuis les workers du pool : détails par bataille / joueur en debug uniquement
+    private static final Logger logger = LoggerFactory.getLogger(DatasetBuilder.class);
+
+    private final Map<Long, Player> playerMap;
+    // Tanks indexés par tankKey(playerId, tankId)
+    private final LongObjectHashMap<Tank> playerTankMap;
+
+    // Un encodeur (et donc un buffer) par thread du pool, réutilisé d'une bataille à l'autre
+    private final ThreadLocal<CsvRowEncoder> encoder;
+
+    // Préfixe chaque ligne par la colonne battle_id (sorties consolidées)
+    private final boolean withBattleIdColumn;
+
+    // Colonnes catégorielles écrites sous forme d'index (null : en clair)
+    private final Vocabularies vocabularies;
+
+    public DatasetBuilder(Map<Long, Player> playerMap, LongObjectHashMap<Tank> playerTankMap) {
+        this(playerMap, playerTankMap, CsvRowEncoder.DEFAULT_DECIMAL_SEPARATOR, false, null);
+    }
+
+    public DatasetBuilder(Map<Long, Player> playerMap, LongObjectHashMap<Tank> playerTankMap, char decimalSeparator,
+                          boolean withBattleIdColumn, Vocabularies vocabularies) {
+        this.playerMap = playerMap;
+        this.playerTankMap = playerTankMap;
+        this.encoder = ThreadLocal.withInitial(() -> new CsvRowEncoder(decimalSeparator, vocabularies));
+        this.withBattleIdColumn = withBattleIdColumn;
+        this.vocabularies = vocabularies;
+    }
+
+    /**
+     * Clé d'un tank de joueur : playerId sur les 32 bits de poids fort, tankId sur les 32 bits de poids faible.
+     * Les account_id et tank_id Wargaming tiennent tous deux sur 32 bits non signés.
+     */
+    public static long tankKey(long playerId, long tankId) {
+        return (playerId << 32) | (tankId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * En-tête CSV correspondant aux lignes produites par build.
+     */
+    public String headerLine() {
+        return CsvRowEncoder.headerLine(withBattleIdColumn, vocabularies != null);
+    }
+
+    public Dataset build(BattleDetail battleDetail) {
+        logger.debug("Generating dataset for BattleDetail ID: {}", battleDetail.getId());
+        Dataset dataset = new Dataset(battleDetail.getId());
+        CsvRowEncoder rowEncoder = encoder.get();
+        StringBuilder csvBuilder = new StringBuilder();
+        String battleIdColumn = withBattleIdColumn ? battleDetail.getId() : null;
+        BattleFeatures features = new BattleFeatures();
+
+        for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
+            // La composition de l'équipe porte sur tous les joueurs, même sans profil
+            TeamAggregates team = bdPlayer.getSpawn() != null ? features.team(bdPlayer.getSpawn()) : null;
+            if (team != null) {
+                team.addTank(bdPlayer.getType(), bdPlayer.getTier(), bdPlayer.getPlatoon());
+            }
+
+            Row row = toRow(battleDetail, bdPlayer, true);
+            if (row == null) {
+                // Retenu dans le manifeste : la bataille sera reconstruite si le profil arrive plus tard
+                if (bdPlayer.getPlayerId() != null) {
+                    dataset.addMissingPlayer(bdPlayer.getPlayerId());
+                }
+                continue;
+            }
+
+            dataset.add(row);
+            dataset.addPlayer(bdPlayer.getPlayerId());
+            if (team != null) {
+                team.addRow(row);
+            }
+
+            // Append CSV line
+            rowEncoder.encode(row, battleIdColumn, csvBuilder);
+            csvBuilder.append("\n");
+        }
+
+        dataset.setCsvLines(csvBuilder.toString());
+        dataset.setFeatures(features);
+        return dataset;
+    }
+
+    /**
+     * Indique si bdPlayer produirait une ligne avec les index actuels (profil, tank et valeurs présents).
+     */
+    public boolean hasRow(BattleDetail battleDetail, fr.arthurbr02.battledetail.Player bdPlayer) {
+        return toRow(battleDetail, bdPlayer, false) != null;
+    }
+
+    private Row toRow(BattleDetail battleDetail, fr.arthurbr02.battledetail.Player bdPlayer, boolean verbose) {
+        Player player = playerMap.get(bdPlayer.getPlayerId());
+        if (player == null) {
+            if (verbose) {
+                logger.debug("Player not found for ID: {}", bdPlayer.getId());
+            }
+            return null;
+        }
+
+        Data dataPlayer = player.getData();
+
+        Tank tank = bdPlayer.getTankId() != null ? playerTankMap.get(tankKey(bdPlayer.getPlayerId(), bdPlayer.getTankId())) : null;
+        if (tank == null) {
+            if (verbose) {
+                logger.debug("Tank not found for Player ID: {} and Tank ID: {}", bdPlayer.getPlayerId(), bdPlayer.getTankId());
+            }
+            return null;
+        }
+
+        // Vérifier si toutes les valeurs nécessaires sont présentes
+        boolean hasAllValues = Stream.of(
+            dataPlayer.getBattles(),
+            dataPlayer.getOverallWN8(),
+            dataPlayer.getOverallWNX(),
+            dataPlayer.getWinrate(),
+            dataPlayer.getDpg(),
+            dataPlayer.getAssist(),
+            dataPlayer.getFrags(),
+            dataPlayer.getSurvival(),
+            dataPlayer.getSpots(),
+            dataPlayer.getCap(),
+            dataPlayer.getDef(),
+            dataPlayer.getXp(),
+            dataPlayer.getKd(),
+            battleDetail.getGeneral().getMapId(),
+            bdPlayer.getSpawn(),
+            tank.getId() // si le tank existe, son id ne sera pas null et le reste des valeurs non plus
+        ).noneMatch(Objects::isNull);
+
+        if (!hasAllValues) {
+            if (verbose) {
+                logger.debug("Skipping player ID: {} - missing data", bdPlayer.getPlayerId());
+            }
+            return null;
+        }
+
+        Row row = new Row();
+
+        // Features from Player
+        row.setBattles(dataPlayer.getBattles());
+        row.setOverallWN8(dataPlayer.getOverallWN8());
+        row.setOverallWNX(dataPlayer.getOverallWNX());
+        row.setWinrate(dataPlayer.getWinrate());
+        row.setDpg(dataPlayer.getDpg());
+        row.setAssist(dataPlayer.getAssist());
+        row.setFrags(dataPlayer.getFrags());
+        row.setSurvival(dataPlayer.getSurvival());
+        row.setSpots(dataPlayer.getSpots());
+        row.setCap(dataPlayer.getCap());
+        row.setDef(dataPlayer.getDef());
+        row.setXp(dataPlayer.getXp());
+        row.setKd(dataPlayer.getKd());
+
+        // From Tank
+        row.setTankId(tank.getId());
+        row.setTankWN8(tank.getWn8());
+        row.setTankWNX(tank.getWnx());
+        row.setTankRole(tank.getRole());
+        row.setTankWinrate(tank.getWinrate());
+        row.setTankVehicleClass(tank.getVehicleClass());
+        row.setTankNation(tank.getNation());
+        row.setTankDpg(tank.getDpg());
+        row.setTankAssist(tank.getAssist());
+        row.setTankKpg(tank.getKpg());
+        row.setTankDmgRatio(tank.getDmgratio());
+        row.setTankSurvival(tank.getSurvival());
+        row.setTankXp(tank.getXp());
+        row.setTankHitratio(tank.getHitratio());
+        row.setTankSpots(tank.getSpots());
+        row.setTankArmoreff(tank.getArmoreff());
+        row.setTankMoe(tank.getMoe());
+        row.setTankMastery(tank.getMastery());
+        row.setTankKd(tank.getKd());
+
+        // Features from BattleDetail.Player
+        row.setMap(battleDetail.getGeneral().getMapId());
+        row.setSpawn(bdPlayer.getSpawn());
+
+        // Target
+        if (bdPlayer.getSpawn() == 1) {
+            row.setTarget(battleDetail.isTeam1Won() ? 1 : 0);
+        } else {
+            row.setTarget(battleDetail.isTeam1Won() ? 0 : 1);
+        }
+
+        return row;
+    }
+}
@@ -0,0 +1,219 @@
+package fr.arthurbr02.datasetbuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
+import fr.arthurbr02.utils.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manifeste des batailles déjà matérialisées dans datasets/ : pour chaque battle id, les joueurs
+ * qui n'ont pas produit de ligne (profil, tank ou valeurs manquants au moment de la construction).
+ *
+ * Une exécution suivante ne reconstruit que les batailles absentes du manifeste, celles dont
+ * un joueur manquant produirait maintenant une ligne, et celles dont un joueur a un profil différent
+ * de celui de ses lignes : la version du profil utilisé (profileVersion, une empreinte de son contenu) est
+ * enregistrée par joueur. Réécrire ou toucher un export inchangé ne reconstruit donc rien.
+ * Le manifeste est lié aux paramètres de sortie (settings) : s'ils changent, il est ignoré et tout est reconstruit.
+ *
+ * Le séparateur décimal des CSV y est aussi enregistré : ml/main.py le lit pour parser les datasets.
+ *
+ * Utilisé comme DatasetSink : chaque dataset écrit est enregistré, le fichier est réécrit à la fermeture.
+ */
+public class DatasetManifest implements DatasetSink {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetManifest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final File file;
+    private final String settings;
+    private final char decimalSeparator;
+    private final Map<String, List<Long>> battles;
+    // Version du profil ayant produit les lignes de chaque joueur
+    private final Map<Long, Long> players;
+    // Version des profils lus pendant cette exécution (setPlayerVersion)
+    private final Map<Long, Long> loadedVersions = new HashMap<>();
+    // Joueurs dont le profil a changé depuis la construction de leurs lignes (checkPlayerVersion)
+    private final LongHashSet changedPlayers = new LongHashSet();
+    private boolean versionsChecked;
+    private int recorded;
+
+    /**
+     * Contenu du fichier JSON.
+     */
+    public static class Content {
+        public String settings;
+        public String decimalSeparator;
+        public Map<String, List<Long>> battles = new HashMap<>();
+        public Map<Long, Long> players = new HashMap<>();
+    }
+
+    private DatasetManifest(File file, String settings, char decimalSeparator, Map<String, List<Long>> battles,
+                            Map<Long, Long> players) {
+        this.file = file;
+        this.settings = settings;
+        this.decimalSeparator = decimalSeparator;
+        this.battles = battles;
+        this.players = players;
+    }
+
+    /**
+     * Charge le manifeste de file ; retourne un manifeste vide s'il n'existe pas ou a été produit
+     * avec d'autres paramètres.
+     */
+    public static DatasetManifest load(File file, String settings, char decimalSeparator) throws IOException {
+        if (file.exists()) {
+            Content content = MAPPER.readValue(file, Content.class);
+            if (settings.equals(content.settings) && content.battles != null) {
+                logger.info("Loaded manifest with {} materialized battles", content.battles.size());
+                // Manifeste sans versions de contenu (ancien format) : chaque bataille sera reconstruite une fois
+                Map<Long, Long> players = content.players != null ? content.players : new HashMap<>();
+                return new DatasetManifest(file, settings, decimalSeparator, content.battles, players);
+            }
+            logger.info("Dataset settings changed ({} -> {}), rebuilding everything", content.settings, settings);
+        }
+        return empty(file, settings, decimalSeparator);
+    }
+
+    public static DatasetManifest empty(File file, String settings, char decimalSeparator) {
+        return new DatasetManifest(file, settings, decimalSeparator, new HashMap<>(), new HashMap<>());
+    }
+
+    public boolean isEmpty() {
+        return battles.isEmpty();
+    }
+
+    public boolean contains(String battleId) {
+        return battles.containsKey(battleId);
+    }
+
+    /**
+     * Joueurs sans ligne lors de la dernière construction de la bataille (vide si inconnue).
+     */
+    public List<Long> getMissingPlayers(String battleId) {
+        return battles.getOrDefault(battleId, List.of());
+    }
+
+    /**
+     * Version d'un profil : empreinte (FNV-1a 64 bits) de son contenu sérialisé, tanks compris.
+     * À calculer avant de libérer ses tanks.
+     */
+    public static long profileVersion(Player player) {
+        byte[] content;
+        try {
+            content = MAPPER.writeValueAsBytes(player.getData());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : content) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Passe préalable sur les profils de l'export, avant la lecture des batailles : note les joueurs
+     * dont le profil diffère de celui enregistré (ou n'a pas de version enregistrée).
+     */
+    public void checkPlayerVersion(long playerId, long version) {
+        versionsChecked = true;
+        Long recorded = players.get(playerId);
+        if (recorded == null || recorded != version) {
+            changedPlayers.add(playerId);
+        }
+    }
+
+    /**
+     * Indique, avant la lecture des profils, qu'une bataille n'aura pas à être reconstruite : matérialisée
+     * avec tous ses joueurs, dont aucun n'a un profil modifié. Sans passe préalable (checkPlayerVersion),
+     * on ne peut pas le savoir : les batailles sont toutes gardées, needsBuild tranche une fois les profils lus.
+     */
+    public boolean isUpToDate(BattleDetail battleDetail) {
+        List<Long> missing = battles.get(battleDetail.getId());
+        if (!versionsChecked || missing == null || !missing.isEmpty()) {
+            return false;
+        }
+        for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
+            if (bdPlayer.getPlayerId() != null && changedPlayers.contains(bdPlayer.getPlayerId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Enregistre la version (profileVersion) du profil de playerId utilisé pendant cette exécution.
+     */
+    public void setPlayerVersion(long playerId, long version) {
+        loadedVersions.put(playerId, version);
+    }
+
+    /**
+     * Une bataille doit être (re)construite si elle est nouvelle, si l'un de ses joueurs
+     * manquants produirait maintenant une ligne, ou si l'un de ses joueurs a un profil différent.
+     */
+    public boolean needsBuild(BattleDetail battleDetail, DatasetBuilder builder) {
+        List<Long> missing = battles.get(battleDetail.getId());
+        if (missing == null) {
+            return true;
+        }
+        for (fr.arthurbr02.battledetail.Player bdPlayer : battleDetail.getPlayers()) {
+            Long playerId = bdPlayer.getPlayerId();
+            if (playerId == null) {
+                continue;
+            }
+            Long loaded = loadedVersions.get(playerId);
+            if (loaded != null && !loaded.equals(players.get(playerId))) {
+                return true;
+            }
+            if (missing.contains(playerId) && builder.hasRow(battleDetail, bdPlayer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void write(Dataset dataset) {
+        battles.put(dataset.getBattleId(), List.copyOf(dataset.getMissingPlayers()));
+        // Profils utilisés, y compris ceux des joueurs restés sans ligne (tank ou valeurs manquants)
+        recordVersions(dataset.getPlayers());
+        recordVersions(dataset.getMissingPlayers());
+        recorded++;
+    }
+
+    private void recordVersions(List<Long> playerIds) {
+        for (Long playerId : playerIds) {
+            Long loaded = loadedVersions.get(playerId);
+            if (loaded != null) {
+                players.put(playerId, loaded);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Content content = new Content();
+        content.settings = settings;
+        content.decimalSeparator = String.valueOf(decimalSeparator);
+        content.battles = battles;
+        content.players = players;
+
+        File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        MAPPER.writeValue(tmp, content);
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Manifest updated: {} battles recorded this run, {} in total", recorded, battles.size());
+    }
+}
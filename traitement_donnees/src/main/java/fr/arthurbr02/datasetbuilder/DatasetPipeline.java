@@ -0,0 +1,37 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Assemblage des datasets au fil des événements (BattleAssembler) avec ses sorties, ouvert par Main.openPipeline :
+ * commande pipeline (lecture d'un export) ou scraper lancé dans le même process.
+ *
+ * À la fermeture, les batailles encore en attente sont écrites, les sinks (dont le manifeste) fermés
+ * et les vocabulaires sauvegardés.
+ */
+public class DatasetPipeline implements AutoCloseable {
+    private final BattleAssembler assembler;
+    private final DatasetSink sink;
+    private final Vocabularies vocabularies;
+    private final File vocabulariesFile;
+
+    public DatasetPipeline(BattleAssembler assembler, DatasetSink sink, Vocabularies vocabularies, File vocabulariesFile) {
+        this.assembler = assembler;
+        this.sink = sink;
+        this.vocabularies = vocabularies;
+        this.vocabulariesFile = vocabulariesFile;
+    }
+
+    public BattleAssembler getAssembler() {
+        return assembler;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (sink) {
+            assembler.close();
+        }
+        vocabularies.save(vocabulariesFile);
+    }
+}
@@ -0,0 +1,15 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.IOException;
+
+/**
+ * Étape d'écriture du pipeline : reçoit les datasets dans l'ordre des BattleDetail,
+ * toujours depuis le même thread.
+ */
+public interface DatasetSink extends AutoCloseable {
+    void write(Dataset dataset) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
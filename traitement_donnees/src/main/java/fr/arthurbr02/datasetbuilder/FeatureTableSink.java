@@ -0,0 +1,93 @@
+package fr.arthurbr02.datasetbuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Écrit la table des features globales : une ligne par bataille (colonnes de BattleFeatures),
+ * jointure côté ML sur battle_id (ou sur le nom du fichier en sortie per-battle).
+ * Même règle que load_data : une bataille sans l'une des deux équipes est ignorée.
+ * Les décimales sont toujours écrites avec un point (DECIMAL_SEPARATOR), quel que soit
+ * dataset.decimalSeparator : la table n'est lue que par ml/main.py, qui n'a pas à connaître ce réglage.
+ * En mode append (build incrémental), les lignes sont ajoutées à la table existante ; la ligne
+ * précédente d'une bataille reconstruite (déjà matérialisée) est retirée à la fermeture.
+ */
+public class FeatureTableSink implements DatasetSink {
+    private static final Logger logger = LoggerFactory.getLogger(FeatureTableSink.class);
+    public static final char DECIMAL_SEPARATOR = '.';
+
+    private final File file;
+    private final CsvRowEncoder encoder;
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder();
+    private long battles;
+    // Batailles écrites par une exécution précédente (null hors mode append), lignes écrites avant appendStart
+    private final Predicate<String> materialized;
+    private final Set<String> superseded = new HashSet<>();
+    private final long appendStart;
+
+    public FeatureTableSink(File file) throws IOException {
+        this(file, null);
+    }
+
+    /**
+     * @param materialized en mode append (non null) : indique si une bataille a été écrite par une exécution
+     *                     précédente (DatasetManifest.contains), son ancienne ligne sera retirée
+     */
+    public FeatureTableSink(File file, Predicate<String> materialized) throws IOException {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create dataset directory " + directory.getAbsolutePath());
+        }
+        this.file = file;
+        this.encoder = new CsvRowEncoder(DECIMAL_SEPARATOR);
+        this.materialized = materialized;
+        boolean append = materialized != null;
+        this.appendStart = append && file.exists() ? file.length() : 0;
+        boolean writeHeader = !append || !file.exists() || file.length() == 0;
+        this.writer = append
+                ? Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+        if (writeHeader) {
+            writer.write(BattleFeatures.headerLine());
+            writer.newLine();
+        }
+    }
+
+    @Override
+    public void write(Dataset dataset) throws IOException {
+        if (materialized != null && materialized.test(dataset.getBattleId())) {
+            superseded.add(dataset.getBattleId());
+        }
+        BattleFeatures features = dataset.getFeatures();
+        if (features == null || features.getTeam1().getPlayers() == 0 || features.getTeam2().getPlayers() == 0) {
+            return;
+        }
+
+        line.setLength(0);
+        features.encode(dataset.getBattleId(), encoder, line);
+        line.append('\n');
+        writer.append(line);
+        battles++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        logger.info("Wrote features of {} battles to {}", battles, file.getAbsolutePath());
+        if (!superseded.isEmpty()) {
+            long removed = SupersededRows.remove(file, appendStart, superseded);
+            logger.info("Removed {} superseded feature rows of {} rebuilt battles", removed, superseded.size());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Écriture en streaming d'un tableau NumPy au format .npy (version 1.0, little-endian, ordre C).
+ * La première dimension (nombre de batailles) n'est connue qu'à la fin : l'en-tête est réservé
+ * à l'ouverture puis réécrit à la fermeture. Le fichier peut ensuite être ouvert côté Python
+ * avec np.load(path, mmap_mode='r') sans copie.
+ */
+public class NpyWriter implements AutoCloseable {
+    public static final String FLOAT32 = "<f4";
+    public static final String INT64 = "<i8";
+    public static final String UINT8 = "|u1";
+
+    private static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0};
+    // Taille totale réservée pour magic + longueur + dictionnaire, multiple de 64 comme le recommande NumPy
+    private static final int HEADER_SIZE = 128;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final String descr;
+    private final int[] innerShape;
+    private final long elementsPerRecord;
+
+    private long records;
+    private long elementsInRecord;
+
+    /**
+     * @param innerShape dimensions d'un enregistrement (ex. {30, 28}), vide pour un scalaire par enregistrement
+     */
+    public NpyWriter(File file, String descr, int... innerShape) throws IOException {
+        this.descr = descr;
+        this.innerShape = innerShape.clone();
+        this.elementsPerRecord = Arrays.stream(innerShape).asLongStream().reduce(1, (a, b) -> a * b);
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.write(header(0));
+    }
+
+    public void putFloat(float value) throws IOException {
+        ensureRemaining(Float.BYTES);
+        buffer.putFloat(value);
+        countElement();
+    }
+
+    public void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        countElement();
+    }
+
+    public void putByte(byte value) throws IOException {
+        ensureRemaining(Byte.BYTES);
+        buffer.put(value);
+        countElement();
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (elementsInRecord != 0) {
+                throw new IOException("Incomplete record: " + elementsInRecord + "/" + elementsPerRecord + " elements");
+            }
+            flush();
+            channel.write(header(records), 0);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void countElement() {
+        if (++elementsInRecord == elementsPerRecord) {
+            elementsInRecord = 0;
+            records++;
+        }
+    }
+
+    private ByteBuffer header(long firstDimension) throws IOException {
+        String shape = firstDimension + ", " + Arrays.stream(innerShape).mapToObj(String::valueOf).collect(Collectors.joining(", "));
+        if (innerShape.length == 0) {
+            shape = firstDimension + ",";
+        }
+        StringBuilder dict = new StringBuilder()
+                .append("{'descr': '").append(descr)
+                .append("', 'fortran_order': False, 'shape': (").append(shape).append("), }");
+
+        int dictSize = HEADER_SIZE - MAGIC.length - Short.BYTES;
+        if (dict.length() + 1 > dictSize) {
+            throw new IOException("NPY header too long: " + dict);
+        }
+        while (dict.length() < dictSize - 1) {
+            dict.append(' ');
+        }
+        dict.append('\n');
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putShort((short) dictSize);
+        header.put(dict.toString().getBytes(StandardCharsets.US_ASCII));
+        header.flip();
+        return header;
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package fr.arthurbr02.datasetbuilder;
+
+import fr.arthurbr02.battledetail.BattleDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Génère les datasets de plusieurs BattleDetail en parallèle sur un ForkJoinPool (work-stealing).
+ * La construction des lignes et l'encodage CSV tournent dans le pool, l'écriture reste sur le
+ * thread appelant et consomme les résultats dans l'ordre de la liste : la sortie est déterministe.
+ * Au plus {@code windowSize} batailles sont en vol à la fois, ce qui borne la mémoire
+ * quand l'écriture est plus lente que la génération.
+ */
+public class ParallelDatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelDatasetGenerator.class);
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private final DatasetBuilder builder;
+    private final int parallelism;
+    private final int windowSize;
+
+    public ParallelDatasetGenerator(DatasetBuilder builder) {
+        this(builder, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelDatasetGenerator(DatasetBuilder builder, int parallelism) {
+        this.builder = builder;
+        this.parallelism = Math.max(1, parallelism);
+        this.windowSize = this.parallelism * WINDOW_PER_THREAD;
+    }
+
+    /**
+     * Retourne le nombre de datasets écrits.
+     */
+    public int generate(List<BattleDetail> battleDetails, DatasetSink sink) throws IOException, InterruptedException {
+        logger.info("Generating {} datasets with {} threads", battleDetails.size(), parallelism);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<ForkJoinTask<Dataset>> inFlight = new ArrayDeque<>(windowSize);
+        int written = 0;
+
+        try {
+            for (BattleDetail battleDetail : battleDetails) {
+                if (inFlight.size() >= windowSize) {
+                    sink.write(await(inFlight.removeFirst()));
+                    written++;
+                }
+                inFlight.addLast(pool.submit(() -> builder.build(battleDetail)));
+            }
+
+            while (!inFlight.isEmpty()) {
+                sink.write(await(inFlight.removeFirst()));
+                written++;
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+            pool.shutdownNow();
+        }
+
+        return written;
+    }
+
+    private static Dataset await(ForkJoinTask<Dataset> task) throws IOException, InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Dataset generation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Écrit un fichier datasets/dataset_battle_<id>.csv par BattleDetail.
+ * Une bataille reconstruite réécrit simplement son fichier.
+ */
+public class PerBattleCsvSink implements DatasetSink {
+    private final File directory;
+    private final String headerLine;
+
+    public PerBattleCsvSink(File directory, String headerLine) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create dataset directory " + directory.getAbsolutePath());
+        }
+        this.directory = directory;
+        this.headerLine = headerLine;
+    }
+
+    @Override
+    public void write(Dataset dataset) throws IOException {
+        // Une erreur est propagée : la bataille ne doit pas être enregistrée dans le manifeste
+        File file = new File(directory, "dataset_battle_" + dataset.getBattleId() + ".csv");
+        Files.writeString(file.toPath(), headerLine + "\n" + dataset.getCsvLines());
+    }
+}
@@ -361,44 +361,4 @@ public class Row {
     public void setTankKd(double tankKd) {
         this.tankKd = tankKd;
     }
-
-    public char[] toCsvLine() {
-        return String.format("%d;%d;%d;%.2f;%d;%d;%.2f;%.2f;%.2f;%.2f;%.2f;%d;%.2f;%d;%d;%d;%d;%d;%d;%s;%.2f;%s;%s;%d;%d;%.2f;%.2f;%.2f;%d;%d;%.2f;%d;%d;%d;%.2f",
-                battles,
-                overallWN8,
-                overallWNX,
-                winrate,
-                dpg,
-                assist,
-                frags,
-                survival,
-                spots,
-                cap,
-                def,
-                xp,
-                kd,
-                map,
-                spawn,
-                target,
-                tankId,
-                tankWN8,
-                tankWNX,
-                tankRole,
-                tankWinrate,
-                tankVehicleClass,
-                tankNation,
-                tankDpg,
-                tankAssist,
-                tankKpg,
-                tankDmgRatio,
-                tankSurvival,
-                tankXp,
-                tankHitratio,
-                tankSpots,
-                tankArmoreff,
-                tankMoe,
-                tankMastery,
-                tankKd
-        ).toCharArray();
-    }
 }
@@ -0,0 +1,194 @@
+package fr.arthurbr02.datasetbuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Écrit tous les datasets dans quelques gros fichiers datasets/dataset_shard_<n>.csv,
+ * avec une colonne battle_id en tête de ligne (le DatasetBuilder doit être configuré en conséquence,
+ * headerLine vient de DatasetBuilder.headerLine).
+ * Une bataille n'est jamais coupée entre deux shards : on passe au shard suivant dès que
+ * le shard courant dépasse maxShardBytes.
+ * L'écriture passe par un FileChannel et un ByteBuffer direct réutilisé.
+ * En mode append (build incrémental), les shards existants sont conservés et les nouveaux sont
+ * numérotés à la suite ; les lignes d'une bataille reconstruite (déjà matérialisée) sont retirées
+ * des shards plus anciens à la fermeture.
+ */
+public class ShardedCsvSink implements DatasetSink {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedCsvSink.class);
+    private static final String SHARD_PREFIX = "dataset_shard_";
+    private static final String SHARD_SUFFIX = ".csv";
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final File directory;
+    private final long maxShardBytes;
+    private final String headerLine;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    // Batailles écrites par une exécution précédente (null hors mode append)
+    private final Predicate<String> materialized;
+    private final Set<String> superseded = new HashSet<>();
+    private final int firstShardIndex;
+
+    private FileChannel channel;
+    private int shardIndex;
+    private long shardBytes;
+    private long shardBattles;
+
+    public ShardedCsvSink(File directory, long maxShardBytes, String headerLine) throws IOException {
+        this(directory, maxShardBytes, headerLine, null);
+    }
+
+    /**
+     * @param materialized en mode append (non null) : indique si une bataille a été écrite par une exécution
+     *                     précédente (DatasetManifest.contains), ses anciennes lignes seront retirées
+     */
+    public ShardedCsvSink(File directory, long maxShardBytes, String headerLine, Predicate<String> materialized) throws IOException {
+        this.directory = directory;
+        this.maxShardBytes = maxShardBytes;
+        this.headerLine = headerLine;
+        this.materialized = materialized;
+        boolean append = materialized != null;
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create dataset directory " + directory.getAbsolutePath());
+        }
+        if (append) {
+            shardIndex = nextShardIndex(directory);
+        } else {
+            // Les shards d'une exécution précédente seraient lus en double côté ML
+            deleteExistingShards(directory);
+        }
+        firstShardIndex = shardIndex;
+    }
+
+    @Override
+    public void write(Dataset dataset) throws IOException {
+        // Même reconstruite sans ligne, ses anciennes lignes ne sont plus valables
+        if (materialized != null && materialized.test(dataset.getBattleId())) {
+            superseded.add(dataset.getBattleId());
+        }
+        if (dataset.isEmpty()) {
+            return;
+        }
+        if (channel == null || shardBytes + buffer.position() >= maxShardBytes) {
+            openNextShard();
+        }
+
+        write(dataset.getCsvLines());
+        shardBattles++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeShard();
+        if (superseded.isEmpty()) {
+            return;
+        }
+        long removed = 0;
+        for (File shard : listShards(directory)) {
+            Integer index = shardIndex(shard);
+            if (index != null && index < firstShardIndex) {
+                removed += SupersededRows.remove(shard, shard.length(), superseded);
+            }
+        }
+        logger.info("Removed {} superseded rows of {} rebuilt battles from previous shards", removed, superseded.size());
+    }
+
+    private void openNextShard() throws IOException {
+        closeShard();
+
+        File file = new File(directory, String.format("%s%05d%s", SHARD_PREFIX, shardIndex++, SHARD_SUFFIX));
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        shardBytes = 0;
+        shardBattles = 0;
+
+        write(headerLine);
+        write("\n");
+        logger.info("Writing dataset shard {}", file.getAbsolutePath());
+    }
+
+    private void closeShard() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        channel.close();
+        channel = null;
+        logger.info("Closed dataset shard: {} battles, {} bytes", shardBattles, shardBytes);
+    }
+
+    private void write(String text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+                continue;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            break;
+        }
+        encoder.flush(buffer);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            shardBytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static File[] listShards(File directory) {
+        File[] shards = directory.listFiles((dir, name) -> name.startsWith(SHARD_PREFIX) && name.endsWith(SHARD_SUFFIX));
+        return shards != null ? shards : new File[0];
+    }
+
+    private static int nextShardIndex(File directory) {
+        int next = 0;
+        for (File shard : listShards(directory)) {
+            Integer index = shardIndex(shard);
+            if (index != null) {
+                next = Math.max(next, index + 1);
+            }
+        }
+        return next;
+    }
+
+    private static Integer shardIndex(File shard) {
+        String name = shard.getName();
+        try {
+            return Integer.parseInt(name.substring(SHARD_PREFIX.length(), name.length() - SHARD_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            // Fichier étranger au format de nommage : ignoré
+            return null;
+        }
+    }
+
+    private static void deleteExistingShards(File directory) throws IOException {
+        File[] shards = listShards(directory);
+        for (File shard : shards) {
+            if (!shard.delete()) {
+                throw new IOException("Cannot delete previous shard " + shard.getAbsolutePath());
+            }
+        }
+    }
+}
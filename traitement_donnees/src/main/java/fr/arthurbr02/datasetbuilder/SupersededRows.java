@@ -0,0 +1,102 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+/**
+ * Retrait des lignes d'une bataille reconstruite dans les CSV écrits par une exécution précédente
+ * (build incrémental en mode append) : sans cela, la bataille y figurerait deux fois.
+ * Les fichiers concernés ont la colonne battle_id en tête (shards, table des features).
+ */
+final class SupersededRows {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SupersededRows() {
+    }
+
+    /**
+     * Retire de file les lignes des batailles battleIds qui commencent avant la position end (octets) :
+     * les lignes écrites ensuite, par l'exécution courante, sont gardées, ainsi que l'en-tête.
+     * Le fichier n'est réécrit (à côté, puis remplacé) que si une ligne est retirée.
+     *
+     * @return nombre de lignes retirées
+     */
+    static long remove(File file, long end, Set<String> battleIds) throws IOException {
+        if (battleIds.isEmpty() || !file.exists()) {
+            return 0;
+        }
+        File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        long removed;
+        try (InputStream in = new FileInputStream(file);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp), BUFFER_SIZE)) {
+            LineFilter filter = new LineFilter(out, end, battleIds);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                int from = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] == '\n') {
+                        filter.line.write(buffer, from, i + 1 - from);
+                        filter.endLine();
+                        from = i + 1;
+                    }
+                }
+                filter.line.write(buffer, from, n - from);
+            }
+            if (filter.line.size() > 0) {
+                filter.endLine();
+            }
+            removed = filter.removed;
+        }
+        if (removed == 0) {
+            Files.delete(tmp.toPath());
+            return 0;
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return removed;
+    }
+
+    private static final class LineFilter {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final OutputStream out;
+        private final long end;
+        private final Set<String> battleIds;
+        private long lineStart;
+        private boolean header = true;
+        private long removed;
+
+        private LineFilter(OutputStream out, long end, Set<String> battleIds) {
+            this.out = out;
+            this.end = end;
+            this.battleIds = battleIds;
+        }
+
+        private void endLine() throws IOException {
+            if (!header && lineStart < end && battleIds.contains(battleId())) {
+                removed++;
+            } else {
+                line.writeTo(out);
+            }
+            header = false;
+            lineStart += line.size();
+            line.reset();
+        }
+
+        // Première colonne de la ligne (les battle ids ne contiennent pas de séparateur)
+        private String battleId() {
+            String text = line.toString(StandardCharsets.UTF_8);
+            int separator = text.indexOf(CsvRowEncoder.FIELD_SEPARATOR);
+            return separator >= 0 ? text.substring(0, separator) : text.strip();
+        }
+    }
+}
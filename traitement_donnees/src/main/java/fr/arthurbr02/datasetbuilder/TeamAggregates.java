@@ -0,0 +1,169 @@
+package fr.arthurbr02.datasetbuilder;
+
+/**
+ * Agrégats d'une équipe, calculés en une seule passe sur les joueurs d'un BattleDetail
+ * avec des accumulateurs primitifs (pas de tri, pas de collection).
+ * Les stats de profil ne portent que sur les joueurs retenus dans le dataset (comme
+ * compute_global_features côté ML), la composition porte sur tous les joueurs de la bataille.
+ */
+public class TeamAggregates {
+    private static final int TOP_K = 3;
+
+    // Stats de profil des joueurs retenus
+    private int players;
+    private long sumWn8;
+    private double sumWinrate;
+    private long sumBattles;
+    private long sumDpg;
+    private long sumXp;
+    private int top1 = Integer.MIN_VALUE;
+    private int top2 = Integer.MIN_VALUE;
+    private int top3 = Integer.MIN_VALUE;
+
+    // Composition de l'équipe
+    private int tanks;
+    private int heavy;
+    private int medium;
+    private int light;
+    private int destroyers;
+    private int artillery;
+    private int tieredTanks;
+    private int tierMin = Integer.MAX_VALUE;
+    private int tierMax = Integer.MIN_VALUE;
+    private int tierSum;
+    private int platoonPlayers;
+    private long platoonIds;
+
+    public void addRow(Row row) {
+        players++;
+        sumWn8 += row.getOverallWN8();
+        sumWinrate += row.getWinrate();
+        sumBattles += row.getBattles();
+        sumDpg += row.getDpg();
+        sumXp += row.getXp();
+
+        int wn8 = row.getOverallWN8();
+        if (wn8 > top1) {
+            top3 = top2;
+            top2 = top1;
+            top1 = wn8;
+        } else if (wn8 > top2) {
+            top3 = top2;
+            top2 = wn8;
+        } else if (wn8 > top3) {
+            top3 = wn8;
+        }
+    }
+
+    public void addTank(String vehicleClass, Integer tier, Integer platoon) {
+        tanks++;
+        if (vehicleClass != null) {
+            switch (vehicleClass) {
+                case "HT" -> heavy++;
+                case "MT" -> medium++;
+                case "LT" -> light++;
+                case "TD" -> destroyers++;
+                case "SPG" -> artillery++;
+                default -> {
+                }
+            }
+        }
+        if (tier != null) {
+            tieredTanks++;
+            tierSum += tier;
+            tierMin = Math.min(tierMin, tier);
+            tierMax = Math.max(tierMax, tier);
+        }
+        if (platoon != null && platoon > 0) {
+            platoonPlayers++;
+            platoonIds |= 1L << Math.min(platoon, Long.SIZE - 1);
+        }
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public double getMeanWn8() {
+        return players > 0 ? (double) sumWn8 / players : 0;
+    }
+
+    public double getMeanWinrate() {
+        return players > 0 ? sumWinrate / players : 0;
+    }
+
+    public double getTop3Wn8() {
+        int k = Math.min(players, TOP_K);
+        if (k == 0) {
+            return 0;
+        }
+        long sum = top1;
+        if (k > 1) {
+            sum += top2;
+        }
+        if (k > 2) {
+            sum += top3;
+        }
+        return (double) sum / k;
+    }
+
+    public long getSumBattles() {
+        return sumBattles;
+    }
+
+    public double getMeanDpg() {
+        return players > 0 ? (double) sumDpg / players : 0;
+    }
+
+    public double getMeanXp() {
+        return players > 0 ? (double) sumXp / players : 0;
+    }
+
+    public int getTanks() {
+        return tanks;
+    }
+
+    public int getHeavy() {
+        return heavy;
+    }
+
+    public int getMedium() {
+        return medium;
+    }
+
+    public int getLight() {
+        return light;
+    }
+
+    public int getDestroyers() {
+        return destroyers;
+    }
+
+    public int getArtillery() {
+        return artillery;
+    }
+
+    public int getTierMin() {
+        return tieredTanks > 0 ? tierMin : 0;
+    }
+
+    public int getTierMax() {
+        return tieredTanks > 0 ? tierMax : 0;
+    }
+
+    public double getTierMean() {
+        return tieredTanks > 0 ? (double) tierSum / tieredTanks : 0;
+    }
+
+    public int getTierSpread() {
+        return getTierMax() - getTierMin();
+    }
+
+    public int getPlatoonPlayers() {
+        return platoonPlayers;
+    }
+
+    public int getPlatoons() {
+        return Long.bitCount(platoonIds);
+    }
+}
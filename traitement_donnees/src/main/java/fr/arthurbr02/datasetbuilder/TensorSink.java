@@ -0,0 +1,178 @@
+package fr.arthurbr02.datasetbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exporte les batailles sous forme de tenseurs NumPy prêts pour l'entraînement, avec le même
+ * prétraitement que get_padded_team_data côté ML : équipe 1 puis équipe 2, joueurs triés par
+ * overallWN8 décroissant, complétés (ou tronqués) à MAX_PLAYERS.
+ *
+ * Fichiers écrits dans le répertoire cible :
+ * - stats.npy   float32 (N, 2*MAX_PLAYERS, nb colonnes numériques)
+ * - cats.npy    int64   (N, 2*MAX_PLAYERS, 3) : tankRole, tankVehicleClass, tankNation (0 = PAD/UNK)
+ * - map.npy     int64   (N,) index de la map
+ * - mask.npy    uint8   (N, 2*MAX_PLAYERS) : 1 si la ligne correspond à un vrai joueur
+ * - target.npy  int64   (N,) victoire de l'équipe 1
+ * - battle_ids.txt, vocabularies.json, metadata.json
+ */
+public class TensorSink implements DatasetSink {
+    private static final Logger logger = LoggerFactory.getLogger(TensorSink.class);
+
+    public static final int MAX_PLAYERS = 15;
+    private static final int SLOTS = MAX_PLAYERS * 2;
+
+    // Même ordre que PLAYER_NUMERIC_COLS dans ml/main.py
+    private static final Map<String, ToDoubleFunction<Row>> NUMERIC_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        NUMERIC_COLUMNS.put("battles", Row::getBattles);
+        NUMERIC_COLUMNS.put("overallWN8", Row::getOverallWN8);
+        NUMERIC_COLUMNS.put("overallWNX", Row::getOverallWNX);
+        NUMERIC_COLUMNS.put("winrate", Row::getWinrate);
+        NUMERIC_COLUMNS.put("dpg", Row::getDpg);
+        NUMERIC_COLUMNS.put("assist", Row::getAssist);
+        NUMERIC_COLUMNS.put("frags", Row::getFrags);
+        NUMERIC_COLUMNS.put("survival", Row::getSurvival);
+        NUMERIC_COLUMNS.put("spots", Row::getSpots);
+        NUMERIC_COLUMNS.put("cap", Row::getCap);
+        NUMERIC_COLUMNS.put("def", Row::getDef);
+        NUMERIC_COLUMNS.put("xp", Row::getXp);
+        NUMERIC_COLUMNS.put("kd", Row::getKd);
+        NUMERIC_COLUMNS.put("tankWN8", Row::getTankWN8);
+        NUMERIC_COLUMNS.put("tankWNX", Row::getTankWNX);
+        NUMERIC_COLUMNS.put("tankWinrate", Row::getTankWinrate);
+        NUMERIC_COLUMNS.put("tankDpg", Row::getTankDpg);
+        NUMERIC_COLUMNS.put("tankAssist", Row::getTankAssist);
+        NUMERIC_COLUMNS.put("tankKpg", Row::getTankKpg);
+        NUMERIC_COLUMNS.put("tankDmgRatio", Row::getTankDmgRatio);
+        NUMERIC_COLUMNS.put("tankSurvival", Row::getTankSurvival);
+        NUMERIC_COLUMNS.put("tankXp", Row::getTankXp);
+        NUMERIC_COLUMNS.put("tankHitratio", Row::getTankHitratio);
+        NUMERIC_COLUMNS.put("tankSpots", Row::getTankSpots);
+        NUMERIC_COLUMNS.put("tankArmoreff", Row::getTankArmoreff);
+        NUMERIC_COLUMNS.put("tankMoe", Row::getTankMoe);
+        NUMERIC_COLUMNS.put("tankMastery", Row::getTankMastery);
+        NUMERIC_COLUMNS.put("tankKd", Row::getTankKd);
+    }
+
+    private static final Comparator<Row> BY_WN8_DESC = Comparator.comparingInt(Row::getOverallWN8).reversed();
+
+    private final File directory;
+    private final List<ToDoubleFunction<Row>> numericColumns = List.copyOf(NUMERIC_COLUMNS.values());
+
+    // Partagés avec les CSV : mêmes index dans les deux sorties
+    private final Vocabularies vocabularies;
+
+    private final NpyWriter stats;
+    private final NpyWriter cats;
+    private final NpyWriter map;
+    private final NpyWriter mask;
+    private final NpyWriter target;
+    private final BufferedWriter battleIds;
+
+    private final List<Row> team1 = new ArrayList<>(MAX_PLAYERS);
+    private final List<Row> team2 = new ArrayList<>(MAX_PLAYERS);
+
+    public TensorSink(File directory, Vocabularies vocabularies) throws IOException {
+        this.directory = directory;
+        this.vocabularies = vocabularies;
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create tensor directory " + directory.getAbsolutePath());
+        }
+
+        this.stats = new NpyWriter(new File(directory, "stats.npy"), NpyWriter.FLOAT32, SLOTS, numericColumns.size());
+        this.cats = new NpyWriter(new File(directory, "cats.npy"), NpyWriter.INT64, SLOTS, 3);
+        this.map = new NpyWriter(new File(directory, "map.npy"), NpyWriter.INT64);
+        this.mask = new NpyWriter(new File(directory, "mask.npy"), NpyWriter.UINT8, SLOTS);
+        this.target = new NpyWriter(new File(directory, "target.npy"), NpyWriter.INT64);
+        this.battleIds = Files.newBufferedWriter(new File(directory, "battle_ids.txt").toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(Dataset dataset) throws IOException {
+        team1.clear();
+        team2.clear();
+        for (Row row : dataset) {
+            if (row.getSpawn() == 1) {
+                team1.add(row);
+            } else if (row.getSpawn() == 2) {
+                team2.add(row);
+            }
+        }
+
+        // Même règle que load_data : une bataille sans l'une des deux équipes est ignorée
+        if (team1.isEmpty() || team2.isEmpty()) {
+            return;
+        }
+
+        team1.sort(BY_WN8_DESC);
+        team2.sort(BY_WN8_DESC);
+        writeTeam(team1);
+        writeTeam(team2);
+
+        map.putLong(vocabularies.mapIndex(team1.get(0).getMap()));
+        target.putLong(team1.get(0).getTarget());
+        battleIds.write(dataset.getBattleId());
+        battleIds.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (stats; cats; map; mask; target; battleIds) {
+            writeJson();
+        }
+        logger.info("Exported {} battles as tensors to {}", target.getRecords(), directory.getAbsolutePath());
+    }
+
+    private void writeTeam(List<Row> team) throws IOException {
+        for (int slot = 0; slot < MAX_PLAYERS; slot++) {
+            if (slot < team.size()) {
+                Row row = team.get(slot);
+                for (ToDoubleFunction<Row> column : numericColumns) {
+                    stats.putFloat((float) column.applyAsDouble(row));
+                }
+                cats.putLong(vocabularies.getTankRole().indexOf(row.getTankRole()));
+                cats.putLong(vocabularies.getTankVehicleClass().indexOf(row.getTankVehicleClass()));
+                cats.putLong(vocabularies.getTankNation().indexOf(row.getTankNation()));
+                mask.putByte((byte) 1);
+            } else {
+                for (int i = 0; i < numericColumns.size(); i++) {
+                    stats.putFloat(0f);
+                }
+                for (int i = 0; i < 3; i++) {
+                    cats.putLong(Vocabulary.UNKNOWN_INDEX);
+                }
+                mask.putByte((byte) 0);
+            }
+        }
+    }
+
+    private void writeJson() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+
+        // Copie figée avec les tenseurs, le vocabulaire de référence pouvant encore grandir
+        vocabularies.save(new File(directory, "vocabularies.json"));
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("battles", target.getRecords());
+        metadata.put("maxPlayers", MAX_PLAYERS);
+        metadata.put("numericColumns", new ArrayList<>(NUMERIC_COLUMNS.keySet()));
+        metadata.put("categoricalColumns", Arrays.asList(Vocabularies.TANK_ROLE, Vocabularies.TANK_VEHICLE_CLASS, Vocabularies.TANK_NATION));
+        mapper.writerWithDefaultPrettyPrinter().writeValue(new File(directory, "metadata.json"), metadata);
+    }
+}
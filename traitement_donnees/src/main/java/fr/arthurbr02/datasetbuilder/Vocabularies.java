@@ -0,0 +1,94 @@
+package fr.arthurbr02.datasetbuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vocabulaires des colonnes catégorielles (map, tankRole, tankVehicleClass, tankNation),
+ * persistés en JSON d'une exécution à l'autre pour garder des index stables.
+ * Même convention que le ML : les maps commencent à 0, les autres catégories à 1 (0 = PAD/UNK).
+ */
+public class Vocabularies {
+    public static final String MAP = "map";
+    public static final String TANK_ROLE = "tankRole";
+    public static final String TANK_VEHICLE_CLASS = "tankVehicleClass";
+    public static final String TANK_NATION = "tankNation";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Vocabulary map = new Vocabulary(0);
+    private final Vocabulary tankRole = new Vocabulary(1);
+    private final Vocabulary tankVehicleClass = new Vocabulary(1);
+    private final Vocabulary tankNation = new Vocabulary(1);
+
+    /**
+     * Charge les vocabulaires persistés dans file, ou des vocabulaires vides si le fichier n'existe pas.
+     */
+    public static Vocabularies load(File file) throws IOException {
+        Vocabularies vocabularies = new Vocabularies();
+        if (!file.exists()) {
+            return vocabularies;
+        }
+        Map<String, Map<String, Integer>> persisted = MAPPER.readValue(file, new TypeReference<>() {
+        });
+        vocabularies.asMap().forEach((name, vocabulary) -> {
+            Map<String, Integer> indices = persisted.get(name);
+            if (indices != null) {
+                vocabulary.restore(indices);
+            }
+        });
+        return vocabularies;
+    }
+
+    /**
+     * Écrit les vocabulaires dans file (via un fichier temporaire, pour ne jamais laisser un JSON tronqué).
+     */
+    public void save(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory.getAbsolutePath());
+        }
+        Map<String, Map<String, Integer>> snapshot = new LinkedHashMap<>();
+        asMap().forEach((name, vocabulary) -> snapshot.put(name, vocabulary.asMap()));
+
+        File tmp = new File(directory, file.getName() + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp, snapshot);
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int mapIndex(long mapId) {
+        return map.indexOf(Long.toString(mapId));
+    }
+
+    public Vocabulary getMap() {
+        return map;
+    }
+
+    public Vocabulary getTankRole() {
+        return tankRole;
+    }
+
+    public Vocabulary getTankVehicleClass() {
+        return tankVehicleClass;
+    }
+
+    public Vocabulary getTankNation() {
+        return tankNation;
+    }
+
+    private Map<String, Vocabulary> asMap() {
+        Map<String, Vocabulary> vocabularies = new LinkedHashMap<>();
+        vocabularies.put(MAP, map);
+        vocabularies.put(TANK_ROLE, tankRole);
+        vocabularies.put(TANK_VEHICLE_CLASS, tankVehicleClass);
+        vocabularies.put(TANK_NATION, tankNation);
+        return vocabularies;
+    }
+}
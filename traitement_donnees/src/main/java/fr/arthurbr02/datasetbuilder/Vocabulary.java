@@ -0,0 +1,92 @@
+package fr.arthurbr02.datasetbuilder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vocabulaire d'une variable catégorielle : associe chaque valeur à un index entier,
+ * dans l'ordre d'apparition à partir de firstIndex.
+ * Si firstIndex vaut 1, l'index 0 est réservé à PAD/UNK (valeur absente), comme _cat_to_index côté ML.
+ * Le vocabulaire est append-only : un index attribué (ou rechargé avec restore) ne change jamais.
+ * Les lectures ne prennent pas de verrou, seul l'ajout d'une nouvelle valeur est synchronisé.
+ */
+public class Vocabulary {
+    public static final int UNKNOWN_INDEX = 0;
+
+    private final int firstIndex;
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+    private int nextIndex;
+
+    public Vocabulary(int firstIndex) {
+        this.firstIndex = firstIndex;
+        this.nextIndex = firstIndex;
+    }
+
+    /**
+     * Recharge des index déjà attribués (vocabulaire persisté) ; les nouvelles valeurs
+     * seront numérotées après le plus grand index existant.
+     */
+    public synchronized void restore(Map<String, Integer> persisted) {
+        for (Map.Entry<String, Integer> entry : persisted.entrySet()) {
+            int index = entry.getValue();
+            if (index < firstIndex) {
+                throw new IllegalArgumentException("Invalid index " + index + " for value " + entry.getKey());
+            }
+            Integer previous = indices.putIfAbsent(entry.getKey().trim(), index);
+            if (previous != null && previous != index) {
+                throw new IllegalArgumentException("Conflicting indices for value " + entry.getKey());
+            }
+            nextIndex = Math.max(nextIndex, index + 1);
+        }
+    }
+
+    /**
+     * Retourne l'index de value, en l'ajoutant au vocabulaire si besoin.
+     */
+    public int indexOf(String value) {
+        if (isMissing(value)) {
+            return UNKNOWN_INDEX;
+        }
+        String key = value.trim();
+        Integer index = indices.get(key);
+        return index != null ? index : add(key);
+    }
+
+    public int size() {
+        return indices.size();
+    }
+
+    /**
+     * Copie du vocabulaire, triée par index.
+     */
+    public synchronized Map<String, Integer> asMap() {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        indices.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    private synchronized int add(String key) {
+        Integer index = indices.get(key);
+        if (index == null) {
+            index = nextIndex++;
+            indices.put(key, index);
+        }
+        return index;
+    }
+
+    private boolean isMissing(String value) {
+        if (firstIndex == 0) {
+            return false;
+        }
+        if (value == null) {
+            return true;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() || trimmed.equalsIgnoreCase("null") || trimmed.equalsIgnoreCase("none")
+                || trimmed.equalsIgnoreCase("nan");
+    }
+}
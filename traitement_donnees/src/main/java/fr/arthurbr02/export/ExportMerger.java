@@ -0,0 +1,224 @@
+package fr.arthurbr02.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fusionne plusieurs exports (scraper desktop en JSON ou Smile, application mobile, stores déjà fusionnés)
+ * en un seul store NDJSON lisible par ExportStreamReader.
+ *
+ * - Chaque fichier est lu en streaming sur un thread du pool.
+ * - Les BattleDetail sont dédupliqués par getId() et écrits dès leur première rencontre :
+ *   ils ne sont jamais gardés en mémoire.
+ * - Pour chaque joueur, seul le profil le plus frais est conservé (date de l'export, prise dans le
+ *   nom du fichier export_data_<ts>.json ou à défaut sa date de modification). Un profil avec des
+ *   données l'emporte toujours sur un profil vide. Les profils retenus sont gardés sérialisés
+ *   (byte[]) jusqu'à la fin de la lecture, puis écrits à la suite des batailles avec leur version :
+ *   un store fusionné peut être refusionné avec de nouveaux exports sans perdre l'information de fraîcheur.
+ */
+public class ExportMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ExportMerger.class);
+    private static final Pattern TIMESTAMP = Pattern.compile("(\\d{10,13})");
+
+    private final ObjectMapper mapper;
+    private final int parallelism;
+
+    private final Set<String> battleIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, PlayerCandidate> players = new ConcurrentHashMap<>();
+    private final AtomicLong duplicateBattles = new AtomicLong();
+    private final AtomicLong duplicatePlayers = new AtomicLong();
+
+    private OutputStream out;
+
+    private record PlayerCandidate(long version, boolean hasData, byte[] line) {
+        boolean isBetterThan(PlayerCandidate other) {
+            if (hasData != other.hasData) {
+                return hasData;
+            }
+            return version > other.version;
+        }
+    }
+
+    public ExportMerger() {
+        this(new ObjectMapper(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public ExportMerger(ObjectMapper mapper, int parallelism) {
+        this.mapper = mapper;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Fusionne inputs (fichiers .json / .smile / .ndjson, ou répertoires contenant des exports) dans output.
+     * output est écrit via un fichier temporaire : il peut faire partie des entrées.
+     */
+    public void merge(List<File> inputs, File output) throws IOException, InterruptedException {
+        List<File> files = expand(inputs);
+        logger.info("Merging {} exports into {} with {} threads", files.size(), output.getAbsolutePath(), parallelism);
+
+        File tmp = new File(output.getAbsoluteFile().getParentFile(), output.getName() + ".tmp");
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, Math.max(1, files.size())));
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tmp.toPath()), 1 << 20)) {
+            out = stream;
+
+            List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+            for (File file : files) {
+                tasks.add(pool.submit(() -> read(file)));
+            }
+            for (ForkJoinTask<Long> task : tasks) {
+                await(task);
+            }
+
+            // Ordre stable pour les joueurs : un même ensemble d'entrées donne le même store
+            List<Map.Entry<Long, PlayerCandidate>> entries = new ArrayList<>(players.entrySet());
+            entries.sort(Map.Entry.comparingByKey());
+            for (Map.Entry<Long, PlayerCandidate> entry : entries) {
+                stream.write(entry.getValue().line());
+            }
+        } finally {
+            pool.shutdown();
+            out = null;
+        }
+        Files.move(tmp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        logger.info("Merged store: {} battles ({} duplicates dropped), {} players ({} duplicate profiles resolved)",
+                battleIds.size(), duplicateBattles.get(), players.size(), duplicatePlayers.get());
+    }
+
+    private long read(File file) throws IOException {
+        long fileVersion = versionOf(file);
+        ExportStreamReader reader = new ExportStreamReader(mapper);
+        long count = reader.read(file,
+                this::addBattle,
+                player -> addPlayer(player, reader.getRecordVersion() >= 0 ? reader.getRecordVersion() : fileVersion));
+        logger.info("Read {} records from {}", count, file.getAbsolutePath());
+        return count;
+    }
+
+    private void addBattle(BattleDetail battleDetail) {
+        String id = battleDetail.getId();
+        if (id == null) {
+            return;
+        }
+        if (!battleIds.add(id)) {
+            duplicateBattles.incrementAndGet();
+            return;
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put(ExportStreamReader.BATTLE_DETAIL_RECORD, battleDetail);
+        byte[] line = toLine(record);
+        synchronized (this) {
+            try {
+                out.write(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void addPlayer(Player player, long version) {
+        if (player.getData() == null || player.getData().getId() == null) {
+            return;
+        }
+        Long id = player.getData().getId();
+        boolean hasData = player.getData().getBattles() != null;
+
+        // Sérialisation seulement si le profil a une chance d'être retenu
+        PlayerCandidate current = players.get(id);
+        if (current != null && !new PlayerCandidate(version, hasData, null).isBetterThan(current)) {
+            duplicatePlayers.incrementAndGet();
+            return;
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put(ExportStreamReader.VERSION_FIELD, version);
+        record.put(ExportStreamReader.PLAYER_RECORD, player);
+        PlayerCandidate candidate = new PlayerCandidate(version, hasData, toLine(record));
+        players.merge(id, candidate, (previous, next) -> {
+            duplicatePlayers.incrementAndGet();
+            return next.isBetterThan(previous) ? next : previous;
+        });
+    }
+
+    private byte[] toLine(Map<String, Object> record) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(record);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Version d'un export : timestamp du nom de fichier (export_data_<ts>.json), sinon date de modification.
+     * Pour un store fusionné, borne supérieure des versions de ses profils (écrit après leur lecture).
+     */
+    private static long versionOf(File file) {
+        Matcher matcher = TIMESTAMP.matcher(file.getName());
+        if (matcher.find()) {
+            long timestamp = Long.parseLong(matcher.group(1));
+            // Secondes ou millisecondes
+            return timestamp < 100_000_000_000L ? timestamp * 1000 : timestamp;
+        }
+        return file.lastModified();
+    }
+
+    private static List<File> expand(List<File> inputs) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (File input : inputs) {
+            if (input.isDirectory()) {
+                File[] children = input.listFiles((dir, name) -> ExportStreamReader.isExport(new File(name)));
+                if (children != null) {
+                    Arrays.sort(children, Comparator.comparing(File::getName));
+                    files.addAll(Arrays.asList(children));
+                }
+            } else if (input.isFile()) {
+                files.add(input);
+            } else {
+                throw new IOException("Export not found: " + input.getAbsolutePath());
+            }
+        }
+        return files;
+    }
+
+    private static void await(ForkJoinTask<Long> task) throws IOException, InterruptedException {
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Export merge failed", cause);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package fr.arthurbr02.export;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
 import fr.arthurbr02.utils.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class ExportService {
     private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
     private static final String FILE_NAME = "export_data.json";
+    public static final String MERGED_FILE_NAME = "export_merged.ndjson";
 
     public static ExportData getExportDateFromFile() {
         File file = FileUtils.getExportDataFile(FILE_NAME);
@@ -19,12 +23,65 @@ public class ExportService {
             return null;
         }
 
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.readValue(file, ExportData.class);
+            return ExportFormat.of(file).getMapper().readValue(file, ExportData.class);
         } catch (Exception e) {
             logger.error("Error reading export data from file", e);
             return null;
         }
     }
+
+    /**
+     * Lit l'export en streaming : chaque BattleDetail / Player est transmis au consumer
+     * dès qu'il est parsé, sans construire l'ExportData complet en mémoire.
+     * Retourne false si le fichier est absent ou illisible.
+     */
+    public static boolean streamExportDataFromFile(Consumer<BattleDetail> battleDetailConsumer, Consumer<Player> playerConsumer) {
+        return streamExportDataFromFile(FILE_NAME, battleDetailConsumer, playerConsumer);
+    }
+
+    /**
+     * Même chose pour un autre fichier des ressources (export .json / .smile ou store fusionné .ndjson).
+     */
+    public static boolean streamExportDataFromFile(String fileName, Consumer<BattleDetail> battleDetailConsumer, Consumer<Player> playerConsumer) {
+        return streamExportData(FileUtils.getExportDataFile(fileName), battleDetailConsumer, playerConsumer);
+    }
+
+    /**
+     * Même chose pour un fichier quelconque (ex. export déposé dans le répertoire surveillé).
+     */
+    public static boolean streamExportData(File file, Consumer<BattleDetail> battleDetailConsumer, Consumer<Player> playerConsumer) {
+
+        if (!file.exists()) {
+            logger.warn("Export data file does not exist: {}", file.getAbsolutePath());
+            return false;
+        }
+
+        try {
+            long count = new ExportStreamReader().read(file, battleDetailConsumer, playerConsumer);
+            logger.info("Streamed {} records from {}", count, file.getAbsolutePath());
+            return true;
+        } catch (Exception e) {
+            logger.error("Error streaming export data from file", e);
+            return false;
+        }
+    }
+
+    /**
+     * Fusionne les exports donnés (fichiers ou répertoires) dans le store export_merged.ndjson des ressources.
+     * Sans entrée, fusionne tous les exports présents dans les ressources.
+     */
+    public static boolean mergeExports(List<File> inputs) {
+        List<File> sources = inputs.isEmpty() ? List.of(FileUtils.getResourcesDirectory()) : inputs;
+        try {
+            new ExportMerger().merge(sources, FileUtils.getExportDataFile(MERGED_FILE_NAME));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.error("Error merging exports", e);
+            return false;
+        }
+    }
 }
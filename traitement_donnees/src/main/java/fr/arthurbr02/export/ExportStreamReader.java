@@ -0,0 +1,151 @@
+package fr.arthurbr02.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.arthurbr02.battledetail.BattleDetail;
+import fr.arthurbr02.player.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Lecteur en streaming d'un export_data.json.
+ * Parcourt les tableaux battleDetails et players token par token et transmet chaque
+ * enregistrement au consumer correspondant : un seul BattleDetail / Player est en mémoire à la fois.
+ * Un consumer null fait sauter le tableau correspondant sans le désérialiser.
+ *
+ * Les fichiers .ndjson / .jsonl (store fusionné, voir ExportMerger) contiennent un enregistrement
+ * par ligne : {"battleDetail": {...}} ou {"version": <ts>, "player": {...}}.
+ * Les exports .smile (JSON binaire, voir ExportFormat) ont la même structure que les .json.
+ */
+public class ExportStreamReader {
+    private static final String BATTLE_DETAILS_FIELD = "battleDetails";
+    private static final String PLAYERS_FIELD = "players";
+
+    public static final String BATTLE_DETAIL_RECORD = "battleDetail";
+    public static final String PLAYER_RECORD = "player";
+    // Date de l'export d'origine d'un enregistrement NDJSON, écrite avant l'enregistrement
+    public static final String VERSION_FIELD = "version";
+
+    private long recordVersion = -1;
+
+    private final ObjectMapper mapper;
+
+    public ExportStreamReader() {
+        this(new ObjectMapper());
+    }
+
+    public ExportStreamReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Lit le fichier et retourne le nombre d'enregistrements transmis aux consumers.
+     */
+    public long read(File file, Consumer<BattleDetail> battleDetailConsumer, Consumer<Player> playerConsumer) throws IOException {
+        if (isNdjson(file)) {
+            return readNdjson(file, battleDetailConsumer, playerConsumer);
+        }
+
+        long count = 0;
+
+        // Le parser dépend du format ; la désérialisation des enregistrements reste faite par mapper
+        JsonFactory factory = ExportFormat.of(file).isBinary() ? ExportFormat.SMILE.getMapper().getFactory() : mapper.getFactory();
+        try (JsonParser parser = factory.createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Export root must be a JSON object: " + file.getAbsolutePath());
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                if (BATTLE_DETAILS_FIELD.equals(field) && battleDetailConsumer != null) {
+                    count += readArray(parser, BattleDetail.class, battleDetailConsumer);
+                } else if (PLAYERS_FIELD.equals(field) && playerConsumer != null) {
+                    count += readArray(parser, Player.class, playerConsumer);
+                } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    // combinedBattles, ou tableau non demandé : on saute sans rien allouer
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Version de l'enregistrement NDJSON en cours de lecture (valide dans le consumer), -1 si absente.
+     */
+    public long getRecordVersion() {
+        return recordVersion;
+    }
+
+    public static boolean isNdjson(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    /**
+     * Indique si file est un export lisible par read (export*.json, .smile, .ndjson ou .jsonl).
+     */
+    public static boolean isExport(File file) {
+        String name = file.getName().toLowerCase();
+        return name.startsWith("export") && (name.endsWith(".json") || name.endsWith(ExportFormat.SMILE.getExtension()) || isNdjson(file));
+    }
+
+    private long readNdjson(File file, Consumer<BattleDetail> battleDetailConsumer, Consumer<Player> playerConsumer) throws IOException {
+        long count = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            // Jackson lit naturellement une suite de valeurs racines séparées par des retours à la ligne
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                recordVersion = -1;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken token = parser.nextToken();
+
+                    if (token == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    if (VERSION_FIELD.equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                        recordVersion = parser.getLongValue();
+                    } else if (BATTLE_DETAIL_RECORD.equals(field) && battleDetailConsumer != null) {
+                        battleDetailConsumer.accept(mapper.readValue(parser, BattleDetail.class));
+                        count++;
+                    } else if (PLAYER_RECORD.equals(field) && playerConsumer != null) {
+                        playerConsumer.accept(mapper.readValue(parser, Player.class));
+                        count++;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private <T> long readArray(JsonParser parser, Class<T> type, Consumer<T> consumer) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected an array for " + type.getSimpleName() + " but got " + parser.currentToken());
+        }
+
+        long count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            T value = mapper.readValue(parser, type);
+            consumer.accept(value);
+            count++;
+        }
+        return count;
+    }
+}
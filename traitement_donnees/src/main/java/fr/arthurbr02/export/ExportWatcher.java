@@ -0,0 +1,189 @@
+package fr.arthurbr02.export;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Surveille le répertoire d'exports du scraper (WatchService) et transmet chaque export
+ * nouveau ou modifié au processor, sur un thread dédié.
+ *
+ * - Back-pressure : les fichiers à traiter passent par une file bornée ; quand le traitement
+ *   prend du retard, le thread de surveillance bloque et les événements s'accumulent dans le
+ *   WatchService. En cas d'OVERFLOW, le répertoire est simplement rescanné.
+ * - Un fichier déjà en attente n'est pas remis dans la file (export_data_current.json est réécrit
+ *   en continu par le scraper). Chaque réécriture est retraitée en entier : c'est le build
+ *   incrémental (versions de contenu du manifest) qui n'y reconstruit que les batailles nouvelles
+ *   ou modifiées.
+ * - Un fichier n'est traité qu'une fois stable (taille et date inchangées pendant SETTLE_MILLIS),
+ *   le scraper écrivant ses exports directement, sans fichier temporaire.
+ * - Checkpoint : la taille et la date des fichiers traités avec succès sont persistées ; au
+ *   redémarrage, seuls les exports nouveaux ou modifiés depuis sont retraités. Un export en échec
+ *   (false ou exception du processor) n'y est pas enregistré et le worker passe au suivant.
+ */
+public class ExportWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ExportWatcher.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long SETTLE_MILLIS = 2000;
+
+    private final Path directory;
+    private final Predicate<File> processor;
+    private final File checkpointFile;
+    private final BlockingQueue<Path> queue;
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> checkpoint;
+
+    /**
+     * @param processor traite un export et retourne true en cas de succès
+     */
+    public ExportWatcher(Path directory, int queueCapacity, File checkpointFile, Predicate<File> processor) throws IOException {
+        this.directory = directory;
+        this.processor = processor;
+        this.checkpointFile = checkpointFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.checkpoint = checkpointFile.exists()
+                ? new ConcurrentHashMap<>(MAPPER.readValue(checkpointFile, new TypeReference<Map<String, String>>() {
+                }))
+                : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Surveille le répertoire jusqu'à interruption du thread appelant.
+     */
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        Thread worker = new Thread(this::process, "export-watcher-worker");
+        worker.setDaemon(true);
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            worker.start();
+            logger.info("Watching {} for new exports", directory.toAbsolutePath());
+
+            // Rattrapage de ce qui est arrivé pendant que le process était arrêté
+            scan();
+
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scan();
+                    } else {
+                        offer(directory.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    throw new IOException("Export directory is no longer accessible: " + directory.toAbsolutePath());
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Arrêt
+        } finally {
+            worker.interrupt();
+        }
+    }
+
+    private void scan() throws InterruptedException {
+        File[] files = directory.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            offer(file.toPath());
+        }
+    }
+
+    private void offer(Path path) throws InterruptedException {
+        File file = path.toFile();
+        if (!ExportStreamReader.isExport(file) || signature(file).equals(checkpoint.get(file.getName()))) {
+            return;
+        }
+        if (pending.add(path)) {
+            // Bloque si le traitement a pris du retard
+            queue.put(path);
+        }
+    }
+
+    private void process() {
+        try {
+            while (true) {
+                Path path = queue.take();
+                awaitStable(path.toFile());
+                // Retiré avant le traitement : une modification pendant le traitement sera retraitée
+                pending.remove(path);
+
+                File file = path.toFile();
+                String signature = signature(file);
+                if (!file.exists() || signature.equals(checkpoint.get(file.getName()))) {
+                    continue;
+                }
+
+                logger.info("Processing export {}", file.getAbsolutePath());
+                boolean processed;
+                try {
+                    processed = processor.test(file);
+                } catch (RuntimeException e) {
+                    // Le worker doit survivre : sinon la file n'est plus vidée et offer() bloque indéfiniment
+                    logger.error("Error while processing {}", file.getAbsolutePath(), e);
+                    processed = false;
+                }
+                if (processed) {
+                    checkpoint.put(file.getName(), signature);
+                    saveCheckpoint();
+                } else {
+                    logger.warn("Failed to process {}, it will be retried on its next modification", file.getAbsolutePath());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitStable(File file) throws InterruptedException {
+        String previous = signature(file);
+        while (true) {
+            Thread.sleep(SETTLE_MILLIS);
+            String current = signature(file);
+            if (current.equals(previous)) {
+                return;
+            }
+            previous = current;
+        }
+    }
+
+    private void saveCheckpoint() {
+        try {
+            File tmp = new File(checkpointFile.getAbsoluteFile().getParentFile(), checkpointFile.getName() + ".tmp");
+            MAPPER.writeValue(tmp, checkpoint);
+            Files.move(tmp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Cannot save watch checkpoint {}", checkpointFile.getAbsolutePath(), e);
+        }
+    }
+
+    private static String signature(File file) {
+        return file.length() + ":" + file.lastModified();
+    }
+}
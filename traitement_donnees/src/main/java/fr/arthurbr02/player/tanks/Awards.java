@@ -1,31 +0,0 @@
-package fr.arthurbr02.player.tanks;
-
-public class Awards {
-    private BattleHeroes battleHeroes;
-    private Main main;
-    private Epic epic;
-
-    public BattleHeroes getBattleHeroes() {
-        return battleHeroes;
-    }
-
-    public void setBattleHeroes(BattleHeroes battleHeroes) {
-        this.battleHeroes = battleHeroes;
-    }
-
-    public Main getMain() {
-        return main;
-    }
-
-    public void setMain(Main main) {
-        this.main = main;
-    }
-
-    public Epic getEpic() {
-        return epic;
-    }
-
-    public void setEpic(Epic epic) {
-        this.epic = epic;
-    }
-}
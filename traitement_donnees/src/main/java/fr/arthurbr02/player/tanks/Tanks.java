@@ -1,6 +0,0 @@
-package fr.arthurbr02.player.tanks;
-
-import java.util.ArrayList;
-
-public class Tanks extends ArrayList<Tank> {
-}
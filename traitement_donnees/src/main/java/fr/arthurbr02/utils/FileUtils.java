@@ -4,8 +4,11 @@ import java.io.File;
 import java.nio.file.Files;
 
 public class FileUtils {
+    // Répertoire des exports et datasets (-Ddataset.resourcesDir=... quand le process n'est pas lancé depuis traitement_donnees)
+    private static final String RESOURCES_DIRECTORY_PROPERTY = "dataset.resourcesDir";
+
     public static File getResourcesDirectory() {
-        File resourcesDir = new File("src/main/resources");
+        File resourcesDir = new File(System.getProperty(RESOURCES_DIRECTORY_PROPERTY, "src/main/resources"));
         if (!resourcesDir.exists()) {
             resourcesDir.mkdirs();
         }
@@ -0,0 +1,24 @@
+package fr.arthurbr02.utils;
+
+/**
+ * Fonction de dispersion commune aux collections à clés long.
+ */
+final class LongHashing {
+    private LongHashing() {
+    }
+
+    /**
+     * Case de départ de key dans une table de taille mask + 1 (puissance de 2).
+     * Les clés playerId/tankId empaquetées ont leurs bits utiles aux deux extrémités :
+     * on les mélange (finaliseur de MurmurHash3) avant de masquer.
+     */
+    static int slot(long key, int mask) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
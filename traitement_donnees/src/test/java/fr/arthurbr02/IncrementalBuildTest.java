@@ -0,0 +1,192 @@
+package fr.arthurbr02;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.arthurbr02.export.ExportWatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Build incrémental (Main.buildDatasets) sur l'export de test : 3 batailles et les profils de leurs joueurs.
+ */
+class IncrementalBuildTest {
+    private static final String EXPORT = "export_data_current.json";
+    private static final int BATTLES = 3;
+    private static final long WATCH_TIMEOUT_MILLIS = 30_000;
+
+    @TempDir
+    Path resources;
+
+    private File export;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("dataset.resourcesDir", resources.toString());
+        export = resources.resolve(EXPORT).toFile();
+        try (InputStream in = Objects.requireNonNull(getClass().getResourceAsStream("/" + EXPORT))) {
+            Files.copy(in, export.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("dataset.resourcesDir");
+    }
+
+    @Test
+    void unchangedExportTouchedAgainRebuildsNothing() throws IOException {
+        assertTrue(Main.buildDatasets(export));
+        byte[] shard = Files.readAllBytes(dataset("dataset_shard_00000.csv"));
+        byte[] features = Files.readAllBytes(dataset("battle_features.csv"));
+
+        assertTrue(export.setLastModified(export.lastModified() + 60_000));
+        assertTrue(Main.buildDatasets(export));
+
+        // Aucune bataille reconstruite : pas de nouveau shard, sorties inchangées
+        assertFalse(Files.exists(dataset("dataset_shard_00001.csv")));
+        assertArrayEquals(shard, Files.readAllBytes(dataset("dataset_shard_00000.csv")));
+        assertArrayEquals(features, Files.readAllBytes(dataset("battle_features.csv")));
+    }
+
+    @Test
+    void changedProfileRebuildsItsBattlesWithoutDuplicates() throws IOException {
+        assertTrue(Main.buildDatasets(export));
+        Map<String, Integer> rows = battleRows("dataset_shard_00000.csv");
+
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode content = (ObjectNode) mapper.readTree(export);
+        ObjectNode data = (ObjectNode) content.get("players").get(0).get("data");
+        data.put("battles", data.get("battles").asInt() + 1);
+        mapper.writeValue(export, content);
+        assertTrue(Main.buildDatasets(export));
+
+        // Les batailles du joueur sont dans un nouveau shard, leurs anciennes lignes ont été retirées
+        Map<String, Integer> rebuilt = battleRows("dataset_shard_00001.csv");
+        assertFalse(rebuilt.isEmpty());
+        assertTrue(rebuilt.size() < BATTLES);
+        Map<String, Integer> all = battleRows("dataset_shard_00000.csv");
+        for (Map.Entry<String, Integer> battle : rebuilt.entrySet()) {
+            assertFalse(all.containsKey(battle.getKey()));
+            all.put(battle.getKey(), battle.getValue());
+        }
+        assertEquals(rows, all);
+        assertFeaturesOncePerBattle(BATTLES);
+    }
+
+    @Test
+    void watchedExportRewrittenRepeatedlyBuildsEachBattleOnce() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode content = (ObjectNode) mapper.readTree(export);
+        ObjectNode firstBattles = content.deepCopy();
+        ((ArrayNode) firstBattles.get("battleDetails")).remove(BATTLES - 1);
+
+        Path watched = Files.createDirectories(resources.resolve("exports"));
+        File current = watched.resolve(EXPORT).toFile();
+        File checkpoint = resources.resolve("watch_checkpoint.json").toFile();
+        Files.createDirectories(resources.resolve("datasets"));
+        ExportWatcher watcher = new ExportWatcher(watched, 4, checkpoint, Main::buildDatasets);
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "export-watcher-test");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            // Le scraper réécrit export_data_current.json en entier : même contenu, nouvelle date
+            long lastModified = System.currentTimeMillis();
+            rewrite(mapper, current, firstBattles, lastModified);
+            awaitProcessed(checkpoint, current);
+            byte[] shard = Files.readAllBytes(dataset("dataset_shard_00000.csv"));
+            byte[] features = Files.readAllBytes(dataset("battle_features.csv"));
+
+            for (int i = 1; i <= 3; i++) {
+                rewrite(mapper, current, firstBattles, lastModified + i * 60_000L);
+                awaitProcessed(checkpoint, current);
+            }
+            assertFalse(Files.exists(dataset("dataset_shard_00001.csv")));
+            assertArrayEquals(shard, Files.readAllBytes(dataset("dataset_shard_00000.csv")));
+            assertArrayEquals(features, Files.readAllBytes(dataset("battle_features.csv")));
+
+            // Une nouvelle bataille dans l'export réécrit : seule elle est construite
+            rewrite(mapper, current, content, lastModified + 4 * 60_000L);
+            awaitProcessed(checkpoint, current);
+            Map<String, Integer> added = battleRows("dataset_shard_00001.csv");
+            assertEquals(1, added.size());
+            assertFalse(battleRows("dataset_shard_00000.csv").containsKey(added.keySet().iterator().next()));
+            assertFeaturesOncePerBattle(BATTLES);
+        } finally {
+            thread.interrupt();
+            thread.join(WATCH_TIMEOUT_MILLIS);
+        }
+    }
+
+    private static void rewrite(ObjectMapper mapper, File file, ObjectNode content, long lastModified) throws IOException {
+        mapper.writeValue(file, content);
+        assertTrue(file.setLastModified(lastModified));
+    }
+
+    // Attend que le watcher ait enregistré la version actuelle du fichier dans son checkpoint
+    private static void awaitProcessed(File checkpoint, File file) throws IOException, InterruptedException {
+        String signature = file.length() + ":" + file.lastModified();
+        long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (checkpoint.exists()) {
+                Map<String, String> processed = new ObjectMapper().readValue(checkpoint, new TypeReference<Map<String, String>>() {
+                });
+                if (signature.equals(processed.get(file.getName()))) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        fail("Export not processed by the watcher: " + file.getName());
+    }
+
+    private Path dataset(String name) {
+        return resources.resolve("datasets").resolve(name);
+    }
+
+    // Nombre de lignes par battle_id (première colonne), en-tête exclu
+    private Map<String, Integer> battleRows(String name) throws IOException {
+        Map<String, Integer> rows = new HashMap<>();
+        List<String> lines = Files.readAllLines(dataset(name), StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            rows.merge(line.substring(0, line.indexOf(';')), 1, Integer::sum);
+        }
+        return rows;
+    }
+
+    private void assertFeaturesOncePerBattle(int battles) throws IOException {
+        Map<String, Integer> features = battleRows("battle_features.csv");
+        assertEquals(battles, features.size());
+        assertTrue(features.values().stream().allMatch(count -> count == 1));
+    }
+}